@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2018, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.javafx.binding;
+
+import java.util.concurrent.TimeUnit;
+import javafx.beans.InvalidationListener;
+import javafx.beans.property.SimpleIntegerProperty;
+import javafx.beans.value.ChangeListener;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures adding, removing and notifying listeners through
+ * {@link ExpressionHelper}, using a {@link SimpleIntegerProperty} as the
+ * observable.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ExpressionHelperBenchmark {
+
+    @Param({"1", "2", "10", "100"})
+    public int listenerCount;
+
+    private SimpleIntegerProperty property;
+    private InvalidationListener[] invalidationListeners;
+    private ChangeListener<Number>[] changeListeners;
+
+    @Setup(Level.Iteration)
+    @SuppressWarnings("unchecked")
+    public void setUp(Blackhole bh) {
+        property = new SimpleIntegerProperty();
+        invalidationListeners = new InvalidationListener[listenerCount];
+        changeListeners = new ChangeListener[listenerCount];
+        for (int i = 0; i < listenerCount; i++) {
+            invalidationListeners[i] = observable -> bh.consume(observable);
+            changeListeners[i] = (observable, oldValue, newValue) -> bh.consume(newValue);
+        }
+    }
+
+    @Benchmark
+    public SimpleIntegerProperty addRemoveInvalidationListeners() {
+        for (InvalidationListener listener : invalidationListeners) {
+            property.addListener(listener);
+        }
+        for (InvalidationListener listener : invalidationListeners) {
+            property.removeListener(listener);
+        }
+        return property;
+    }
+
+    @Benchmark
+    public SimpleIntegerProperty addRemoveChangeListeners() {
+        for (ChangeListener<Number> listener : changeListeners) {
+            property.addListener(listener);
+        }
+        // remove in reverse order, which is the worst case for the linear
+        // search (removing from the end does not shift the array at all)
+        for (int i = changeListeners.length - 1; i >= 0; i--) {
+            property.removeListener(changeListeners[i]);
+        }
+        return property;
+    }
+
+    @State(Scope.Thread)
+    public static class InvalidationListenersAdded {
+        SimpleIntegerProperty property;
+        int value;
+
+        @Setup(Level.Iteration)
+        public void setUp(ExpressionHelperBenchmark benchmark) {
+            property = new SimpleIntegerProperty();
+            for (InvalidationListener listener : benchmark.invalidationListeners) {
+                property.addListener(listener);
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class ChangeListenersAdded {
+        SimpleIntegerProperty property;
+        int value;
+
+        @Setup(Level.Iteration)
+        public void setUp(ExpressionHelperBenchmark benchmark) {
+            property = new SimpleIntegerProperty();
+            for (ChangeListener<Number> listener : benchmark.changeListeners) {
+                property.addListener(listener);
+            }
+        }
+    }
+
+    @Benchmark
+    public int fireInvalidation(InvalidationListenersAdded state) {
+        // the listeners do not validate the property, so get() it explicitly
+        state.property.set(++state.value);
+        return state.property.get();
+    }
+
+    @Benchmark
+    public int fireChange(ChangeListenersAdded state) {
+        state.property.set(++state.value);
+        return state.value;
+    }
+}
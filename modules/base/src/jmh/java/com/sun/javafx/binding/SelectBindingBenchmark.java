@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2018, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.javafx.binding;
+
+import java.util.concurrent.TimeUnit;
+import javafx.beans.binding.Bindings;
+import javafx.beans.binding.DoubleBinding;
+import javafx.beans.binding.ObjectBinding;
+import javafx.beans.property.DoubleProperty;
+import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.SimpleDoubleProperty;
+import javafx.beans.property.SimpleObjectProperty;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures select bindings created with {@link Bindings#select} and
+ * {@link Bindings#selectDouble} over a chain of beans. Re-linking the chain
+ * happens whenever one of the intermediate properties changes.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SelectBindingBenchmark {
+
+    public static class Node {
+        private final ObjectProperty<Node> next = new SimpleObjectProperty<>();
+        private final DoubleProperty value = new SimpleDoubleProperty();
+
+        public ObjectProperty<Node> nextProperty() { return next; }
+        public Node getNext() { return next.get(); }
+        public void setNext(Node next) { this.next.set(next); }
+
+        public DoubleProperty valueProperty() { return value; }
+        public double getValue() { return value.get(); }
+        public void setValue(double value) { this.value.set(value); }
+    }
+
+    private static Node createChain(int length, double value) {
+        final Node head = new Node();
+        Node node = head;
+        for (int i = 1; i < length; i++) {
+            final Node next = new Node();
+            node.setNext(next);
+            node = next;
+        }
+        node.setValue(value);
+        return head;
+    }
+
+    private ObjectProperty<Node> root;
+    private Node chain0;
+    private Node chain1;
+    private ObjectBinding<Object> select;
+    private DoubleBinding selectDouble;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        chain0 = createChain(4, 1.0);
+        chain1 = createChain(4, 2.0);
+        root = new SimpleObjectProperty<>(chain0);
+        select = Bindings.select(root, "next", "next", "next");
+        selectDouble = Bindings.selectDouble(root, "next", "next", "next", "value");
+    }
+
+    @Benchmark
+    public double create() {
+        return Bindings.selectDouble(root, "next", "next", "next", "value").get();
+    }
+
+    @Benchmark
+    public Object relinkSelect() {
+        root.set(root.get() == chain0 ? chain1 : chain0);
+        return select.get();
+    }
+
+    @Benchmark
+    public double relinkSelectDouble() {
+        root.set(root.get() == chain0 ? chain1 : chain0);
+        return selectDouble.get();
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2018, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package javafx.collections;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the mutators of the list returned by
+ * {@link FXCollections#observableArrayList()} with a listener attached, so
+ * that every mutation builds its change through {@link ListChangeBuilder}.
+ * Each benchmark mutates a freshly built list; the cost of building it is
+ * measured on its own by {@link #baseline()} and should be subtracted from
+ * the other results.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ObservableListBenchmark {
+
+    @Param({"100", "10000"})
+    public int size;
+
+    private List<Integer> content;
+    private List<Integer> everyOther;
+    private Set<Integer> everyOtherSet;
+    private ListChangeListener<Integer> listener;
+
+    @Setup(Level.Iteration)
+    public void setUp(Blackhole bh) {
+        content = new ArrayList<>(size);
+        everyOther = new ArrayList<>(size / 2);
+        for (int i = 0; i < size; i++) {
+            content.add(i);
+            if (i % 2 == 0) {
+                everyOther.add(i);
+            }
+        }
+        // removeAll/retainAll do a contains() check per element, use a set so
+        // that the change building dominates
+        everyOtherSet = new HashSet<>(everyOther);
+        listener = c -> {
+            while (c.next()) {
+                bh.consume(c.getFrom());
+                bh.consume(c.getTo());
+            }
+        };
+    }
+
+    private ObservableList<Integer> newList() {
+        ObservableList<Integer> list = FXCollections.observableArrayList(content);
+        list.addListener(listener);
+        return list;
+    }
+
+    @Benchmark
+    public ObservableList<Integer> baseline() {
+        return newList();
+    }
+
+    @Benchmark
+    public ObservableList<Integer> addSingle() {
+        ObservableList<Integer> list = newList();
+        for (int i = 0; i < 100; i++) {
+            list.add(i);
+        }
+        return list;
+    }
+
+    @Benchmark
+    public ObservableList<Integer> removeFromFront() {
+        ObservableList<Integer> list = newList();
+        for (int i = 0; i < 100 && !list.isEmpty(); i++) {
+            list.remove(0);
+        }
+        return list;
+    }
+
+    @Benchmark
+    public ObservableList<Integer> addAll() {
+        ObservableList<Integer> list = newList();
+        list.addAll(content);
+        return list;
+    }
+
+    @Benchmark
+    public ObservableList<Integer> setAll() {
+        ObservableList<Integer> list = newList();
+        list.setAll(everyOther);
+        return list;
+    }
+
+    @Benchmark
+    public ObservableList<Integer> removeAllScattered() {
+        ObservableList<Integer> list = newList();
+        list.removeAll(everyOtherSet);
+        return list;
+    }
+
+    @Benchmark
+    public ObservableList<Integer> retainAllScattered() {
+        ObservableList<Integer> list = newList();
+        list.retainAll(everyOtherSet);
+        return list;
+    }
+}
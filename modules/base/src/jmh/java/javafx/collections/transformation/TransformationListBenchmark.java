@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2018, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package javafx.collections.transformation;
+
+import java.util.Comparator;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures {@link SortedList} and {@link FilteredList} while their source
+ * list is continuously modified, and the cost of replacing the comparator
+ * or the predicate of a large list.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TransformationListBenchmark {
+
+    private static final Comparator<Integer> ASCENDING = Comparator.naturalOrder();
+    private static final Comparator<Integer> DESCENDING = Comparator.reverseOrder();
+    private static final Predicate<Integer> EVEN = i -> (i & 1) == 0;
+    private static final Predicate<Integer> ODD = i -> (i & 1) != 0;
+
+    @Param({"1000", "100000"})
+    public int size;
+
+    private ObservableList<Integer> source;
+    private SortedList<Integer> sorted;
+    private FilteredList<Integer> filtered;
+    private Random random;
+
+    @Setup(Level.Iteration)
+    public void setUp(Blackhole bh) {
+        random = new Random(42);
+        source = FXCollections.observableArrayList();
+        for (int i = 0; i < size; i++) {
+            source.add(random.nextInt());
+        }
+        sorted = new SortedList<>(source, ASCENDING);
+        filtered = new FilteredList<>(source, EVEN);
+        final ListChangeListener<Integer> listener = c -> {
+            while (c.next()) {
+                bh.consume(c.getFrom());
+            }
+        };
+        sorted.addListener(listener);
+        filtered.addListener(listener);
+    }
+
+    @Benchmark
+    public int churn() {
+        // one add, one remove and one set per invocation keeps the size stable
+        final int index = random.nextInt(source.size());
+        source.add(index, random.nextInt());
+        source.remove(random.nextInt(source.size()));
+        source.set(random.nextInt(source.size()), random.nextInt());
+        return sorted.size() + filtered.size();
+    }
+
+    @Benchmark
+    public SortedList<Integer> changeComparator() {
+        sorted.setComparator(sorted.getComparator() == ASCENDING ? DESCENDING : ASCENDING);
+        return sorted;
+    }
+
+    @Benchmark
+    public FilteredList<Integer> changePredicate() {
+        filtered.setPredicate(filtered.getPredicate() == EVEN ? ODD : EVEN);
+        return filtered;
+    }
+}
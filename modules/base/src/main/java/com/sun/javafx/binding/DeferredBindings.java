@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2018, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.javafx.binding;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Collects the {@code ChangeListener} notifications of deferred bindings and
+ * delivers them once per pulse.
+ * <p>
+ * A deferred binding notifies its {@code InvalidationListeners} immediately,
+ * so invalidations still propagate through the whole dependency graph. Only
+ * its {@code ChangeListeners} are notified later, by {@link #flush()}. At that
+ * point all invalid bindings are known, so every binding is computed at most
+ * once, and only after all of its dependencies have been updated.
+ * <p>
+ * The toolkit installs a pulse request with {@link #setPulseRequest(Runnable)}
+ * and calls {@code flush()} at the start of every pulse. As long as there is no
+ * pulse request, deferred bindings notify their listeners immediately.
+ * <p>
+ * Must only be used on the FX application thread.
+ */
+public final class DeferredBindings {
+
+    private static Runnable pulseRequest;
+    private static Set<Runnable> pending = new LinkedHashSet<>();
+
+    private DeferredBindings() {}
+
+    public static void setPulseRequest(Runnable request) {
+        pulseRequest = request;
+    }
+
+    /**
+     * Notifies the {@code InvalidationListeners} of a deferred binding and
+     * schedules {@code changeNotification} to notify its
+     * {@code ChangeListeners} in the next pulse.
+     *
+     * @param helper the helper of the binding
+     * @param changeNotification calls {@link ExpressionHelper#fireChangeEvent}
+     *        with the current helper of the binding
+     */
+    public static <T> void fireValueChangedEvent(ExpressionHelper<T> helper, Runnable changeNotification) {
+        if (pulseRequest == null) {
+            ExpressionHelper.fireValueChangedEvent(helper);
+        } else if (ExpressionHelper.fireInvalidationEvent(helper)) {
+            if (pending.add(changeNotification) && pending.size() == 1) {
+                pulseRequest.run();
+            }
+        }
+    }
+
+    /**
+     * Delivers all pending change notifications, including the ones that are
+     * scheduled while doing so.
+     */
+    public static void flush() {
+        while (!pending.isEmpty()) {
+            final Set<Runnable> notifications = pending;
+            pending = new LinkedHashSet<>();
+            for (Runnable notification : notifications) {
+                notification.run();
+            }
+        }
+    }
+}
@@ -38,7 +38,11 @@ import java.util.Arrays;
  * change event notification.
  *
  * This implementation can handle adding and removing listeners while the
- * observers are being notified, but it is not thread-safe.
+ * observers are being notified, but it is not thread-safe. Listeners removed
+ * during a notification are not notified anymore; they leave a hole in the
+ * listener array that is compacted once the notification has finished, so
+ * neither notifying nor changing the listeners during a notification copies
+ * the listener arrays.
  *
  *
  */
@@ -82,6 +86,28 @@ public abstract class ExpressionHelper<T> extends ExpressionHelperBase {
         }
     }
 
+    /**
+     * Notifies only the {@code InvalidationListeners}. Together with
+     * {@link #fireChangeEvent(ExpressionHelper)} this splits
+     * {@link #fireValueChangedEvent(ExpressionHelper)} in two, so that the
+     * {@code ChangeListeners} can be notified later.
+     *
+     * @return true if there are {@code ChangeListeners} to notify
+     */
+    public static <T> boolean fireInvalidationEvent(ExpressionHelper<T> helper) {
+        return (helper != null) && helper.fireInvalidationEvent();
+    }
+
+    /**
+     * Notifies only the {@code ChangeListeners}, if the value changed since
+     * they were notified the last time.
+     */
+    public static <T> void fireChangeEvent(ExpressionHelper<T> helper) {
+        if (helper != null) {
+            helper.fireChangeEvent();
+        }
+    }
+
     ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
     // Common implementations
 
@@ -98,6 +124,8 @@ public abstract class ExpressionHelper<T> extends ExpressionHelperBase {
     protected abstract ExpressionHelper<T> removeListener(ChangeListener<? super T> listener);
 
     protected abstract void fireValueChangedEvent();
+    protected abstract boolean fireInvalidationEvent();
+    protected abstract void fireChangeEvent();
 
     ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
     // Implementations
@@ -139,6 +167,16 @@ public abstract class ExpressionHelper<T> extends ExpressionHelperBase {
                 Thread.currentThread().getUncaughtExceptionHandler().uncaughtException(Thread.currentThread(), e);
             }
         }
+
+        @Override
+        protected boolean fireInvalidationEvent() {
+            fireValueChangedEvent();
+            return false;
+        }
+
+        @Override
+        protected void fireChangeEvent() {
+        }
     }
 
     private static class SingleChange<T> extends ExpressionHelper<T> {
@@ -185,6 +223,16 @@ public abstract class ExpressionHelper<T> extends ExpressionHelperBase {
                 }
             }
         }
+
+        @Override
+        protected boolean fireInvalidationEvent() {
+            return true;
+        }
+
+        @Override
+        protected void fireChangeEvent() {
+            fireValueChangedEvent();
+        }
     }
 
     private static class Generic<T> extends ExpressionHelper<T> {
@@ -193,7 +241,8 @@ public abstract class ExpressionHelper<T> extends ExpressionHelperBase {
         private ChangeListener<? super T>[] changeListeners;
         private int invalidationSize;
         private int changeSize;
-        private boolean locked;
+        private int lockCount;
+        private boolean removedWhileLocked;
         private T currentValue;
 
         private Generic(ObservableValue<T> observable, InvalidationListener listener0, InvalidationListener listener1) {
@@ -219,17 +268,17 @@ public abstract class ExpressionHelper<T> extends ExpressionHelperBase {
         }
 
         @Override
-        protected Generic<T> addListener(InvalidationListener listener) {
+        protected ExpressionHelper<T> addListener(InvalidationListener listener) {
             if (invalidationListeners == null) {
                 invalidationListeners = new InvalidationListener[] {listener};
                 invalidationSize = 1;
             } else {
                 final int oldCapacity = invalidationListeners.length;
-                if (locked) {
-                    final int newCapacity = (invalidationSize < oldCapacity)? oldCapacity : (oldCapacity * 3)/2 + 1;
-                    invalidationListeners = Arrays.copyOf(invalidationListeners, newCapacity);
-                } else if (invalidationSize == oldCapacity) {
-                    invalidationSize = trim(invalidationSize, invalidationListeners);
+                if (invalidationSize == oldCapacity) {
+                    if (lockCount == 0) {
+                        // compacting is only safe if no listeners are being notified
+                        invalidationSize = trim(invalidationSize, invalidationListeners);
+                    }
                     if (invalidationSize == oldCapacity) {
                         final int newCapacity = (oldCapacity * 3)/2 + 1;
                         invalidationListeners = Arrays.copyOf(invalidationListeners, newCapacity);
@@ -237,7 +286,7 @@ public abstract class ExpressionHelper<T> extends ExpressionHelperBase {
                 }
                 invalidationListeners[invalidationSize++] = listener;
             }
-            return this;
+            return collapse();
         }
 
         @Override
@@ -245,7 +294,12 @@ public abstract class ExpressionHelper<T> extends ExpressionHelperBase {
             if (invalidationListeners != null) {
                 for (int index = 0; index < invalidationSize; index++) {
                     if (listener.equals(invalidationListeners[index])) {
-                        if (invalidationSize == 1) {
+                        if (lockCount > 0) {
+                            // the listeners are being notified, leave a hole that is
+                            // removed when the notification is finished
+                            invalidationListeners[index] = null;
+                            removedWhileLocked = true;
+                        } else if (invalidationSize == 1) {
                             if (changeSize == 1) {
                                 return new SingleChange<T>(observable, changeListeners[0]);
                             }
@@ -255,24 +309,16 @@ public abstract class ExpressionHelper<T> extends ExpressionHelperBase {
                             return new SingleInvalidation<T>(observable, invalidationListeners[1-index]);
                         } else {
                             final int numMoved = invalidationSize - index - 1;
-                            final InvalidationListener[] oldListeners = invalidationListeners;
-                            if (locked) {
-                                invalidationListeners = new InvalidationListener[invalidationListeners.length];
-                                System.arraycopy(oldListeners, 0, invalidationListeners, 0, index);
-                            }
                             if (numMoved > 0) {
-                                System.arraycopy(oldListeners, index+1, invalidationListeners, index, numMoved);
-                            }
-                            invalidationSize--;
-                            if (!locked) {
-                                invalidationListeners[invalidationSize] = null; // Let gc do its work
+                                System.arraycopy(invalidationListeners, index+1, invalidationListeners, index, numMoved);
                             }
+                            invalidationListeners[--invalidationSize] = null; // Let gc do its work
                         }
                         break;
                     }
                 }
             }
-            return this;
+            return collapse();
         }
 
         @Override
@@ -282,11 +328,11 @@ public abstract class ExpressionHelper<T> extends ExpressionHelperBase {
                 changeSize = 1;
             } else {
                 final int oldCapacity = changeListeners.length;
-                if (locked) {
-                    final int newCapacity = (changeSize < oldCapacity)? oldCapacity : (oldCapacity * 3)/2 + 1;
-                    changeListeners = Arrays.copyOf(changeListeners, newCapacity);
-                } else if (changeSize == oldCapacity) {
-                    changeSize = trim(changeSize, changeListeners);
+                if (changeSize == oldCapacity) {
+                    if (lockCount == 0) {
+                        // compacting is only safe if no listeners are being notified
+                        changeSize = trim(changeSize, changeListeners);
+                    }
                     if (changeSize == oldCapacity) {
                         final int newCapacity = (oldCapacity * 3)/2 + 1;
                         changeListeners = Arrays.copyOf(changeListeners, newCapacity);
@@ -297,7 +343,7 @@ public abstract class ExpressionHelper<T> extends ExpressionHelperBase {
             if (changeSize == 1) {
                 currentValue = observable.getValue();
             }
-            return this;
+            return collapse();
         }
 
         @Override
@@ -305,7 +351,12 @@ public abstract class ExpressionHelper<T> extends ExpressionHelperBase {
             if (changeListeners != null) {
                 for (int index = 0; index < changeSize; index++) {
                     if (listener.equals(changeListeners[index])) {
-                        if (changeSize == 1) {
+                        if (lockCount > 0) {
+                            // the listeners are being notified, leave a hole that is
+                            // removed when the notification is finished
+                            changeListeners[index] = null;
+                            removedWhileLocked = true;
+                        } else if (changeSize == 1) {
                             if (invalidationSize == 1) {
                                 return new SingleInvalidation<T>(observable, invalidationListeners[0]);
                             }
@@ -315,38 +366,50 @@ public abstract class ExpressionHelper<T> extends ExpressionHelperBase {
                             return new SingleChange<T>(observable, changeListeners[1-index]);
                         } else {
                             final int numMoved = changeSize - index - 1;
-                            final ChangeListener<? super T>[] oldListeners = changeListeners;
-                            if (locked) {
-                                changeListeners = new ChangeListener[changeListeners.length];
-                                System.arraycopy(oldListeners, 0, changeListeners, 0, index);
-                            }
                             if (numMoved > 0) {
-                                System.arraycopy(oldListeners, index+1, changeListeners, index, numMoved);
-                            }
-                            changeSize--;
-                            if (!locked) {
-                                changeListeners[changeSize] = null; // Let gc do its work
+                                System.arraycopy(changeListeners, index+1, changeListeners, index, numMoved);
                             }
+                            changeListeners[--changeSize] = null; // Let gc do its work
                         }
                         break;
                     }
                 }
             }
-            return this;
+            return collapse();
         }
 
         @Override
         protected void fireValueChangedEvent() {
-            final InvalidationListener[] curInvalidationList = invalidationListeners;
-            final int curInvalidationSize = invalidationSize;
-            final ChangeListener<? super T>[] curChangeList = changeListeners;
-            final int curChangeSize = changeSize;
+            notifyListeners(true, true);
+        }
+
+        @Override
+        protected boolean fireInvalidationEvent() {
+            notifyListeners(true, false);
+            return changeSize > 0;
+        }
+
+        @Override
+        protected void fireChangeEvent() {
+            notifyListeners(false, true);
+        }
+
+        private void notifyListeners(boolean invalidation, boolean change) {
+            // Listeners added while notifying are only notified from the next
+            // notification on. The arrays are read again for every listener, since
+            // they may have been grown by an add, but the indices do not change
+            // while notifying, and removed listeners have left a null hole.
+            final int curInvalidationSize = invalidation ? invalidationSize : 0;
+            final int curChangeSize = change ? changeSize : 0;
 
             try {
-                locked = true;
+                lockCount++;
                 for (int i = 0; i < curInvalidationSize; i++) {
                     try {
-                        curInvalidationList[i].invalidated(observable);
+                        final InvalidationListener listener = invalidationListeners[i];
+                        if (listener != null) {
+                            listener.invalidated(observable);
+                        }
                     } catch (Exception e) {
                         Thread.currentThread().getUncaughtExceptionHandler().uncaughtException(Thread.currentThread(), e);
                     }
@@ -358,7 +421,10 @@ public abstract class ExpressionHelper<T> extends ExpressionHelperBase {
                     if (changed) {
                         for (int i = 0; i < curChangeSize; i++) {
                             try {
-                                curChangeList[i].changed(observable, oldValue, currentValue);
+                                final ChangeListener<? super T> listener = changeListeners[i];
+                                if (listener != null) {
+                                    listener.changed(observable, oldValue, currentValue);
+                                }
                             } catch (Exception e) {
                                 Thread.currentThread().getUncaughtExceptionHandler().uncaughtException(Thread.currentThread(), e);
                             }
@@ -366,7 +432,42 @@ public abstract class ExpressionHelper<T> extends ExpressionHelperBase {
                     }
                 }
             } finally {
-                locked = false;
+                unlock();
+            }
+        }
+
+        /**
+         * Returns the helper that should replace this one once listeners have
+         * been added or removed: null if there are no listeners left, a
+         * single listener helper if there is one, and this helper otherwise.
+         * While notifying this helper is kept, since it is still iterating
+         * over its listeners. Listeners that were removed while notifying are
+         * only dropped when the notification ends, so the owner switches to
+         * the smaller helper on its next add or remove.
+         */
+        private ExpressionHelper<T> collapse() {
+            if (lockCount > 0) {
+                return this;
+            }
+            if ((invalidationSize == 0) && (changeSize == 0)) {
+                return null;
+            } else if ((invalidationSize == 1) && (changeSize == 0)) {
+                return new SingleInvalidation<T>(observable, invalidationListeners[0]);
+            } else if ((invalidationSize == 0) && (changeSize == 1)) {
+                return new SingleChange<T>(observable, changeListeners[0]);
+            }
+            return this;
+        }
+
+        private void unlock() {
+            if ((--lockCount == 0) && removedWhileLocked) {
+                removedWhileLocked = false;
+                if (invalidationListeners != null) {
+                    invalidationSize = trim(invalidationSize, invalidationListeners);
+                }
+                if (changeListeners != null) {
+                    changeSize = trim(changeSize, changeListeners);
+                }
             }
         }
     }
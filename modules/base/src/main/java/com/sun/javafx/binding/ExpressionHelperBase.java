@@ -27,24 +27,31 @@ package com.sun.javafx.binding;
 
 import javafx.beans.WeakListener;
 
+import java.util.Arrays;
+
 /**
  */
 public class ExpressionHelperBase {
 
+    /**
+     * Compacts the first {@code size} elements of {@code listeners}, dropping
+     * {@code null} entries (listeners that were removed while the helper was
+     * notifying) and weak listeners that were garbage collected. The order of
+     * the remaining listeners is preserved.
+     *
+     * @return the new number of listeners
+     */
     protected static int trim(int size, Object[] listeners) {
+        int newSize = 0;
         for (int index = 0; index < size; index++) {
             final Object listener = listeners[index];
-            if (listener instanceof WeakListener) {
-                if (((WeakListener)listener).wasGarbageCollected()) {
-                    final int numMoved = size - index - 1;
-                    if (numMoved > 0)
-                        System.arraycopy(listeners, index+1, listeners, index, numMoved);
-                    listeners[--size] = null; // Let gc do its work
-                    index--;
-                }
+            if ((listener != null)
+                    && !((listener instanceof WeakListener) && ((WeakListener)listener).wasGarbageCollected())) {
+                listeners[newSize++] = listener;
             }
         }
-        return size;
+        Arrays.fill(listeners, newSize, size, null); // Let gc do its work
+        return newSize;
     }
 
 }
@@ -45,7 +45,11 @@ import static javafx.collections.ListChangeListener.Change;
  * change event notification.
  *
  * This implementation can handle adding and removing listeners while the
- * observers are being notified, but it is not thread-safe.
+ * observers are being notified, but it is not thread-safe. Listeners removed
+ * during a notification are not notified anymore; they leave a hole in the
+ * listener array that is compacted once the notification has finished, so
+ * neither notifying nor changing the listeners during a notification copies
+ * the listener arrays.
  *
  *
  */
@@ -309,7 +313,8 @@ public abstract class ListExpressionHelper<E> extends ExpressionHelperBase {
         private int invalidationSize;
         private int changeSize;
         private int listChangeSize;
-        private boolean locked;
+        private int lockCount;
+        private boolean removedWhileLocked;
         private ObservableList<E> currentValue;
 
         private Generic(ObservableListValue<E> observable, InvalidationListener listener0, InvalidationListener listener1) {
@@ -366,11 +371,11 @@ public abstract class ListExpressionHelper<E> extends ExpressionHelperBase {
                 invalidationSize = 1;
             } else {
                 final int oldCapacity = invalidationListeners.length;
-                if (locked) {
-                    final int newCapacity = (invalidationSize < oldCapacity)? oldCapacity : (oldCapacity * 3)/2 + 1;
-                    invalidationListeners = Arrays.copyOf(invalidationListeners, newCapacity);
-                } else if (invalidationSize == oldCapacity) {
-                    invalidationSize = trim(invalidationSize, invalidationListeners);
+                if (invalidationSize == oldCapacity) {
+                    if (lockCount == 0) {
+                        // compacting is only safe if no listeners are being notified
+                        invalidationSize = trim(invalidationSize, invalidationListeners);
+                    }
                     if (invalidationSize == oldCapacity) {
                         final int newCapacity = (oldCapacity * 3)/2 + 1;
                         invalidationListeners = Arrays.copyOf(invalidationListeners, newCapacity);
@@ -378,7 +383,7 @@ public abstract class ListExpressionHelper<E> extends ExpressionHelperBase {
                 }
                 invalidationListeners[invalidationSize++] = listener;
             }
-            return this;
+            return collapse();
         }
 
         @Override
@@ -386,7 +391,12 @@ public abstract class ListExpressionHelper<E> extends ExpressionHelperBase {
             if (invalidationListeners != null) {
                 for (int index = 0; index < invalidationSize; index++) {
                     if (listener.equals(invalidationListeners[index])) {
-                        if (invalidationSize == 1) {
+                        if (lockCount > 0) {
+                            // the listeners are being notified, leave a hole that is
+                            // removed when the notification is finished
+                            invalidationListeners[index] = null;
+                            removedWhileLocked = true;
+                        } else if (invalidationSize == 1) {
                             if ((changeSize == 1) && (listChangeSize == 0)) {
                                 return new SingleChange<E>(observable, changeListeners[0]);
                             } else if ((changeSize == 0) && (listChangeSize == 1)) {
@@ -398,24 +408,16 @@ public abstract class ListExpressionHelper<E> extends ExpressionHelperBase {
                             return new SingleInvalidation<E>(observable, invalidationListeners[1-index]);
                         } else {
                             final int numMoved = invalidationSize - index - 1;
-                            final InvalidationListener[] oldListeners = invalidationListeners;
-                            if (locked) {
-                                invalidationListeners = new InvalidationListener[invalidationListeners.length];
-                                System.arraycopy(oldListeners, 0, invalidationListeners, 0, index+1);
-                            }
                             if (numMoved > 0) {
-                                System.arraycopy(oldListeners, index+1, invalidationListeners, index, numMoved);
-                            }
-                            invalidationSize--;
-                            if (!locked) {
-                                invalidationListeners[invalidationSize] = null; // Let gc do its work
+                                System.arraycopy(invalidationListeners, index+1, invalidationListeners, index, numMoved);
                             }
+                            invalidationListeners[--invalidationSize] = null; // Let gc do its work
                         }
                         break;
                     }
                 }
             }
-            return this;
+            return collapse();
         }
 
         @Override
@@ -425,11 +427,11 @@ public abstract class ListExpressionHelper<E> extends ExpressionHelperBase {
                 changeSize = 1;
             } else {
                 final int oldCapacity = changeListeners.length;
-                if (locked) {
-                    final int newCapacity = (changeSize < oldCapacity)? oldCapacity : (oldCapacity * 3)/2 + 1;
-                    changeListeners = Arrays.copyOf(changeListeners, newCapacity);
-                } else if (changeSize == oldCapacity) {
-                    changeSize = trim(changeSize, changeListeners);
+                if (changeSize == oldCapacity) {
+                    if (lockCount == 0) {
+                        // compacting is only safe if no listeners are being notified
+                        changeSize = trim(changeSize, changeListeners);
+                    }
                     if (changeSize == oldCapacity) {
                         final int newCapacity = (oldCapacity * 3)/2 + 1;
                         changeListeners = Arrays.copyOf(changeListeners, newCapacity);
@@ -440,7 +442,7 @@ public abstract class ListExpressionHelper<E> extends ExpressionHelperBase {
             if (changeSize == 1) {
                 currentValue = observable.getValue();
             }
-            return this;
+            return collapse();
         }
 
         @Override
@@ -448,7 +450,12 @@ public abstract class ListExpressionHelper<E> extends ExpressionHelperBase {
             if (changeListeners != null) {
                 for (int index = 0; index < changeSize; index++) {
                     if (listener.equals(changeListeners[index])) {
-                        if (changeSize == 1) {
+                        if (lockCount > 0) {
+                            // the listeners are being notified, leave a hole that is
+                            // removed when the notification is finished
+                            changeListeners[index] = null;
+                            removedWhileLocked = true;
+                        } else if (changeSize == 1) {
                             if ((invalidationSize == 1) && (listChangeSize == 0)) {
                                 return new SingleInvalidation<E>(observable, invalidationListeners[0]);
                             } else if ((invalidationSize == 0) && (listChangeSize == 1)) {
@@ -460,24 +467,16 @@ public abstract class ListExpressionHelper<E> extends ExpressionHelperBase {
                             return new SingleChange<E>(observable, changeListeners[1-index]);
                         } else {
                             final int numMoved = changeSize - index - 1;
-                            final ChangeListener<? super ObservableList<E>>[] oldListeners = changeListeners;
-                            if (locked) {
-                                changeListeners = new ChangeListener[changeListeners.length];
-                                System.arraycopy(oldListeners, 0, changeListeners, 0, index+1);
-                            }
                             if (numMoved > 0) {
-                                System.arraycopy(oldListeners, index+1, changeListeners, index, numMoved);
-                            }
-                            changeSize--;
-                            if (!locked) {
-                                changeListeners[changeSize] = null; // Let gc do its work
+                                System.arraycopy(changeListeners, index+1, changeListeners, index, numMoved);
                             }
+                            changeListeners[--changeSize] = null; // Let gc do its work
                         }
                         break;
                     }
                 }
             }
-            return this;
+            return collapse();
         }
 
         @Override
@@ -487,11 +486,11 @@ public abstract class ListExpressionHelper<E> extends ExpressionHelperBase {
                 listChangeSize = 1;
             } else {
                 final int oldCapacity = listChangeListeners.length;
-                if (locked) {
-                    final int newCapacity = (listChangeSize < oldCapacity)? oldCapacity : (oldCapacity * 3)/2 + 1;
-                    listChangeListeners = Arrays.copyOf(listChangeListeners, newCapacity);
-                } else if (listChangeSize == oldCapacity) {
-                    listChangeSize = trim(listChangeSize, listChangeListeners);
+                if (listChangeSize == oldCapacity) {
+                    if (lockCount == 0) {
+                        // compacting is only safe if no listeners are being notified
+                        listChangeSize = trim(listChangeSize, listChangeListeners);
+                    }
                     if (listChangeSize == oldCapacity) {
                         final int newCapacity = (oldCapacity * 3)/2 + 1;
                         listChangeListeners = Arrays.copyOf(listChangeListeners, newCapacity);
@@ -502,7 +501,7 @@ public abstract class ListExpressionHelper<E> extends ExpressionHelperBase {
             if (listChangeSize == 1) {
                 currentValue = observable.getValue();
             }
-            return this;
+            return collapse();
         }
 
         @Override
@@ -510,7 +509,12 @@ public abstract class ListExpressionHelper<E> extends ExpressionHelperBase {
             if (listChangeListeners != null) {
                 for (int index = 0; index < listChangeSize; index++) {
                     if (listener.equals(listChangeListeners[index])) {
-                        if (listChangeSize == 1) {
+                        if (lockCount > 0) {
+                            // the listeners are being notified, leave a hole that is
+                            // removed when the notification is finished
+                            listChangeListeners[index] = null;
+                            removedWhileLocked = true;
+                        } else if (listChangeSize == 1) {
                             if ((invalidationSize == 1) && (changeSize == 0)) {
                                 return new SingleInvalidation<E>(observable, invalidationListeners[0]);
                             } else if ((invalidationSize == 0) && (changeSize == 1)) {
@@ -522,24 +526,16 @@ public abstract class ListExpressionHelper<E> extends ExpressionHelperBase {
                             return new SingleListChange<E>(observable, listChangeListeners[1-index]);
                         } else {
                             final int numMoved = listChangeSize - index - 1;
-                            final ListChangeListener<? super E>[] oldListeners = listChangeListeners;
-                            if (locked) {
-                                listChangeListeners = new ListChangeListener[listChangeListeners.length];
-                                System.arraycopy(oldListeners, 0, listChangeListeners, 0, index+1);
-                            }
                             if (numMoved > 0) {
-                                System.arraycopy(oldListeners, index+1, listChangeListeners, index, numMoved);
-                            }
-                            listChangeSize--;
-                            if (!locked) {
-                                listChangeListeners[listChangeSize] = null; // Let gc do its work
+                                System.arraycopy(listChangeListeners, index+1, listChangeListeners, index, numMoved);
                             }
+                            listChangeListeners[--listChangeSize] = null; // Let gc do its work
                         }
                         break;
                     }
                 }
             }
-            return this;
+            return collapse();
         }
 
         @Override
@@ -572,30 +568,82 @@ public abstract class ListExpressionHelper<E> extends ExpressionHelperBase {
         }
 
         private void notifyListeners(ObservableList<E> oldValue, Change<E> change, boolean noChange) {
-            final InvalidationListener[] curInvalidationList = invalidationListeners;
+            // Listeners added while notifying are only notified from the next
+            // notification on. The arrays are read again for every listener, since
+            // they may have been grown by an add, but the indices do not change
+            // while notifying, and removed listeners have left a null hole.
             final int curInvalidationSize = invalidationSize;
-            final ChangeListener<? super ObservableList<E>>[] curChangeList = changeListeners;
             final int curChangeSize = changeSize;
-            final ListChangeListener<? super E>[] curListChangeList = listChangeListeners;
             final int curListChangeSize = listChangeSize;
             try {
-                locked = true;
+                lockCount++;
                 for (int i = 0; i < curInvalidationSize; i++) {
-                    curInvalidationList[i].invalidated(observable);
+                    if (invalidationListeners[i] != null) {
+                        invalidationListeners[i].invalidated(observable);
+                    }
                 }
                 if (!noChange) {
                     for (int i = 0; i < curChangeSize; i++) {
-                        curChangeList[i].changed(observable, oldValue, currentValue);
+                        if (changeListeners[i] != null) {
+                            changeListeners[i].changed(observable, oldValue, currentValue);
+                        }
                     }
                     if (change != null) {
                         for (int i = 0; i < curListChangeSize; i++) {
-                            change.reset();
-                            curListChangeList[i].onChanged(change);
+                            if (listChangeListeners[i] != null) {
+                                change.reset();
+                                if (listChangeListeners[i] != null) {
+                                    listChangeListeners[i].onChanged(change);
+                                }
+                            }
                         }
                     }
                 }
             } finally {
-                locked = false;
+                unlock();
+            }
+        }
+
+        /**
+         * Returns the helper that should replace this one once listeners have
+         * been added or removed: null if there are no listeners left, a
+         * single listener helper if there is one, and this helper otherwise.
+         * While notifying this helper is kept, since it is still iterating
+         * over its listeners. Listeners that were removed while notifying are
+         * only dropped when the notification ends, so the owner switches to
+         * the smaller helper on its next add or remove.
+         */
+        private ListExpressionHelper<E> collapse() {
+            if (lockCount > 0) {
+                return this;
+            }
+            final int total = invalidationSize + changeSize + listChangeSize;
+            if (total == 0) {
+                return null;
+            } else if (total == 1) {
+                if (invalidationSize == 1) {
+                    return new SingleInvalidation<E>(observable, invalidationListeners[0]);
+                } else if (changeSize == 1) {
+                    return new SingleChange<E>(observable, changeListeners[0]);
+                } else {
+                    return new SingleListChange<E>(observable, listChangeListeners[0]);
+                }
+            }
+            return this;
+        }
+
+        private void unlock() {
+            if ((--lockCount == 0) && removedWhileLocked) {
+                removedWhileLocked = false;
+                if (invalidationListeners != null) {
+                    invalidationSize = trim(invalidationSize, invalidationListeners);
+                }
+                if (changeListeners != null) {
+                    changeSize = trim(changeSize, changeListeners);
+                }
+                if (listChangeListeners != null) {
+                    listChangeSize = trim(listChangeSize, listChangeListeners);
+                }
             }
         }
 
@@ -318,7 +318,8 @@ public abstract class MapExpressionHelper<K, V> extends ExpressionHelperBase {
         private int invalidationSize;
         private int changeSize;
         private int mapChangeSize;
-        private boolean locked;
+        private int lockCount;
+        private boolean removedWhileLocked;
         private ObservableMap<K, V> currentValue;
 
         private Generic(ObservableMapValue<K, V> observable, InvalidationListener listener0, InvalidationListener listener1) {
@@ -375,11 +376,11 @@ public abstract class MapExpressionHelper<K, V> extends ExpressionHelperBase {
                 invalidationSize = 1;
             } else {
                 final int oldCapacity = invalidationListeners.length;
-                if (locked) {
-                    final int newCapacity = (invalidationSize < oldCapacity)? oldCapacity : (oldCapacity * 3)/2 + 1;
-                    invalidationListeners = Arrays.copyOf(invalidationListeners, newCapacity);
-                } else if (invalidationSize == oldCapacity) {
-                    invalidationSize = trim(invalidationSize, invalidationListeners);
+                if (invalidationSize == oldCapacity) {
+                    if (lockCount == 0) {
+                        // compacting is only safe if no listeners are being notified
+                        invalidationSize = trim(invalidationSize, invalidationListeners);
+                    }
                     if (invalidationSize == oldCapacity) {
                         final int newCapacity = (oldCapacity * 3)/2 + 1;
                         invalidationListeners = Arrays.copyOf(invalidationListeners, newCapacity);
@@ -387,7 +388,7 @@ public abstract class MapExpressionHelper<K, V> extends ExpressionHelperBase {
                 }
                 invalidationListeners[invalidationSize++] = listener;
             }
-            return this;
+            return collapse();
         }
 
         @Override
@@ -395,7 +396,12 @@ public abstract class MapExpressionHelper<K, V> extends ExpressionHelperBase {
             if (invalidationListeners != null) {
                 for (int index = 0; index < invalidationSize; index++) {
                     if (listener.equals(invalidationListeners[index])) {
-                        if (invalidationSize == 1) {
+                        if (lockCount > 0) {
+                            // the listeners are being notified, leave a hole that is
+                            // removed when the notification is finished
+                            invalidationListeners[index] = null;
+                            removedWhileLocked = true;
+                        } else if (invalidationSize == 1) {
                             if ((changeSize == 1) && (mapChangeSize == 0)) {
                                 return new SingleChange<K, V>(observable, changeListeners[0]);
                             } else if ((changeSize == 0) && (mapChangeSize == 1)) {
@@ -405,24 +411,16 @@ public abstract class MapExpressionHelper<K, V> extends ExpressionHelperBase {
                             invalidationSize = 0;
                         } else {
                             final int numMoved = invalidationSize - index - 1;
-                            final InvalidationListener[] oldListeners = invalidationListeners;
-                            if (locked) {
-                                invalidationListeners = new InvalidationListener[invalidationListeners.length];
-                                System.arraycopy(oldListeners, 0, invalidationListeners, 0, index+1);
-                            }
                             if (numMoved > 0) {
-                                System.arraycopy(oldListeners, index+1, invalidationListeners, index, numMoved);
-                            }
-                            invalidationSize--;
-                            if (!locked) {
-                                invalidationListeners[--invalidationSize] = null; // Let gc do its work
+                                System.arraycopy(invalidationListeners, index+1, invalidationListeners, index, numMoved);
                             }
+                            invalidationListeners[--invalidationSize] = null; // Let gc do its work
                         }
                         break;
                     }
                 }
             }
-            return this;
+            return collapse();
         }
 
         @Override
@@ -432,11 +430,11 @@ public abstract class MapExpressionHelper<K, V> extends ExpressionHelperBase {
                 changeSize = 1;
             } else {
                 final int oldCapacity = changeListeners.length;
-                if (locked) {
-                    final int newCapacity = (changeSize < oldCapacity)? oldCapacity : (oldCapacity * 3)/2 + 1;
-                    changeListeners = Arrays.copyOf(changeListeners, newCapacity);
-                } else if (changeSize == oldCapacity) {
-                    changeSize = trim(changeSize, changeListeners);
+                if (changeSize == oldCapacity) {
+                    if (lockCount == 0) {
+                        // compacting is only safe if no listeners are being notified
+                        changeSize = trim(changeSize, changeListeners);
+                    }
                     if (changeSize == oldCapacity) {
                         final int newCapacity = (oldCapacity * 3)/2 + 1;
                         changeListeners = Arrays.copyOf(changeListeners, newCapacity);
@@ -447,7 +445,7 @@ public abstract class MapExpressionHelper<K, V> extends ExpressionHelperBase {
             if (changeSize == 1) {
                 currentValue = observable.getValue();
             }
-            return this;
+            return collapse();
         }
 
         @Override
@@ -455,7 +453,12 @@ public abstract class MapExpressionHelper<K, V> extends ExpressionHelperBase {
             if (changeListeners != null) {
                 for (int index = 0; index < changeSize; index++) {
                     if (listener.equals(changeListeners[index])) {
-                        if (changeSize == 1) {
+                        if (lockCount > 0) {
+                            // the listeners are being notified, leave a hole that is
+                            // removed when the notification is finished
+                            changeListeners[index] = null;
+                            removedWhileLocked = true;
+                        } else if (changeSize == 1) {
                             if ((invalidationSize == 1) && (mapChangeSize == 0)) {
                                 return new SingleInvalidation<K, V>(observable, invalidationListeners[0]);
                             } else if ((invalidationSize == 0) && (mapChangeSize == 1)) {
@@ -465,24 +468,16 @@ public abstract class MapExpressionHelper<K, V> extends ExpressionHelperBase {
                             changeSize = 0;
                         } else {
                             final int numMoved = changeSize - index - 1;
-                            final ChangeListener<? super ObservableMap<K, V>>[] oldListeners = changeListeners;
-                            if (locked) {
-                                changeListeners = new ChangeListener[changeListeners.length];
-                                System.arraycopy(oldListeners, 0, changeListeners, 0, index+1);
-                            }
                             if (numMoved > 0) {
-                                System.arraycopy(oldListeners, index+1, changeListeners, index, numMoved);
-                            }
-                            changeSize--;
-                            if (!locked) {
-                                changeListeners[--changeSize] = null; // Let gc do its work
+                                System.arraycopy(changeListeners, index+1, changeListeners, index, numMoved);
                             }
+                            changeListeners[--changeSize] = null; // Let gc do its work
                         }
                         break;
                     }
                 }
             }
-            return this;
+            return collapse();
         }
 
         @Override
@@ -492,11 +487,11 @@ public abstract class MapExpressionHelper<K, V> extends ExpressionHelperBase {
                 mapChangeSize = 1;
             } else {
                 final int oldCapacity = mapChangeListeners.length;
-                if (locked) {
-                    final int newCapacity = (mapChangeSize < oldCapacity)? oldCapacity : (oldCapacity * 3)/2 + 1;
-                    mapChangeListeners = Arrays.copyOf(mapChangeListeners, newCapacity);
-                } else if (mapChangeSize == oldCapacity) {
-                    mapChangeSize = trim(mapChangeSize, mapChangeListeners);
+                if (mapChangeSize == oldCapacity) {
+                    if (lockCount == 0) {
+                        // compacting is only safe if no listeners are being notified
+                        mapChangeSize = trim(mapChangeSize, mapChangeListeners);
+                    }
                     if (mapChangeSize == oldCapacity) {
                         final int newCapacity = (oldCapacity * 3)/2 + 1;
                         mapChangeListeners = Arrays.copyOf(mapChangeListeners, newCapacity);
@@ -507,7 +502,7 @@ public abstract class MapExpressionHelper<K, V> extends ExpressionHelperBase {
             if (mapChangeSize == 1) {
                 currentValue = observable.getValue();
             }
-            return this;
+            return collapse();
         }
 
         @Override
@@ -515,7 +510,12 @@ public abstract class MapExpressionHelper<K, V> extends ExpressionHelperBase {
             if (mapChangeListeners != null) {
                 for (int index = 0; index < mapChangeSize; index++) {
                     if (listener.equals(mapChangeListeners[index])) {
-                        if (mapChangeSize == 1) {
+                        if (lockCount > 0) {
+                            // the listeners are being notified, leave a hole that is
+                            // removed when the notification is finished
+                            mapChangeListeners[index] = null;
+                            removedWhileLocked = true;
+                        } else if (mapChangeSize == 1) {
                             if ((invalidationSize == 1) && (changeSize == 0)) {
                                 return new SingleInvalidation<K, V>(observable, invalidationListeners[0]);
                             } else if ((invalidationSize == 0) && (changeSize == 1)) {
@@ -525,24 +525,16 @@ public abstract class MapExpressionHelper<K, V> extends ExpressionHelperBase {
                             mapChangeSize = 0;
                         } else {
                             final int numMoved = mapChangeSize - index - 1;
-                            final MapChangeListener<? super K, ? super V>[] oldListeners = mapChangeListeners;
-                            if (locked) {
-                                mapChangeListeners = new MapChangeListener[mapChangeListeners.length];
-                                System.arraycopy(oldListeners, 0, mapChangeListeners, 0, index+1);
-                            }
                             if (numMoved > 0) {
-                                System.arraycopy(oldListeners, index+1, mapChangeListeners, index, numMoved);
-                            }
-                            mapChangeSize--;
-                            if (!locked) {
-                                mapChangeListeners[--mapChangeSize] = null; // Let gc do its work
+                                System.arraycopy(mapChangeListeners, index+1, mapChangeListeners, index, numMoved);
                             }
+                            mapChangeListeners[--mapChangeSize] = null; // Let gc do its work
                         }
                         break;
                     }
                 }
             }
-            return this;
+            return collapse();
         }
 
         @Override
@@ -563,25 +555,32 @@ public abstract class MapExpressionHelper<K, V> extends ExpressionHelperBase {
         }
 
         private void notifyListeners(ObservableMap<K, V> oldValue, SimpleChange<K, V> change) {
-            final InvalidationListener[] curInvalidationList = invalidationListeners;
+            // Listeners added while notifying are only notified from the next
+            // notification on. The arrays are read again for every listener, since
+            // they may have been grown by an add, but the indices do not change
+            // while notifying, and removed listeners have left a null hole.
             final int curInvalidationSize = invalidationSize;
-            final ChangeListener<? super ObservableMap<K, V>>[] curChangeList = changeListeners;
             final int curChangeSize = changeSize;
-            final MapChangeListener<? super K, ? super V>[] curListChangeList = mapChangeListeners;
             final int curListChangeSize = mapChangeSize;
             try {
-                locked = true;
+                lockCount++;
                 for (int i = 0; i < curInvalidationSize; i++) {
-                    curInvalidationList[i].invalidated(observable);
+                    if (invalidationListeners[i] != null) {
+                        invalidationListeners[i].invalidated(observable);
+                    }
                 }
                 if ((currentValue != oldValue) || (change != null)) {
                     for (int i = 0; i < curChangeSize; i++) {
-                        curChangeList[i].changed(observable, oldValue, currentValue);
+                        if (changeListeners[i] != null) {
+                            changeListeners[i].changed(observable, oldValue, currentValue);
+                        }
                     }
                     if (curListChangeSize > 0) {
                         if (change != null) {
                             for (int i = 0; i < curListChangeSize; i++) {
-                                curListChangeList[i].onChanged(change);
+                                if (mapChangeListeners[i] != null) {
+                                    mapChangeListeners[i].onChanged(change);
+                                }
                             }
                         } else {
                             change = new SimpleChange<K, V>(observable);
@@ -589,14 +588,18 @@ public abstract class MapExpressionHelper<K, V> extends ExpressionHelperBase {
                                 for (final Map.Entry<K, V> element : oldValue.entrySet()) {
                                     change.setRemoved(element.getKey(), element.getValue());
                                     for (int i = 0; i < curListChangeSize; i++) {
-                                        curListChangeList[i].onChanged(change);
+                                        if (mapChangeListeners[i] != null) {
+                                            mapChangeListeners[i].onChanged(change);
+                                        }
                                     }
                                 }
                             } else if (oldValue == null) {
                                 for (final Map.Entry<K, V> element : currentValue.entrySet()) {
                                     change.setAdded(element.getKey(), element.getValue());
                                     for (int i = 0; i < curListChangeSize; i++) {
-                                        curListChangeList[i].onChanged(change);
+                                        if (mapChangeListeners[i] != null) {
+                                            mapChangeListeners[i].onChanged(change);
+                                        }
                                     }
                                 }
                             } else {
@@ -608,13 +611,17 @@ public abstract class MapExpressionHelper<K, V> extends ExpressionHelperBase {
                                         if (oldEntry == null ? newEntry != null : !newEntry.equals(oldEntry)) {
                                             change.setPut(key, oldEntry, newEntry);
                                             for (int i = 0; i < curListChangeSize; i++) {
-                                                curListChangeList[i].onChanged(change);
+                                                if (mapChangeListeners[i] != null) {
+                                                    mapChangeListeners[i].onChanged(change);
+                                                }
                                             }
                                         }
                                     } else {
                                         change.setRemoved(key, oldEntry);
                                         for (int i = 0; i < curListChangeSize; i++) {
-                                            curListChangeList[i].onChanged(change);
+                                            if (mapChangeListeners[i] != null) {
+                                                mapChangeListeners[i].onChanged(change);
+                                            }
                                         }
                                     }
                                 }
@@ -623,7 +630,9 @@ public abstract class MapExpressionHelper<K, V> extends ExpressionHelperBase {
                                     if (!oldValue.containsKey(key)) {
                                         change.setAdded(key, element.getValue());
                                         for (int i = 0; i < curListChangeSize; i++) {
-                                            curListChangeList[i].onChanged(change);
+                                            if (mapChangeListeners[i] != null) {
+                                                mapChangeListeners[i].onChanged(change);
+                                            }
                                         }
                                     }
                                 }
@@ -632,7 +641,50 @@ public abstract class MapExpressionHelper<K, V> extends ExpressionHelperBase {
                     }
                 }
             } finally {
-                locked = false;
+                unlock();
+            }
+        }
+
+        /**
+         * Returns the helper that should replace this one once listeners have
+         * been added or removed: null if there are no listeners left, a
+         * single listener helper if there is one, and this helper otherwise.
+         * While notifying this helper is kept, since it is still iterating
+         * over its listeners. Listeners that were removed while notifying are
+         * only dropped when the notification ends, so the owner switches to
+         * the smaller helper on its next add or remove.
+         */
+        private MapExpressionHelper<K, V> collapse() {
+            if (lockCount > 0) {
+                return this;
+            }
+            final int total = invalidationSize + changeSize + mapChangeSize;
+            if (total == 0) {
+                return null;
+            } else if (total == 1) {
+                if (invalidationSize == 1) {
+                    return new SingleInvalidation<K, V>(observable, invalidationListeners[0]);
+                } else if (changeSize == 1) {
+                    return new SingleChange<K, V>(observable, changeListeners[0]);
+                } else {
+                    return new SingleMapChange<K, V>(observable, mapChangeListeners[0]);
+                }
+            }
+            return this;
+        }
+
+        private void unlock() {
+            if ((--lockCount == 0) && removedWhileLocked) {
+                removedWhileLocked = false;
+                if (invalidationListeners != null) {
+                    invalidationSize = trim(invalidationSize, invalidationListeners);
+                }
+                if (changeListeners != null) {
+                    changeSize = trim(changeSize, changeListeners);
+                }
+                if (mapChangeListeners != null) {
+                    mapChangeSize = trim(mapChangeSize, mapChangeListeners);
+                }
             }
         }
 
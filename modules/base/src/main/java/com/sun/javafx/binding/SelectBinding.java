@@ -47,7 +47,14 @@ import com.sun.javafx.property.JavaBeanAccessHelper;
 import sun.util.logging.PlatformLogger;
 import sun.util.logging.PlatformLogger.Level;
 import com.sun.javafx.property.PropertyReference;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
 import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import sun.reflect.misc.ReflectUtil;
 
 /**
  * A binding used to get a member, such as <code>a.b.c</code>. The value of the
@@ -56,6 +63,10 @@ import java.util.Arrays;
  * the SelectBinding and may be any dependency. All subsequent links are simply
  * PropertyReferences.
  * <p>
+ * The steps are resolved once per class and cached. Property getters are then
+ * called through method handles, so re-linking a chain does not need any
+ * reflective lookups.
+ * <p>
  * With a SelectBinding, "a" must always exist. Usually "a" will refer to
  * "this", or some concrete object. "b"* will be some intermediate step in the
  * select binding.
@@ -417,7 +428,7 @@ public class SelectBinding {
         private final Binding<?> binding;
         private final String[] propertyNames;
         private final ObservableValue<?>[] properties;
-        private final PropertyReference<?>[] propRefs;
+        private final PropertyStep[] propSteps;
         private final WeakInvalidationListener observer;
 
         private ObservableList<ObservableValue<?>> dependencies;
@@ -442,7 +453,7 @@ public class SelectBinding {
             observer = new WeakInvalidationListener(this);
             propertyNames = new String[n];
             System.arraycopy(steps, 0, propertyNames, 0, n);
-            propRefs = new PropertyReference<?>[n];
+            propSteps = new PropertyStep[n];
             properties = new ObservableValue<?>[n + 1];
             properties[0] = firstProperty;
             properties[0].addListener(observer);
@@ -475,17 +486,11 @@ public class SelectBinding {
             for (int i = 0; i < n - 1; i++) {
                 final Object obj = properties[i].getValue();
                 try {
-                    if ((propRefs[i] == null)
-                            || (!obj.getClass().equals(
-                            propRefs[i].getContainingClass()))) {
-                        propRefs[i] = new PropertyReference<Object>(obj.getClass(),
-                                propertyNames[i]);
-                    }
-                    if (propRefs[i].hasProperty()) {
-                        properties[i + 1] = propRefs[i].getProperty(obj);
-                    } else {
-                        properties[i + 1] = JavaBeanAccessHelper.createReadOnlyJavaBeanProperty(obj, propRefs[i].getName());
+                    if ((propSteps[i] == null)
+                            || (obj.getClass() != propSteps[i].containingClass)) {
+                        propSteps[i] = PropertyStep.get(obj.getClass(), propertyNames[i]);
                     }
+                    properties[i + 1] = propSteps[i].getObservableValue(obj);
                 } catch (NoSuchMethodException ex) {
                     Logging.getLogger().warning("Exception while evaluating select-binding " + stepsToString(), ex);
                     // return default
@@ -558,4 +563,75 @@ public class SelectBinding {
 
     }
 
+    /**
+     * A single step of a select binding: the lookup of a property with a given
+     * name in instances of a given class. Steps are shared by all select
+     * bindings and resolved only once per class and name.
+     */
+    private static final class PropertyStep {
+
+        private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+        private static final ClassValue<Map<String, PropertyStep>> STEPS = new ClassValue<Map<String, PropertyStep>>() {
+            @Override
+            protected Map<String, PropertyStep> computeValue(Class<?> type) {
+                return new ConcurrentHashMap<>();
+            }
+        };
+
+        private final Class<?> containingClass;
+        private final String name;
+        // the xxxProperty() method adapted to (Object)Object, or null
+        private final MethodHandle propertyGetter;
+        // used if the property getter is not accessible through a method handle
+        private final PropertyReference<Object> propRef;
+
+        static PropertyStep get(Class<?> clazz, String name) {
+            ReflectUtil.checkPackageAccess(clazz);
+            final Map<String, PropertyStep> steps = STEPS.get(clazz);
+            PropertyStep step = steps.get(name);
+            if (step == null) {
+                step = new PropertyStep(clazz, name);
+                final PropertyStep other = steps.putIfAbsent(name, step);
+                if (other != null) {
+                    step = other;
+                }
+            }
+            return step;
+        }
+
+        private PropertyStep(Class<?> clazz, String name) {
+            this.containingClass = clazz;
+            this.name = name;
+            MethodHandle getter = null;
+            try {
+                final Method m = clazz.getMethod(name + "Property");
+                getter = MethodHandles.publicLookup().unreflect(m).asType(GETTER_TYPE);
+            } catch (NoSuchMethodException | IllegalAccessException | RuntimeException ex) {
+                // not a property or not accessible, handled by PropertyReference
+            }
+            propertyGetter = getter;
+            propRef = getter == null ? new PropertyReference<Object>(clazz, name) : null;
+        }
+
+        ObservableValue<?> getObservableValue(Object bean) throws NoSuchMethodException {
+            if (propertyGetter != null) {
+                final Object property;
+                try {
+                    property = propertyGetter.invokeExact(bean);
+                } catch (Error e) {
+                    throw e;
+                } catch (Throwable t) {
+                    // same as PropertyReference.getProperty
+                    throw new RuntimeException(t);
+                }
+                return (ObservableValue<?>) property;
+            }
+            if (propRef.hasProperty()) {
+                return propRef.getProperty(bean);
+            }
+            return JavaBeanAccessHelper.createReadOnlyJavaBeanProperty(bean, name);
+        }
+    }
+
 }
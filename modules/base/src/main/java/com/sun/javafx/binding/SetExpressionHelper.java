@@ -309,7 +309,8 @@ public abstract class SetExpressionHelper<E> extends ExpressionHelperBase {
         private int invalidationSize;
         private int changeSize;
         private int setChangeSize;
-        private boolean locked;
+        private int lockCount;
+        private boolean removedWhileLocked;
         private ObservableSet<E> currentValue;
 
         private Generic(ObservableSetValue<E> observable, InvalidationListener listener0, InvalidationListener listener1) {
@@ -366,11 +367,11 @@ public abstract class SetExpressionHelper<E> extends ExpressionHelperBase {
                 invalidationSize = 1;
             } else {
                 final int oldCapacity = invalidationListeners.length;
-                if (locked) {
-                    final int newCapacity = (invalidationSize < oldCapacity)? oldCapacity : (oldCapacity * 3)/2 + 1;
-                    invalidationListeners = Arrays.copyOf(invalidationListeners, newCapacity);
-                } else if (invalidationSize == oldCapacity) {
-                    invalidationSize = trim(invalidationSize, invalidationListeners);
+                if (invalidationSize == oldCapacity) {
+                    if (lockCount == 0) {
+                        // compacting is only safe if no listeners are being notified
+                        invalidationSize = trim(invalidationSize, invalidationListeners);
+                    }
                     if (invalidationSize == oldCapacity) {
                         final int newCapacity = (oldCapacity * 3)/2 + 1;
                         invalidationListeners = Arrays.copyOf(invalidationListeners, newCapacity);
@@ -378,7 +379,7 @@ public abstract class SetExpressionHelper<E> extends ExpressionHelperBase {
                 }
                 invalidationListeners[invalidationSize++] = listener;
             }
-            return this;
+            return collapse();
         }
 
         @Override
@@ -386,7 +387,12 @@ public abstract class SetExpressionHelper<E> extends ExpressionHelperBase {
             if (invalidationListeners != null) {
                 for (int index = 0; index < invalidationSize; index++) {
                     if (listener.equals(invalidationListeners[index])) {
-                        if (invalidationSize == 1) {
+                        if (lockCount > 0) {
+                            // the listeners are being notified, leave a hole that is
+                            // removed when the notification is finished
+                            invalidationListeners[index] = null;
+                            removedWhileLocked = true;
+                        } else if (invalidationSize == 1) {
                             if ((changeSize == 1) && (setChangeSize == 0)) {
                                 return new SingleChange<E>(observable, changeListeners[0]);
                             } else if ((changeSize == 0) && (setChangeSize == 1)) {
@@ -396,24 +402,16 @@ public abstract class SetExpressionHelper<E> extends ExpressionHelperBase {
                             invalidationSize = 0;
                         } else {
                             final int numMoved = invalidationSize - index - 1;
-                            final InvalidationListener[] oldListeners = invalidationListeners;
-                            if (locked) {
-                                invalidationListeners = new InvalidationListener[invalidationListeners.length];
-                                System.arraycopy(oldListeners, 0, invalidationListeners, 0, index+1);
-                            }
                             if (numMoved > 0) {
-                                System.arraycopy(oldListeners, index+1, invalidationListeners, index, numMoved);
-                            }
-                            invalidationSize--;
-                            if (!locked) {
-                                invalidationListeners[--invalidationSize] = null; // Let gc do its work
+                                System.arraycopy(invalidationListeners, index+1, invalidationListeners, index, numMoved);
                             }
+                            invalidationListeners[--invalidationSize] = null; // Let gc do its work
                         }
                         break;
                     }
                 }
             }
-            return this;
+            return collapse();
         }
 
         @Override
@@ -423,11 +421,11 @@ public abstract class SetExpressionHelper<E> extends ExpressionHelperBase {
                 changeSize = 1;
             } else {
                 final int oldCapacity = changeListeners.length;
-                if (locked) {
-                    final int newCapacity = (changeSize < oldCapacity)? oldCapacity : (oldCapacity * 3)/2 + 1;
-                    changeListeners = Arrays.copyOf(changeListeners, newCapacity);
-                } else if (changeSize == oldCapacity) {
-                    changeSize = trim(changeSize, changeListeners);
+                if (changeSize == oldCapacity) {
+                    if (lockCount == 0) {
+                        // compacting is only safe if no listeners are being notified
+                        changeSize = trim(changeSize, changeListeners);
+                    }
                     if (changeSize == oldCapacity) {
                         final int newCapacity = (oldCapacity * 3)/2 + 1;
                         changeListeners = Arrays.copyOf(changeListeners, newCapacity);
@@ -438,7 +436,7 @@ public abstract class SetExpressionHelper<E> extends ExpressionHelperBase {
             if (changeSize == 1) {
                 currentValue = observable.getValue();
             }
-            return this;
+            return collapse();
         }
 
         @Override
@@ -446,7 +444,12 @@ public abstract class SetExpressionHelper<E> extends ExpressionHelperBase {
             if (changeListeners != null) {
                 for (int index = 0; index < changeSize; index++) {
                     if (listener.equals(changeListeners[index])) {
-                        if (changeSize == 1) {
+                        if (lockCount > 0) {
+                            // the listeners are being notified, leave a hole that is
+                            // removed when the notification is finished
+                            changeListeners[index] = null;
+                            removedWhileLocked = true;
+                        } else if (changeSize == 1) {
                             if ((invalidationSize == 1) && (setChangeSize == 0)) {
                                 return new SingleInvalidation<E>(observable, invalidationListeners[0]);
                             } else if ((invalidationSize == 0) && (setChangeSize == 1)) {
@@ -456,24 +459,16 @@ public abstract class SetExpressionHelper<E> extends ExpressionHelperBase {
                             changeSize = 0;
                         } else {
                             final int numMoved = changeSize - index - 1;
-                            final ChangeListener<? super ObservableSet<E>>[] oldListeners = changeListeners;
-                            if (locked) {
-                                changeListeners = new ChangeListener[changeListeners.length];
-                                System.arraycopy(oldListeners, 0, changeListeners, 0, index+1);
-                            }
                             if (numMoved > 0) {
-                                System.arraycopy(oldListeners, index+1, changeListeners, index, numMoved);
-                            }
-                            changeSize--;
-                            if (!locked) {
-                                changeListeners[changeSize] = null; // Let gc do its work
+                                System.arraycopy(changeListeners, index+1, changeListeners, index, numMoved);
                             }
+                            changeListeners[--changeSize] = null; // Let gc do its work
                         }
                         break;
                     }
                 }
             }
-            return this;
+            return collapse();
         }
 
         @Override
@@ -483,11 +478,11 @@ public abstract class SetExpressionHelper<E> extends ExpressionHelperBase {
                 setChangeSize = 1;
             } else {
                 final int oldCapacity = setChangeListeners.length;
-                if (locked) {
-                    final int newCapacity = (setChangeSize < oldCapacity)? oldCapacity : (oldCapacity * 3)/2 + 1;
-                    setChangeListeners = Arrays.copyOf(setChangeListeners, newCapacity);
-                } else if (setChangeSize == oldCapacity) {
-                    setChangeSize = trim(setChangeSize, setChangeListeners);
+                if (setChangeSize == oldCapacity) {
+                    if (lockCount == 0) {
+                        // compacting is only safe if no listeners are being notified
+                        setChangeSize = trim(setChangeSize, setChangeListeners);
+                    }
                     if (setChangeSize == oldCapacity) {
                         final int newCapacity = (oldCapacity * 3)/2 + 1;
                         setChangeListeners = Arrays.copyOf(setChangeListeners, newCapacity);
@@ -498,7 +493,7 @@ public abstract class SetExpressionHelper<E> extends ExpressionHelperBase {
             if (setChangeSize == 1) {
                 currentValue = observable.getValue();
             }
-            return this;
+            return collapse();
         }
 
         @Override
@@ -506,7 +501,12 @@ public abstract class SetExpressionHelper<E> extends ExpressionHelperBase {
             if (setChangeListeners != null) {
                 for (int index = 0; index < setChangeSize; index++) {
                     if (listener.equals(setChangeListeners[index])) {
-                        if (setChangeSize == 1) {
+                        if (lockCount > 0) {
+                            // the listeners are being notified, leave a hole that is
+                            // removed when the notification is finished
+                            setChangeListeners[index] = null;
+                            removedWhileLocked = true;
+                        } else if (setChangeSize == 1) {
                             if ((invalidationSize == 1) && (changeSize == 0)) {
                                 return new SingleInvalidation<E>(observable, invalidationListeners[0]);
                             } else if ((invalidationSize == 0) && (changeSize == 1)) {
@@ -516,24 +516,16 @@ public abstract class SetExpressionHelper<E> extends ExpressionHelperBase {
                             setChangeSize = 0;
                         } else {
                             final int numMoved = setChangeSize - index - 1;
-                            final SetChangeListener<? super E>[] oldListeners = setChangeListeners;
-                            if (locked) {
-                                setChangeListeners = new SetChangeListener[setChangeListeners.length];
-                                System.arraycopy(oldListeners, 0, setChangeListeners, 0, index+1);
-                            }
                             if (numMoved > 0) {
-                                System.arraycopy(oldListeners, index+1, setChangeListeners, index, numMoved);
-                            }
-                            setChangeSize--;
-                            if (!locked) {
-                                setChangeListeners[setChangeSize] = null; // Let gc do its work
+                                System.arraycopy(setChangeListeners, index+1, setChangeListeners, index, numMoved);
                             }
+                            setChangeListeners[--setChangeSize] = null; // Let gc do its work
                         }
                         break;
                     }
                 }
             }
-            return this;
+            return collapse();
         }
 
         @Override
@@ -554,25 +546,32 @@ public abstract class SetExpressionHelper<E> extends ExpressionHelperBase {
         }
 
         private void notifyListeners(ObservableSet<E> oldValue, SimpleChange<E> change) {
-            final InvalidationListener[] curInvalidationList = invalidationListeners;
+            // Listeners added while notifying are only notified from the next
+            // notification on. The arrays are read again for every listener, since
+            // they may have been grown by an add, but the indices do not change
+            // while notifying, and removed listeners have left a null hole.
             final int curInvalidationSize = invalidationSize;
-            final ChangeListener<? super ObservableSet<E>>[] curChangeList = changeListeners;
             final int curChangeSize = changeSize;
-            final SetChangeListener<? super E>[] curListChangeList = setChangeListeners;
             final int curListChangeSize = setChangeSize;
             try {
-                locked = true;
+                lockCount++;
                 for (int i = 0; i < curInvalidationSize; i++) {
-                    curInvalidationList[i].invalidated(observable);
+                    if (invalidationListeners[i] != null) {
+                        invalidationListeners[i].invalidated(observable);
+                    }
                 }
                 if ((currentValue != oldValue) || (change != null)) {
                     for (int i = 0; i < curChangeSize; i++) {
-                        curChangeList[i].changed(observable, oldValue, currentValue);
+                        if (changeListeners[i] != null) {
+                            changeListeners[i].changed(observable, oldValue, currentValue);
+                        }
                     }
                     if (curListChangeSize > 0) {
                         if (change != null) {
                             for (int i = 0; i < curListChangeSize; i++) {
-                                curListChangeList[i].onChanged(change);
+                                if (setChangeListeners[i] != null) {
+                                    setChangeListeners[i].onChanged(change);
+                                }
                             }
                         } else {
                             change = new SimpleChange<E>(observable);
@@ -580,14 +579,18 @@ public abstract class SetExpressionHelper<E> extends ExpressionHelperBase {
                                 for (final E element : oldValue) {
                                     change.setRemoved(element);
                                     for (int i = 0; i < curListChangeSize; i++) {
-                                        curListChangeList[i].onChanged(change);
+                                        if (setChangeListeners[i] != null) {
+                                            setChangeListeners[i].onChanged(change);
+                                        }
                                     }
                                 }
                             } else if (oldValue == null) {
                                 for (final E element : currentValue) {
                                     change.setAdded(element);
                                     for (int i = 0; i < curListChangeSize; i++) {
-                                        curListChangeList[i].onChanged(change);
+                                        if (setChangeListeners[i] != null) {
+                                            setChangeListeners[i].onChanged(change);
+                                        }
                                     }
                                 }
                             } else {
@@ -595,7 +598,9 @@ public abstract class SetExpressionHelper<E> extends ExpressionHelperBase {
                                     if (!currentValue.contains(element)) {
                                         change.setRemoved(element);
                                         for (int i = 0; i < curListChangeSize; i++) {
-                                            curListChangeList[i].onChanged(change);
+                                            if (setChangeListeners[i] != null) {
+                                                setChangeListeners[i].onChanged(change);
+                                            }
                                         }
                                     }
                                 }
@@ -603,7 +608,9 @@ public abstract class SetExpressionHelper<E> extends ExpressionHelperBase {
                                     if (!oldValue.contains(element)) {
                                         change.setAdded(element);
                                         for (int i = 0; i < curListChangeSize; i++) {
-                                            curListChangeList[i].onChanged(change);
+                                            if (setChangeListeners[i] != null) {
+                                                setChangeListeners[i].onChanged(change);
+                                            }
                                         }
                                     }
                                 }
@@ -613,7 +620,50 @@ public abstract class SetExpressionHelper<E> extends ExpressionHelperBase {
                     }
                 }
             } finally {
-                locked = false;
+                unlock();
+            }
+        }
+
+        /**
+         * Returns the helper that should replace this one once listeners have
+         * been added or removed: null if there are no listeners left, a
+         * single listener helper if there is one, and this helper otherwise.
+         * While notifying this helper is kept, since it is still iterating
+         * over its listeners. Listeners that were removed while notifying are
+         * only dropped when the notification ends, so the owner switches to
+         * the smaller helper on its next add or remove.
+         */
+        private SetExpressionHelper<E> collapse() {
+            if (lockCount > 0) {
+                return this;
+            }
+            final int total = invalidationSize + changeSize + setChangeSize;
+            if (total == 0) {
+                return null;
+            } else if (total == 1) {
+                if (invalidationSize == 1) {
+                    return new SingleInvalidation<E>(observable, invalidationListeners[0]);
+                } else if (changeSize == 1) {
+                    return new SingleChange<E>(observable, changeListeners[0]);
+                } else {
+                    return new SingleSetChange<E>(observable, setChangeListeners[0]);
+                }
+            }
+            return this;
+        }
+
+        private void unlock() {
+            if ((--lockCount == 0) && removedWhileLocked) {
+                removedWhileLocked = false;
+                if (invalidationListeners != null) {
+                    invalidationSize = trim(invalidationSize, invalidationListeners);
+                }
+                if (changeListeners != null) {
+                    changeSize = trim(changeSize, changeListeners);
+                }
+                if (setChangeListeners != null) {
+                    setChangeSize = trim(setChangeSize, setChangeListeners);
+                }
             }
         }
 
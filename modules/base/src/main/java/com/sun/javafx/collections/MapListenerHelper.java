@@ -28,9 +28,11 @@ package com.sun.javafx.collections;
 import com.sun.javafx.binding.ExpressionHelperBase;
 import javafx.beans.InvalidationListener;
 import javafx.collections.MapChangeListener;
+import javafx.collections.ObservableMap;
 import sun.util.logging.PlatformLogger;
 
 import java.util.Arrays;
+import java.util.List;
 
 /**
  */
@@ -73,6 +75,17 @@ public abstract class MapListenerHelper<K, V> extends ExpressionHelperBase {
         }
     }
 
+    /**
+     * Notifies the listeners of several changes made to the same map as one
+     * notification: invalidation listeners are called once, change listeners
+     * once for every change.
+     */
+    public static <K, V> void fireValueChangedEvent(MapListenerHelper<K, V> helper, List<? extends MapChangeListener.Change<? extends K, ? extends V>> changes) {
+        if (helper != null && !changes.isEmpty()) {
+            helper.fireValueChangedEvent(changes);
+        }
+    }
+
     public static <K, V> boolean hasListeners(MapListenerHelper<K, V> helper) {
         return helper != null;
     }
@@ -87,6 +100,7 @@ public abstract class MapListenerHelper<K, V> extends ExpressionHelperBase {
     protected abstract MapListenerHelper<K, V> removeListener(MapChangeListener<? super K, ? super V> listener);
 
     protected abstract void fireValueChangedEvent(MapChangeListener.Change<? extends K, ? extends V> change);
+    protected abstract void fireValueChangedEvent(List<? extends MapChangeListener.Change<? extends K, ? extends V>> changes);
 
     ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
     // Implementations
@@ -127,6 +141,11 @@ public abstract class MapListenerHelper<K, V> extends ExpressionHelperBase {
                 Thread.currentThread().getUncaughtExceptionHandler().uncaughtException(Thread.currentThread(), e);
             }
         }
+
+        @Override
+        protected void fireValueChangedEvent(List<? extends MapChangeListener.Change<? extends K, ? extends V>> changes) {
+            fireValueChangedEvent(changes.get(0));
+        }
     }
 
     private static class SingleChange<K, V> extends MapListenerHelper<K, V> {
@@ -165,6 +184,13 @@ public abstract class MapListenerHelper<K, V> extends ExpressionHelperBase {
                 Thread.currentThread().getUncaughtExceptionHandler().uncaughtException(Thread.currentThread(), e);
             }
         }
+
+        @Override
+        protected void fireValueChangedEvent(List<? extends MapChangeListener.Change<? extends K, ? extends V>> changes) {
+            for (int i = 0, size = changes.size(); i < size; i++) {
+                fireValueChangedEvent(changes.get(i));
+            }
+        }
     }
 
     private static class Generic<K, V> extends MapListenerHelper<K, V> {
@@ -333,6 +359,38 @@ public abstract class MapListenerHelper<K, V> extends ExpressionHelperBase {
                 locked = false;
             }
         }
+
+        @Override
+        protected void fireValueChangedEvent(List<? extends MapChangeListener.Change<? extends K, ? extends V>> changes) {
+            final InvalidationListener[] curInvalidationList = invalidationListeners;
+            final int curInvalidationSize = invalidationSize;
+            final MapChangeListener<? super K, ? super V>[] curChangeList = changeListeners;
+            final int curChangeSize = changeSize;
+            final ObservableMap<? extends K, ? extends V> map = changes.get(0).getMap();
+
+            try {
+                locked = true;
+                for (int i = 0; i < curInvalidationSize; i++) {
+                    try {
+                        curInvalidationList[i].invalidated(map);
+                    } catch (Exception e) {
+                        Thread.currentThread().getUncaughtExceptionHandler().uncaughtException(Thread.currentThread(), e);
+                    }
+                }
+                for (int j = 0, size = changes.size(); j < size; j++) {
+                    final MapChangeListener.Change<? extends K, ? extends V> change = changes.get(j);
+                    for (int i = 0; i < curChangeSize; i++) {
+                        try {
+                            curChangeList[i].onChanged(change);
+                        } catch (Exception e) {
+                            Thread.currentThread().getUncaughtExceptionHandler().uncaughtException(Thread.currentThread(), e);
+                        }
+                    }
+                }
+            } finally {
+                locked = false;
+            }
+        }
     }
 
 }
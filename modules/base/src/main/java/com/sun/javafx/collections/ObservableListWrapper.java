@@ -28,6 +28,7 @@ package com.sun.javafx.collections;
 import javafx.collections.ModifiableObservableListBase;
 import com.sun.javafx.collections.NonIterableChange.SimplePermutationChange;
 
+import java.util.ArrayList;
 import java.util.BitSet;
 import java.util.Collection;
 import java.util.Comparator;
@@ -47,7 +48,7 @@ public class ObservableListWrapper<E> extends ModifiableObservableListBase<E> im
 
     private final List<E> backingList;
 
-    private final ElementObserver elementObserver;
+    private final ElementObserver<E> elementObserver;
 
     public ObservableListWrapper(List<E> list) {
         backingList = list;
@@ -56,7 +57,7 @@ public class ObservableListWrapper<E> extends ModifiableObservableListBase<E> im
 
     public ObservableListWrapper(List<E> list, Callback<E, Observable[]> extractor) {
         backingList = list;
-        this.elementObserver = new ElementObserver(extractor, new Callback<E, InvalidationListener>() {
+        this.elementObserver = new ElementObserver<E>(extractor, new Callback<E, InvalidationListener>() {
 
             @Override
             public InvalidationListener call(final E e) {
@@ -160,10 +161,20 @@ public class ObservableListWrapper<E> extends ModifiableObservableListBase<E> im
 
     @Override
     public void remove(int fromIndex, int toIndex) {
+        if (fromIndex >= toIndex) {
+            return;
+        }
+        final List<E> range = backingList.subList(fromIndex, toIndex);
+        final List<E> removed = new ArrayList<E>(range);
         beginChange();
-        for (int i = fromIndex; i < toIndex; ++i) {
-            remove(fromIndex);
+        range.clear();
+        ++modCount;
+        if (elementObserver != null) {
+            for (int i = 0; i < removed.size(); ++i) {
+                elementObserver.detachListener(removed.get(i));
+            }
         }
+        nextRemove(fromIndex, removed);
         endChange();
     }
 
@@ -177,10 +188,7 @@ public class ObservableListWrapper<E> extends ModifiableObservableListBase<E> im
             }
         }
         if (!bs.isEmpty()) {
-            int cur = size();
-            while ((cur = bs.previousSetBit(cur - 1)) >= 0) {
-                remove(cur);
-            }
+            removeMarked(bs);
         }
         endChange();
         return !bs.isEmpty();
@@ -196,15 +204,55 @@ public class ObservableListWrapper<E> extends ModifiableObservableListBase<E> im
             }
         }
         if (!bs.isEmpty()) {
-            int cur = size();
-            while ((cur = bs.previousSetBit(cur - 1)) >= 0) {
-                remove(cur);
-            }
+            removeMarked(bs);
         }
         endChange();
         return !bs.isEmpty();
     }
 
+    /**
+     * Removes all elements whose indexes are set in {@code bs} from the
+     * backing list in a single pass. Instead of shifting the tail of the list
+     * for every removed element, the retained tail is rebuilt once, and every
+     * run of adjacent removed elements is reported as one removal, in
+     * ascending order, so the change builder can append it in constant time.
+     * Must be called inside a {@code beginChange()} / {@code endChange()} block.
+     */
+    private void removeMarked(BitSet bs) {
+        final int size = size();
+        final int first = bs.nextSetBit(0);
+        final List<E> tail = backingList.subList(first, size);
+        final int removedSize = bs.cardinality();
+        final List<E> removed = new ArrayList<E>(removedSize);
+        final List<E> retained = new ArrayList<E>(size - first - removedSize);
+        int i = first;
+        for (E e : tail) {
+            if (bs.get(i++)) {
+                removed.add(e);
+            } else {
+                retained.add(e);
+            }
+        }
+        tail.clear();
+        backingList.addAll(retained);
+        ++modCount;
+
+        if (elementObserver != null) {
+            for (int j = 0; j < removed.size(); ++j) {
+                elementObserver.detachListener(removed.get(j));
+            }
+        }
+
+        int removedCount = 0;
+        int from = first;
+        while (from >= 0) {
+            final int to = bs.nextClearBit(from);
+            nextRemove(from - removedCount, removed.subList(removedCount, removedCount + to - from));
+            removedCount += to - from;
+            from = bs.nextSetBit(to);
+        }
+    }
+
     private SortHelper helper;
 
     @Override
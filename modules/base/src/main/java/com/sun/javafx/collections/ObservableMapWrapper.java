@@ -30,8 +30,12 @@ import javafx.collections.MapChangeListener;
 import javafx.collections.ObservableMap;
 
 import java.util.Collection;
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 
 /**
@@ -46,6 +50,9 @@ public class ObservableMapWrapper<K, V> implements ObservableMap<K, V>{
     private MapListenerHelper<K, V> listenerHelper;
     private final Map<K, V> backingMap;
 
+    private int changeLock;
+    private Map<K, PendingChange<V>> pendingChanges;
+
     public ObservableMapWrapper(Map<K, V> map) {
         this.backingMap = map;
     }
@@ -111,10 +118,75 @@ public class ObservableMapWrapper<K, V> implements ObservableMap<K, V>{
 
     }
 
+    /**
+     * The net change of a single key during a {@link #beginChange()} /
+     * {@link #endChange()} block.
+     */
+    private static class PendingChange<V> {
+        private final V old;
+        private final boolean wasPresent;
+        private V added;
+        private boolean present;
+
+        private PendingChange(V old, boolean wasPresent) {
+            this.old = old;
+            this.wasPresent = wasPresent;
+        }
+    }
+
     protected void callObservers(MapChangeListener.Change<K,V> change) {
+        if (changeLock > 0) {
+            final K key = change.getKey();
+            PendingChange<V> pending = pendingChanges.get(key);
+            if (pending == null) {
+                pending = new PendingChange<V>(change.getValueRemoved(), change.wasRemoved());
+                pendingChanges.put(key, pending);
+            }
+            pending.added = change.getValueAdded();
+            pending.present = change.wasAdded();
+            return;
+        }
         MapListenerHelper.fireValueChangedEvent(listenerHelper, change);
     }
 
+    /**
+     * Starts a batch of modifications. Until the matching {@link #endChange()}
+     * no listeners are notified, the changes are collected per key instead.
+     * Calls can be nested, only the outermost {@code endChange()} notifies the
+     * listeners.
+     */
+    public void beginChange() {
+        if (changeLock++ == 0) {
+            pendingChanges = new LinkedHashMap<K, PendingChange<V>>();
+        }
+    }
+
+    /**
+     * Ends a batch of modifications started by {@link #beginChange()}. When the
+     * outermost batch ends, the net change of every modified key is reported in
+     * a single notification: invalidation listeners are called once, change
+     * listeners once for every key whose mapping differs from the one before
+     * the batch.
+     */
+    public void endChange() {
+        if (changeLock <= 0) {
+            throw new IllegalStateException("Called endChange before beginChange");
+        }
+        if (--changeLock > 0) {
+            return;
+        }
+        final Map<K, PendingChange<V>> pending = pendingChanges;
+        pendingChanges = null;
+        final List<SimpleChange> changes = new ArrayList<SimpleChange>(pending.size());
+        for (Map.Entry<K, PendingChange<V>> e : pending.entrySet()) {
+            final PendingChange<V> c = e.getValue();
+            if (c.present ? (!c.wasPresent || !Objects.equals(c.old, c.added)) : c.wasPresent) {
+                changes.add(new SimpleChange(e.getKey(), c.old, c.added, c.present, c.wasPresent));
+            }
+        }
+        MapListenerHelper.fireValueChangedEvent(listenerHelper, changes);
+    }
+
     @Override
     public void addListener(InvalidationListener listener) {
         listenerHelper = MapListenerHelper.addListener(listenerHelper, listener);
@@ -96,6 +96,12 @@ public class PulseLogger {
         }
     }
 
+    public static void incrementCounter(String counter, int amount) {
+        for (Logger logger: loggers) {
+            logger.incrementCounter(counter, amount);
+        }
+    }
+
     public static void newPhase(String name) {
         for (Logger logger: loggers) {
             logger.newPhase(name);
@@ -26,6 +26,10 @@
 package com.sun.javafx.property.adapter;
 
 import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import sun.reflect.misc.ReflectUtil;
 
@@ -37,6 +41,15 @@ public class JavaBeanPropertyBuilderHelper {
     private static final String GET_PREFIX = "get";
     private static final String SET_PREFIX = "set";
 
+    // Descriptors are immutable and shared by all builders for the same bean class
+    private static final ClassValue<Map<List<Object>, PropertyDescriptor>> DESCRIPTORS =
+            new ClassValue<Map<List<Object>, PropertyDescriptor>>() {
+                @Override
+                protected Map<List<Object>, PropertyDescriptor> computeValue(Class<?> type) {
+                    return new ConcurrentHashMap<>();
+                }
+            };
+
     private String propertyName;
     private Class<?> beanClass;
     private Object bean;
@@ -113,29 +126,35 @@ public class JavaBeanPropertyBuilderHelper {
             if (propertyName.isEmpty()) {
                 throw new IllegalArgumentException("Property name cannot be empty");
             }
-            final String capitalizedName = ReadOnlyPropertyDescriptor.capitalizedName(propertyName);
-            Method getterMethod = getter;
-            if (getterMethod == null) {
-                if ((getterName != null) && !getterName.isEmpty()) {
-                    getterMethod = beanClass.getMethod(getterName);
-                } else {
-                    try {
-                        getterMethod = beanClass.getMethod(IS_PREFIX + capitalizedName);
-                    } catch (NoSuchMethodException e) {
-                        getterMethod = beanClass.getMethod(GET_PREFIX + capitalizedName);
+            final Map<List<Object>, PropertyDescriptor> cache = DESCRIPTORS.get(beanClass);
+            final List<Object> key = Arrays.asList(propertyName, getterName, setterName, getter, setter);
+            descriptor = cache.get(key);
+            if (descriptor == null) {
+                final String capitalizedName = ReadOnlyPropertyDescriptor.capitalizedName(propertyName);
+                Method getterMethod = getter;
+                if (getterMethod == null) {
+                    if ((getterName != null) && !getterName.isEmpty()) {
+                        getterMethod = beanClass.getMethod(getterName);
+                    } else {
+                        try {
+                            getterMethod = beanClass.getMethod(IS_PREFIX + capitalizedName);
+                        } catch (NoSuchMethodException e) {
+                            getterMethod = beanClass.getMethod(GET_PREFIX + capitalizedName);
+                        }
                     }
                 }
-            }
-            Method setterMethod = setter;
-            if (setterMethod == null) {
-                final Class<?> type = getterMethod.getReturnType();
-                if ((setterName != null) && !setterName.isEmpty()) {
-                    setterMethod = beanClass.getMethod(setterName, type);
-                } else {
-                    setterMethod = beanClass.getMethod(SET_PREFIX + capitalizedName, type);
+                Method setterMethod = setter;
+                if (setterMethod == null) {
+                    final Class<?> type = getterMethod.getReturnType();
+                    if ((setterName != null) && !setterName.isEmpty()) {
+                        setterMethod = beanClass.getMethod(setterName, type);
+                    } else {
+                        setterMethod = beanClass.getMethod(SET_PREFIX + capitalizedName, type);
+                    }
                 }
+                descriptor = new PropertyDescriptor(propertyName, beanClass, getterMethod, setterMethod);
+                cache.putIfAbsent(key, descriptor);
             }
-            descriptor = new PropertyDescriptor(propertyName, beanClass, getterMethod, setterMethod);
         }
         return descriptor;
     }
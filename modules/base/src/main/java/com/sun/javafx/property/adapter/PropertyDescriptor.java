@@ -33,6 +33,7 @@ import javafx.beans.value.ObservableValue;
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyVetoException;
 import java.beans.VetoableChangeListener;
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 
@@ -52,6 +53,7 @@ public class PropertyDescriptor extends ReadOnlyPropertyDescriptor {
     private static final int REMOVE_VETOABLE_LISTENER_TAKES_NAME = 2;
 
     private final Method setter;
+    private final MethodHandle setterHandle;
     private final Method addVetoListener;
     private final Method removeVetoListener;
     private final int flags;
@@ -61,6 +63,7 @@ public class PropertyDescriptor extends ReadOnlyPropertyDescriptor {
     public PropertyDescriptor(String propertyName, Class<?> beanClass, Method getter, Method setter) {
         super(propertyName, beanClass, getter);
         this.setter = setter;
+        this.setterHandle = unreflect(setter, SETTER_TYPE);
 
         Method tmpAddVetoListener = null;
         Method tmpRemoveVetoListener = null;
@@ -105,6 +108,22 @@ public class PropertyDescriptor extends ReadOnlyPropertyDescriptor {
         flags = tmpFlags;
     }
 
+    /**
+     * Invokes the setter on {@code bean}. Exceptions thrown by the setter are
+     * wrapped in an {@link InvocationTargetException}, as with reflection.
+     */
+    public void invokeSetter(Object bean, Object value) throws IllegalAccessException, InvocationTargetException {
+        if (setterHandle == null) {
+            MethodUtil.invoke(setter, bean, new Object[] {value});
+            return;
+        }
+        try {
+            setterHandle.invokeExact(bean, value);
+        } catch (Throwable t) {
+            throw new InvocationTargetException(t);
+        }
+    }
+
     @Override
     public void addListener(ReadOnlyListener listener) {
         super.addListener(listener);
@@ -159,7 +178,7 @@ public class PropertyDescriptor extends ReadOnlyPropertyDescriptor {
             } else if (!updating) {
                 updating = true;
                 try {
-                    MethodUtil.invoke(setter, bean, new Object[] {newValue});
+                    invokeSetter(bean, newValue);
                     property.fireValueChangedEvent();
                 } catch (IllegalAccessException e) {
                     // ignore
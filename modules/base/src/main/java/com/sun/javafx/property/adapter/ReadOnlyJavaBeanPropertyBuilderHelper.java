@@ -26,6 +26,10 @@
 package com.sun.javafx.property.adapter;
 
 import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import sun.reflect.misc.ReflectUtil;
 
@@ -36,6 +40,15 @@ public class ReadOnlyJavaBeanPropertyBuilderHelper {
     private static final String IS_PREFIX = "is";
     private static final String GET_PREFIX = "get";
 
+    // Descriptors are immutable and shared by all builders for the same bean class
+    private static final ClassValue<Map<List<Object>, ReadOnlyPropertyDescriptor>> DESCRIPTORS =
+            new ClassValue<Map<List<Object>, ReadOnlyPropertyDescriptor>>() {
+                @Override
+                protected Map<List<Object>, ReadOnlyPropertyDescriptor> computeValue(Class<?> type) {
+                    return new ConcurrentHashMap<>();
+                }
+            };
+
     private String propertyName;
     private Class<?> beanClass;
     private Object bean;
@@ -96,19 +109,27 @@ public class ReadOnlyJavaBeanPropertyBuilderHelper {
             if (propertyName.isEmpty()) {
                 throw new IllegalArgumentException("Property name cannot be empty");
             }
-            final String capitalizedName = ReadOnlyPropertyDescriptor.capitalizedName(propertyName);
-            if (getter == null) {
-                if ((getterName != null) && !getterName.isEmpty()) {
-                    getter = beanClass.getMethod(getterName);
-                } else {
-                    try {
-                        getter = beanClass.getMethod(IS_PREFIX + capitalizedName);
-                    } catch (NoSuchMethodException e) {
-                        getter = beanClass.getMethod(GET_PREFIX + capitalizedName);
+            final Map<List<Object>, ReadOnlyPropertyDescriptor> cache = DESCRIPTORS.get(beanClass);
+            final List<Object> key = Arrays.asList(propertyName, getterName, getter);
+            descriptor = cache.get(key);
+            if (descriptor == null) {
+                final String capitalizedName = ReadOnlyPropertyDescriptor.capitalizedName(propertyName);
+                if (getter == null) {
+                    if ((getterName != null) && !getterName.isEmpty()) {
+                        getter = beanClass.getMethod(getterName);
+                    } else {
+                        try {
+                            getter = beanClass.getMethod(IS_PREFIX + capitalizedName);
+                        } catch (NoSuchMethodException e) {
+                            getter = beanClass.getMethod(GET_PREFIX + capitalizedName);
+                        }
                     }
                 }
+                descriptor = new ReadOnlyPropertyDescriptor(propertyName, beanClass, getter);
+                cache.putIfAbsent(key, descriptor);
+            } else {
+                getter = descriptor.getGetter();
             }
-            descriptor = new ReadOnlyPropertyDescriptor(propertyName, beanClass, getter);
         }
         return descriptor;
     }
@@ -30,10 +30,14 @@ import javafx.beans.property.adapter.ReadOnlyJavaBeanProperty;
 
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.ref.WeakReference;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 
+import sun.reflect.misc.MethodUtil;
 import sun.reflect.misc.ReflectUtil;
 
 import static java.util.Locale.ENGLISH;
@@ -51,9 +55,13 @@ public class ReadOnlyPropertyDescriptor {
     private static final int ADD_LISTENER_TAKES_NAME = 1;
     private static final int REMOVE_LISTENER_TAKES_NAME = 2;
 
+    static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
     protected final String name;
     protected final Class<?> beanClass;
     private final Method getter;
+    private final MethodHandle getterHandle;
     private final Class<?> type;
 
     private final Method addChangeListener;
@@ -70,6 +78,7 @@ public class ReadOnlyPropertyDescriptor {
         this.name = propertyName;
         this.beanClass = beanClass;
         this.getter = getter;
+        this.getterHandle = unreflect(getter, GETTER_TYPE);
         this.type = getter.getReturnType();
 
         Method tmpAddChangeListener = null;
@@ -117,6 +126,38 @@ public class ReadOnlyPropertyDescriptor {
         return ((name == null) || (name.length() == 0))? name : name.substring(0, 1).toUpperCase(ENGLISH) + name.substring(1);
     }
 
+    /**
+     * Returns a method handle for {@code method} adapted to {@code type}, or
+     * {@code null} if the method is not accessible through the public lookup
+     * (e.g. it is declared by a non-public class or is caller sensitive). In
+     * that case callers have to fall back to reflective invocation.
+     */
+    static MethodHandle unreflect(Method method, MethodType type) {
+        if (method == null) {
+            return null;
+        }
+        try {
+            return MethodHandles.publicLookup().unreflect(method).asType(type);
+        } catch (IllegalAccessException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Invokes the getter on {@code bean}. Exceptions thrown by the getter are
+     * wrapped in an {@link InvocationTargetException}, as with reflection.
+     */
+    public Object invokeGetter(Object bean) throws IllegalAccessException, InvocationTargetException {
+        if (getterHandle == null) {
+            return MethodUtil.invoke(getter, bean, (Object[])null);
+        }
+        try {
+            return (Object) getterHandle.invokeExact(bean);
+        } catch (Throwable t) {
+            throw new InvocationTargetException(t);
+        }
+    }
+
     public void addListener(ReadOnlyListener listener) {
         if (addChangeListener != null) {
             try {
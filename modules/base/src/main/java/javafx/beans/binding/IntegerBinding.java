@@ -33,6 +33,7 @@ import javafx.collections.ObservableList;
 import com.sun.javafx.collections.annotations.ReturnsUnmodifiableCollection;
 
 import com.sun.javafx.binding.BindingHelperObserver;
+import com.sun.javafx.binding.DeferredBindings;
 import com.sun.javafx.binding.ExpressionHelper;
 
 /**
@@ -66,6 +67,7 @@ public abstract class IntegerBinding extends IntegerExpression implements
     private boolean valid = false;
     private BindingHelperObserver observer;
     private ExpressionHelper<Number> helper = null;
+    private Runnable deferredNotification;
 
     @Override
     public void addListener(InvalidationListener listener) {
@@ -169,7 +171,11 @@ public abstract class IntegerBinding extends IntegerExpression implements
         if (valid) {
             valid = false;
             onInvalidating();
-            ExpressionHelper.fireValueChangedEvent(helper);
+            if (deferredNotification != null) {
+                DeferredBindings.fireValueChangedEvent(helper, deferredNotification);
+            } else {
+                ExpressionHelper.fireValueChangedEvent(helper);
+            }
         }
     }
 
@@ -178,6 +184,35 @@ public abstract class IntegerBinding extends IntegerExpression implements
         return valid;
     }
 
+    /**
+     * Sets whether this binding defers the notification of its
+     * {@code ChangeListeners} until the next pulse. A deferred binding still
+     * notifies its {@code InvalidationListeners} immediately. But if it is
+     * invalidated several times before the next pulse, its value is computed
+     * and its {@code ChangeListeners} are notified only once, after all the
+     * bindings it depends on were updated.
+     * Without a running JavaFX toolkit, listeners are notified immediately.
+     *
+     * @param deferred {@code true} to defer change notifications
+     * @since JavaFX 8u202
+     */
+    public final void setDeferred(boolean deferred) {
+        if (deferred != isDeferred()) {
+            deferredNotification = deferred ? () -> ExpressionHelper.fireChangeEvent(helper) : null;
+        }
+    }
+
+    /**
+     * Returns whether this binding defers the notification of its
+     * {@code ChangeListeners} until the next pulse.
+     *
+     * @return {@code true} if change notifications are deferred
+     * @since JavaFX 8u202
+     */
+    public final boolean isDeferred() {
+        return deferredNotification != null;
+    }
+
     /**
      * Calculates the current value of this binding.
      * <p>
@@ -54,7 +54,9 @@ import com.sun.javafx.collections.ObservableMapWrapper;
 import com.sun.javafx.collections.ObservableSetWrapper;
 import com.sun.javafx.collections.MapAdapterChange;
 import com.sun.javafx.collections.ObservableFloatArrayImpl;
+import com.sun.javafx.collections.ObservableDoubleListImpl;
 import com.sun.javafx.collections.ObservableIntegerArrayImpl;
+import com.sun.javafx.collections.ObservableIntegerListImpl;
 import com.sun.javafx.collections.ObservableSequentialListWrapper;
 import com.sun.javafx.collections.SetAdapterChange;
 import com.sun.javafx.collections.SortableList;
@@ -295,6 +297,44 @@ public class FXCollections {
         return new ObservableFloatArrayImpl(array);
     }
 
+    /**
+     * Creates a new empty observable integer list.
+     * @return a newly created ObservableIntegerList
+     * @since JavaFX 8u202
+     */
+    public static ObservableIntegerList observableIntegerList() {
+        return new ObservableIntegerListImpl();
+    }
+
+    /**
+     * Creates a new observable integer list with {@code values} added to it.
+     * @param values the values that will be in the new observable integer list
+     * @return a newly created ObservableIntegerList
+     * @since JavaFX 8u202
+     */
+    public static ObservableIntegerList observableIntegerList(int... values) {
+        return new ObservableIntegerListImpl(values);
+    }
+
+    /**
+     * Creates a new empty observable double list.
+     * @return a newly created ObservableDoubleList
+     * @since JavaFX 8u202
+     */
+    public static ObservableDoubleList observableDoubleList() {
+        return new ObservableDoubleListImpl();
+    }
+
+    /**
+     * Creates a new observable double list with {@code values} added to it.
+     * @param values the values that will be in the new observable double list
+     * @return a newly created ObservableDoubleList
+     * @since JavaFX 8u202
+     */
+    public static ObservableDoubleList observableDoubleList(double... values) {
+        return new ObservableDoubleListImpl(values);
+    }
+
     /**
      * Creates a new empty observable list that is backed by an arraylist.
      * @see #observableList(java.util.List)
@@ -676,6 +716,95 @@ public class FXCollections {
         }
     }
 
+    /**
+     * Runs the given action as a single transaction on the observable list.
+     * All the modifications the action makes to the list are coalesced and
+     * reported to the list's listeners as <b>one</b> change notification
+     * after the action completes, even if it throws an exception.
+     * Batches may be nested; only the outermost one notifies the listeners.
+     * <p>
+     * This is supported by lists created by {@link #observableArrayList()},
+     * {@link #observableList(java.util.List)} and similar methods of this class,
+     * and by any list that extends {@link ObservableListBase}.
+     * For other lists the action is run and changes are reported as usual.
+     * @param <E> the element type
+     * @param list the list that is modified by the action
+     * @param action the action that modifies the list
+     * @throws NullPointerException if {@code list} or {@code action} is null
+     * @since JavaFX 8u202
+     */
+    @SuppressWarnings("unchecked")
+    public static <E> void batch(ObservableList<E> list, Runnable action) {
+        if (list == null || action == null) {
+            throw new NullPointerException();
+        }
+        if (list instanceof CheckedObservableList) {
+            batch(((CheckedObservableList<E>) list).list, action);
+        } else if (list instanceof SynchronizedObservableList) {
+            final SynchronizedObservableList<E> syncList = (SynchronizedObservableList<E>) list;
+            synchronized (syncList.mutex) {
+                batch(syncList.backingList, action);
+            }
+        } else if (list instanceof ObservableListBase
+                && !(list instanceof UnmodifiableObservableListImpl)) {
+            final ObservableListBase<E> base = (ObservableListBase<E>) list;
+            base.beginChange();
+            try {
+                action.run();
+            } finally {
+                base.endChange();
+            }
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * Runs the given action as a single transaction on the observable map.
+     * Until the action completes, no listeners of the map are notified. Then
+     * the net change of every modified key is reported in one notification:
+     * {@code InvalidationListener}s are called once and every
+     * {@code MapChangeListener} receives one change per key whose mapping
+     * differs from the mapping before the action. Keys that were modified
+     * but ended up with their original mapping are not reported.
+     * Batches may be nested; only the outermost one notifies the listeners.
+     * <p>
+     * This is supported by maps created by {@link #observableHashMap()} and
+     * {@link #observableMap(java.util.Map)}, and by their checked and
+     * synchronized wrappers. For other maps the action is run and changes are
+     * reported as usual.
+     * @param <K> the type of keys
+     * @param <V> the type of values
+     * @param map the map that is modified by the action
+     * @param action the action that modifies the map
+     * @throws NullPointerException if {@code map} or {@code action} is null
+     * @since JavaFX 8u202
+     */
+    @SuppressWarnings("unchecked")
+    public static <K, V> void batch(ObservableMap<K, V> map, Runnable action) {
+        if (map == null || action == null) {
+            throw new NullPointerException();
+        }
+        if (map instanceof CheckedObservableMap) {
+            batch(((CheckedObservableMap<K, V>) map).backingMap, action);
+        } else if (map instanceof SynchronizedObservableMap) {
+            final SynchronizedObservableMap<K, V> syncMap = (SynchronizedObservableMap<K, V>) map;
+            synchronized (syncMap.mutex) {
+                batch(syncMap.backingMap, action);
+            }
+        } else if (map instanceof ObservableMapWrapper) {
+            final ObservableMapWrapper<K, V> wrapper = (ObservableMapWrapper<K, V>) map;
+            wrapper.beginChange();
+            try {
+                action.run();
+            } finally {
+                wrapper.endChange();
+            }
+        } else {
+            action.run();
+        }
+    }
+
     private static class EmptyObservableList<E> extends AbstractList<E> implements ObservableList<E> {
 
         private static final ListIterator iterator = new ListIterator() {
@@ -233,6 +233,24 @@ final class ListChangeBuilder<E> {
 
     public void nextRemove(int idx, List<? extends E> removed) {
         checkState();
+        if (removed.isEmpty()) {
+            return;
+        }
+        checkAddRemoveList();
+
+        final SubChange<E> last = addRemoveChanges.isEmpty() ? null
+                : addRemoveChanges.get(addRemoveChanges.size() - 1);
+
+        // Fast path for removals behind all recorded changes (e.g. runs reported in ascending order):
+        // the whole run is appended at once and no other sub-change has to be shifted
+        if ((updateChanges == null || updateChanges.isEmpty()) && (last == null || idx >= last.to)) {
+            if (last != null && last.to == idx) {
+                last.removed.addAll(removed);
+            } else {
+                addRemoveChanges.add(new SubChange<E>(idx, idx, new ArrayList<E>(removed), EMPTY_PERM, false));
+            }
+            return;
+        }
 
         for (int i = 0; i < removed.size(); ++i) {
             nextRemove(idx, removed.get(i));
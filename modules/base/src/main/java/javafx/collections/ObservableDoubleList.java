@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2018, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package javafx.collections;
+
+/**
+ * {@code ObservableDoubleList} is an {@link ObservableList} of {@code Double}
+ * values that are stored in a {@code double[]} array. Besides the usual
+ * {@code List} methods, which box and unbox the elements, it provides methods
+ * to access single elements and whole ranges as {@code double} values, so that
+ * large amounts of numeric data can be added or replaced without boxing.
+ * All modifications, whether done with the boxed or the primitive methods,
+ * are reported to {@link ListChangeListener}s in the same way.
+ *
+ * @see FXCollections#observableDoubleList()
+ * @since JavaFX 8u202
+ */
+public interface ObservableDoubleList extends ObservableList<Double> {
+
+    /**
+     * Gets a single element of the list without boxing it.
+     * @param index index of the element to get
+     * @return value at the given index
+     * @throws IndexOutOfBoundsException if {@code index} is outside the list
+     */
+    public double getDouble(int index);
+
+    /**
+     * Replaces a single element of the list without boxing the new value.
+     * @param index index of the element to replace
+     * @param value the new value
+     * @return the previous value at the given index
+     * @throws IndexOutOfBoundsException if {@code index} is outside the list
+     */
+    public double setDouble(int index, double value);
+
+    /**
+     * Appends a single value to the end of the list without boxing it.
+     * @param value value to append
+     */
+    public void addDouble(double value);
+
+    /**
+     * Appends the given {@code elements} to the end of the list. Only a single
+     * change is fired.
+     * @param elements elements to append
+     * @throws NullPointerException if {@code elements} is null
+     */
+    public void addAll(double[] elements);
+
+    /**
+     * Appends a portion of the given array to the end of the list. Only a
+     * single change is fired.
+     * @param src source array
+     * @param srcIndex starting position in source array
+     * @param length length of portion to append
+     * @throws NullPointerException if {@code src} is null
+     * @throws ArrayIndexOutOfBoundsException if the portion is outside
+     * {@code src}
+     */
+    public void addAll(double[] src, int srcIndex, int length);
+
+    /**
+     * Inserts the given {@code elements} at the specified position of the
+     * list. Only a single change is fired.
+     * @param index position of the first inserted element
+     * @param elements elements to insert
+     * @throws NullPointerException if {@code elements} is null
+     * @throws IndexOutOfBoundsException if {@code index} is outside the list
+     */
+    public void addAll(int index, double[] elements);
+
+    /**
+     * Replaces the content of the list with the given {@code elements}. Only a
+     * single change is fired.
+     * @param elements the new content of the list
+     * @throws NullPointerException if {@code elements} is null
+     */
+    public void setAll(double[] elements);
+
+    /**
+     * Replaces the content of the list with a portion of the given array.
+     * Only a single change is fired.
+     * @param src source array
+     * @param srcIndex starting position in source array
+     * @param length length of portion to copy
+     * @throws NullPointerException if {@code src} is null
+     * @throws ArrayIndexOutOfBoundsException if the portion is outside
+     * {@code src}
+     */
+    public void setAll(double[] src, int srcIndex, int length);
+
+    /**
+     * Replaces {@code length} elements of the list, starting at
+     * {@code destIndex}, with a portion of the given array. The size of the
+     * list does not change. Only a single change is fired.
+     * @param destIndex the first element of the list to replace
+     * @param src source array
+     * @param srcIndex starting position in source array
+     * @param length number of elements to replace
+     * @throws NullPointerException if {@code src} is null
+     * @throws IndexOutOfBoundsException if the replaced range is outside
+     * the list
+     * @throws ArrayIndexOutOfBoundsException if the portion is outside
+     * {@code src}
+     */
+    public void set(int destIndex, double[] src, int srcIndex, int length);
+
+    /**
+     * Copies a portion of the list into the {@code dest} array.
+     * @param srcIndex starting position in the list
+     * @param dest destination array
+     * @param destIndex starting position in destination array
+     * @param length length of portion to copy
+     * @throws IndexOutOfBoundsException if the portion is outside the list
+     * @throws ArrayIndexOutOfBoundsException if the portion does not fit
+     * into {@code dest}
+     */
+    public void copyTo(int srcIndex, double[] dest, int destIndex, int length);
+
+    /**
+     * Returns the content of the list as a newly allocated {@code double[]}.
+     * @return an array containing all elements of the list
+     */
+    public double[] toDoubleArray();
+
+    /**
+     * Grows the capacity of the list, if necessary, to hold at least
+     * {@code capacity} elements without reallocating.
+     * @param capacity the minimum capacity
+     */
+    public void ensureCapacity(int capacity);
+
+    /**
+     * Shrinks the capacity of the list to its current size.
+     */
+    public void trimToSize();
+}
@@ -32,10 +32,15 @@ import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
 import java.util.ListIterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.function.Predicate;
+import java.util.stream.IntStream;
 import javafx.beans.NamedArg;
+import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.ObjectPropertyBase;
+import javafx.beans.property.SimpleBooleanProperty;
 import javafx.collections.ListChangeListener.Change;
 import javafx.collections.ObservableList;
 
@@ -55,6 +60,29 @@ public final class FilteredList<E> extends TransformationList<E, E>{
     private SortHelper helper;
     private static final Predicate ALWAYS_TRUE = t -> true;
 
+    /**
+     * Minimal source size for which a parallel refilter is worth the overhead.
+     */
+    private static final int PARALLEL_THRESHOLD = 8192;
+
+    /**
+     * Counts source changes, used to detect that the result of an
+     * asynchronous refilter is stale.
+     */
+    private int sourceVersion;
+
+    /**
+     * Counts refilters, used to detect that the result of an asynchronous
+     * refilter was superseded by a later predicate change.
+     */
+    private int refilterVersion;
+
+    /**
+     * The result of an asynchronous refilter that is to be used by the next
+     * {@link #refilter()} instead of evaluating the predicate.
+     */
+    private int[] precomputed;
+
     /**
      * Constructs a new FilteredList wrapper around the source list.
      * The provided predicate will match the elements in the source list that will be visible.
@@ -125,6 +153,104 @@ public final class FilteredList<E> extends TransformationList<E, E>{
         predicateProperty().set(predicate);
     }
 
+    /**
+     * Whether the predicate may be evaluated concurrently on several threads
+     * when the whole source list is filtered again, i.e. when the predicate
+     * changes. This is only allowed if the predicate is thread-safe and has no
+     * side effects. The elements themselves are only read on the thread that
+     * changes the predicate.
+     * <p>
+     * Small source lists are always filtered sequentially.
+     * @defaultValue false
+     * @since JavaFX 8u202
+     */
+    private BooleanProperty parallel;
+
+    public final BooleanProperty parallelProperty() {
+        if (parallel == null) {
+            parallel = new SimpleBooleanProperty(this, "parallel");
+        }
+        return parallel;
+    }
+
+    public final boolean isParallel() {
+        return parallel != null && parallel.get();
+    }
+
+    public final void setParallel(boolean value) {
+        parallelProperty().set(value);
+    }
+
+    /**
+     * Sets a new predicate, evaluating it over the source list on a background
+     * thread. The source elements are copied on the calling thread, then the
+     * predicate is evaluated in the common {@code ForkJoinPool} (in parallel if
+     * {@link #parallelProperty() parallel} is set), so the predicate must be
+     * thread-safe. Finally the predicate is set and the new content is applied
+     * as one change by a task submitted to {@code executor}, which must run it
+     * on the thread that owns this list, e.g. {@code Platform::runLater}.
+     * <p>
+     * If the source list changes in the meantime, the predicate is evaluated
+     * again on the executor thread. If the predicate is changed again before
+     * the result is applied, the result is discarded and the returned future
+     * is cancelled.
+     * @param predicate the predicate to set or null to match all elements
+     * @param executor the executor that applies the result
+     * @return a future that completes once the predicate has been set
+     * @throws NullPointerException if {@code executor} is null
+     * @since JavaFX 8u202
+     */
+    public final CompletableFuture<Void> setPredicateAsync(Predicate<? super E> predicate, Executor executor) {
+        if (executor == null) {
+            throw new NullPointerException();
+        }
+        final Object[] elements = getSource().toArray();
+        final Predicate<? super E> pred = predicate != null ? predicate : alwaysTrue();
+        final boolean parallel = isParallel();
+        final int version = ++refilterVersion;
+        final int source = sourceVersion;
+        final CompletableFuture<Void> result = new CompletableFuture<>();
+        CompletableFuture.supplyAsync(() -> filter(elements, pred, parallel))
+                .whenComplete((indexes, ex) -> executor.execute(() -> {
+            if (ex != null) {
+                result.completeExceptionally(ex);
+            } else if (version != refilterVersion) {
+                result.cancel(false);
+            } else {
+                if (source == sourceVersion) {
+                    precomputed = indexes;
+                }
+                try {
+                    if (getPredicate() == predicate) {
+                        refilter();
+                    } else {
+                        setPredicate(predicate);
+                    }
+                    result.complete(null);
+                } catch (RuntimeException e) {
+                    result.completeExceptionally(e);
+                } finally {
+                    precomputed = null;
+                }
+            }
+        }));
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <E> int[] filter(Object[] elements, Predicate<? super E> pred, boolean parallel) {
+        IntStream indexes = IntStream.range(0, elements.length);
+        if (parallel && elements.length >= PARALLEL_THRESHOLD) {
+            indexes = indexes.parallel();
+        }
+        return indexes.filter(i -> pred.test((E) elements[i])).toArray();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <E> Predicate<E> alwaysTrue() {
+        return ALWAYS_TRUE;
+    }
+
     private Predicate<? super E> getPredicateImpl() {
         if (getPredicate() != null) {
             return getPredicate();
@@ -134,6 +260,7 @@ public final class FilteredList<E> extends TransformationList<E, E>{
 
     @Override
     protected void sourceChanged(Change<? extends E> c) {
+        ++sourceVersion;
         beginChange();
         while (c.next()) {
             if (c.wasPermutated()) {
@@ -319,15 +446,26 @@ public final class FilteredList<E> extends TransformationList<E, E>{
         if (hasListeners()) {
             removed = new ArrayList<>(this);
         }
-        size = 0;
-        int i = 0;
+        ++refilterVersion;
+        // always query the predicate, so that the property becomes valid again
         Predicate<? super E> pred = getPredicateImpl();
-        for (Iterator<? extends E> it = getSource().iterator();it.hasNext(); ) {
-            final E next = it.next();
-            if (pred.test(next)) {
-                filtered[size++] = i;
+        if (precomputed != null) {
+            filtered = precomputed;
+            size = precomputed.length;
+            precomputed = null;
+        } else if (isParallel() && getSource().size() >= PARALLEL_THRESHOLD) {
+            filtered = filter(getSource().toArray(), pred, true);
+            size = filtered.length;
+        } else {
+            size = 0;
+            int i = 0;
+            for (Iterator<? extends E> it = getSource().iterator();it.hasNext(); ) {
+                final E next = it.next();
+                if (pred.test(next)) {
+                    filtered[size++] = i;
+                }
+                ++i;
             }
-            ++i;
         }
         if (hasListeners()) {
             fireChange(new GenericAddRemoveChange<>(0, size, removed, this));
@@ -31,6 +31,7 @@ import com.sun.javafx.collections.SourceAdapterChange;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Comparator;
 import java.util.List;
 
@@ -62,6 +63,13 @@ public final class SortedList<E> extends TransformationList<E, E>{
 
     private final Element<E> tempElement = new Element<>(null, -1);
 
+    /**
+     * Positions (in the sorted array) of the elements reported as updated by the
+     * source change being processed. Consecutive update sub-changes are collected
+     * here and the elements are repositioned at once by {@link #updateAll()}.
+     */
+    private final BitSet updated = new BitSet();
+
 
     /**
      * Creates a new SortedList wrapped around the source list.
@@ -100,14 +108,18 @@ public final class SortedList<E> extends TransformationList<E, E>{
         if (elementComparator != null) {
             beginChange();
             while (c.next()) {
+                if (c.wasUpdated()) {
+                    update(c);
+                    continue;
+                }
+                updateAll();
                 if (c.wasPermutated()) {
                     updatePermutationIndexes(c);
-                } else if (c.wasUpdated()) {
-                    update(c);
                 } else {
                     addRemove(c);
                 }
             }
+            updateAll();
             endChange();
         } else {
             updateUnsorted(c);
@@ -269,6 +281,11 @@ public final class SortedList<E> extends TransformationList<E, E>{
         }
     }
 
+    @SuppressWarnings("unchecked")
+    private static <E> Element<E>[] newElementArray(int length) {
+        return (Element<E>[]) new Element<?>[length];
+    }
+
     private static class Element<E> {
 
         public Element(E e, int index) {
@@ -375,13 +392,67 @@ public final class SortedList<E> extends TransformationList<E, E>{
     }
 
     private void update(Change<? extends E> c) {
-        int[] perm = helper.sort(sorted, 0, size, elementComparator);
-        for (int i = 0; i < size; i++) {
-            this.perm[sorted[i].index] = i;
-        }
-        nextPermutation(0, size, perm);
         for (int i = c.getFrom(), to = c.getTo(); i < to; ++i) {
-            nextUpdate(this.perm[i]);
+            updated.set(perm[i]);
+        }
+    }
+
+    /**
+     * Repositions the elements collected by {@link #update(Change)}.
+     * The elements that were not updated stay sorted, so only the updated ones
+     * need to be sorted and then merged back into them. The result is the same
+     * as a stable sort of the whole list, but takes O(n + k log k) time for
+     * k updated elements. Fires a single permutation for all moved elements.
+     */
+    private void updateAll() {
+        final int k = updated.cardinality();
+        if (k == 0) {
+            return;
+        }
+        final Element<E>[] moved = newElementArray(k);
+        int kept = 0;
+        int m = 0;
+        for (int i = 0; i < size; ++i) {
+            if (updated.get(i)) {
+                moved[m++] = sorted[i];
+            } else {
+                sorted[kept++] = sorted[i];
+            }
+        }
+        updated.clear();
+        Arrays.sort(moved, elementComparator);
+
+        // merge from the back; on ties the element with the greater original
+        // position goes last, as it would with a stable sort
+        final int[] permutation = new int[size];
+        boolean changed = false;
+        int i = kept - 1;
+        m = k - 1;
+        for (int w = size - 1; w >= 0; --w) {
+            final Element<E> e;
+            if (i < 0) {
+                e = moved[m--];
+            } else if (m < 0) {
+                e = sorted[i--];
+            } else {
+                final int cmp = elementComparator.compare(sorted[i], moved[m]);
+                if (cmp > 0 || cmp == 0 && perm[sorted[i].index] > perm[moved[m].index]) {
+                    e = sorted[i--];
+                } else {
+                    e = moved[m--];
+                }
+            }
+            final int oldPos = perm[e.index];
+            permutation[oldPos] = w;
+            changed |= oldPos != w;
+            perm[e.index] = w;
+            sorted[w] = e;
+        }
+        if (changed) {
+            nextPermutation(0, size, permutation);
+        }
+        for (Element<E> e : moved) {
+            nextUpdate(perm[e.index]);
         }
     }
 
@@ -396,10 +467,47 @@ public final class SortedList<E> extends TransformationList<E, E>{
         if (size == 0) {
             setAllToMapping(c.getList(), c.getTo()); // This is basically equivalent to getAddedSubList
                                                      // as size is 0, only valid "from" is also 0
-        } else {
-            for (int i = c.getFrom(), to = c.getTo(); i < to; ++i) {
-                insertToMapping(c.getList().get(i), i);
+        } else if (c.getAddedSize() == 1) {
+            insertToMapping(c.getList().get(c.getFrom()), c.getFrom());
+        } else if (c.wasAdded()) {
+            insertAllToMapping(c.getList(), c.getFrom(), c.getTo());
+        }
+    }
+
+    /**
+     * Inserts the source elements from {@code from} to {@code to} with a single
+     * merge instead of a binary insertion per element, which would take
+     * O(n) time for each of them.
+     */
+    private void insertAllToMapping(List<? extends E> list, int from, int to) {
+        final int k = to - from;
+        final Element<E>[] added = newElementArray(k);
+        for (int i = from; i < to; ++i) {
+            added[i - from] = new Element<E>(list.get(i), i);
+        }
+        Arrays.sort(added, elementComparator);
+        for (int i = 0; i < size; ++i) {
+            if (sorted[i].index >= from) {
+                sorted[i].index += k;
+            }
+        }
+        ensureSize(size + k);
+
+        final int[] positions = new int[k];
+        int i = size - 1;
+        int m = k - 1;
+        size += k;
+        for (int w = size - 1; w >= 0; --w) {
+            if (m < 0 || i >= 0 && elementComparator.compare(sorted[i], added[m]) > 0) {
+                sorted[w] = sorted[i--];
+            } else {
+                sorted[w] = added[m];
+                positions[m--] = w;
             }
+            perm[sorted[w].index] = w;
+        }
+        for (int pos : positions) {
+            nextAdd(pos, pos + 1);
         }
     }
 
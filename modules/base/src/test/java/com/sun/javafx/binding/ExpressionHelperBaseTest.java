@@ -164,5 +164,20 @@ public class ExpressionHelperBaseTest {
         assertArrayEquals(new Object[] {null, null, null}, array);
     }
 
+    @Test
+    public void testRemovedElements() {
+        Object[] array = new Object[] {null, listener, null, listener2, null};
+        assertEquals(2, ExpressionHelperBase.trim(5, array));
+        assertArrayEquals(new Object[] {listener, listener2, null, null, null}, array);
+
+        array = new Object[] {listener, null, gcedWeakListener, validWeakListener, null};
+        assertEquals(2, ExpressionHelperBase.trim(4, array));
+        assertArrayEquals(new Object[] {listener, validWeakListener, null, null, null}, array);
+
+        array = new Object[] {null, null};
+        assertEquals(0, ExpressionHelperBase.trim(2, array));
+        assertArrayEquals(new Object[] {null, null}, array);
+    }
+
 
 }
@@ -42,6 +42,7 @@ import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 public class ExpressionHelperTest {
@@ -643,4 +644,99 @@ public class ExpressionHelperTest {
         assertEquals(4, called.get());
     }
 
+    @Test
+    public void testRemoveChangeWhileLocked_NotNotifiedAnymore() {
+        final ChangeListener<Object> removingListener = (o, oldValue, newValue) ->
+                helper = ExpressionHelper.removeListener(helper, changeListener[1]);
+        helper = ExpressionHelper.addListener(helper, observable, changeListener[0]);
+        helper = ExpressionHelper.addListener(helper, observable, removingListener);
+        helper = ExpressionHelper.addListener(helper, observable, changeListener[1]);
+        helper = ExpressionHelper.addListener(helper, observable, changeListener[2]);
+
+        observable.set(DATA_2);
+        ExpressionHelper.fireValueChangedEvent(helper);
+        changeListener[0].check(observable, DATA_1, DATA_2, 1);
+        changeListener[1].check(null, UNDEFINED, UNDEFINED, 0);
+        changeListener[2].check(observable, DATA_1, DATA_2, 1);
+
+        // the hole left by the removal is compacted after the notification
+        observable.set(DATA_1);
+        ExpressionHelper.fireValueChangedEvent(helper);
+        changeListener[0].check(observable, DATA_2, DATA_1, 1);
+        changeListener[1].check(null, UNDEFINED, UNDEFINED, 0);
+        changeListener[2].check(observable, DATA_2, DATA_1, 1);
+    }
+
+    @Test
+    public void testAddAndRemoveInvalidationWhileLocked_Nested() {
+        final InvalidationListener nestedListener = new InvalidationListener() {
+            boolean nested;
+            @Override public void invalidated(Observable o) {
+                if (!nested) {
+                    nested = true;
+                    ExpressionHelper.fireValueChangedEvent(helper);
+                    helper = ExpressionHelper.removeListener(helper, invalidationListener[0]);
+                    helper = ExpressionHelper.addListener(helper, observable, invalidationListener[2]);
+                }
+            }
+        };
+        helper = ExpressionHelper.addListener(helper, observable, nestedListener);
+        helper = ExpressionHelper.addListener(helper, observable, invalidationListener[0]);
+        helper = ExpressionHelper.addListener(helper, observable, invalidationListener[1]);
+
+        ExpressionHelper.fireValueChangedEvent(helper);
+        invalidationListener[0].check(observable, 1);
+        invalidationListener[1].check(observable, 2);
+        invalidationListener[2].check(null, 0);
+
+        ExpressionHelper.fireValueChangedEvent(helper);
+        invalidationListener[0].check(null, 0);
+        invalidationListener[1].check(observable, 1);
+        invalidationListener[2].check(observable, 1);
+    }
+
+    @Test
+    public void testRemoveInvalidationWhileLocked_AfterGrowing() {
+        final InvalidationListener growingListener = o -> {
+            // the third add grows the array that is being notified
+            helper = ExpressionHelper.addListener(helper, observable, invalidationListener[2]);
+            helper = ExpressionHelper.addListener(helper, observable, invalidationListener[3]);
+            helper = ExpressionHelper.removeListener(helper, invalidationListener[1]);
+        };
+        helper = ExpressionHelper.addListener(helper, observable, growingListener);
+        helper = ExpressionHelper.addListener(helper, observable, invalidationListener[0]);
+        helper = ExpressionHelper.addListener(helper, observable, invalidationListener[1]);
+
+        ExpressionHelper.fireValueChangedEvent(helper);
+        invalidationListener[0].check(observable, 1);
+        invalidationListener[1].check(null, 0);
+        invalidationListener[2].check(null, 0);
+        invalidationListener[3].check(null, 0);
+    }
+
+    @Test
+    public void testCollapseAfterRemoveWhileLocked() {
+        final InvalidationListener removingListener = new InvalidationListener() {
+            @Override public void invalidated(Observable o) {
+                helper = ExpressionHelper.removeListener(helper, this);
+                helper = ExpressionHelper.removeListener(helper, changeListener[0]);
+            }
+        };
+        helper = ExpressionHelper.addListener(helper, observable, removingListener);
+        helper = ExpressionHelper.addListener(helper, observable, changeListener[0]);
+
+        observable.set(DATA_2);
+        ExpressionHelper.fireValueChangedEvent(helper);
+        changeListener[0].check(null, UNDEFINED, UNDEFINED, 0);
+
+        // the emptied helper is replaced on the next add
+        helper = ExpressionHelper.addListener(helper, observable, invalidationListener[0]);
+        assertEquals(ExpressionHelper.addListener(null, observable, invalidationListener[1]).getClass(), helper.getClass());
+        ExpressionHelper.fireValueChangedEvent(helper);
+        invalidationListener[0].check(observable, 1);
+
+        helper = ExpressionHelper.removeListener(helper, invalidationListener[0]);
+        assertNull(helper);
+    }
+
 }
@@ -47,6 +47,9 @@ import org.junit.Test;
 
 import java.util.Arrays;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
 public class ListExpressionHelperTest {
 
     private static final ObservableList<Object> UNDEFINED = FXCollections.observableArrayList();
@@ -899,4 +902,133 @@ public class ListExpressionHelperTest {
 
 
     }
+
+    private int[] changeCount;
+    private ChangeListener<ObservableList<Object>>[] countingChangeListener;
+    private int[] listChangeCount;
+    private ListChangeListener<Object>[] countingListChangeListener;
+
+    @SuppressWarnings("unchecked")
+    private void createCountingListeners() {
+        changeCount = new int[3];
+        countingChangeListener = new ChangeListener[3];
+        listChangeCount = new int[3];
+        countingListChangeListener = new ListChangeListener[3];
+        for (int i = 0; i < 3; i++) {
+            final int index = i;
+            countingChangeListener[i] = (o, oldValue, newValue) -> changeCount[index]++;
+            countingListChangeListener[i] = c -> listChangeCount[index]++;
+        }
+    }
+
+    /**
+     * Replaces the value with a list of one new element, so that change
+     * listeners are notified once and list change listeners get one change.
+     */
+    private void fireNewValue() {
+        observable.set(FXCollections.observableArrayList(new Object()));
+        ListExpressionHelper.fireValueChangedEvent(helper);
+    }
+
+    @Test
+    public void testRemoveFromThree() {
+        createCountingListeners();
+        for (int i = 0; i < 3; i++) {
+            helper = ListExpressionHelper.addListener(helper, observable, invalidationListener[i]);
+            helper = ListExpressionHelper.addListener(helper, observable, countingChangeListener[i]);
+            helper = ListExpressionHelper.addListener(helper, observable, countingListChangeListener[i]);
+        }
+        helper = ListExpressionHelper.removeListener(helper, invalidationListener[0]);
+        helper = ListExpressionHelper.removeListener(helper, countingChangeListener[0]);
+        helper = ListExpressionHelper.removeListener(helper, countingListChangeListener[0]);
+
+        fireNewValue();
+        invalidationListener[0].check(null, 0);
+        invalidationListener[1].check(observable, 1);
+        invalidationListener[2].check(observable, 1);
+        assertEquals(0, changeCount[0]);
+        assertEquals(1, changeCount[1]);
+        assertEquals(1, changeCount[2]);
+        assertEquals(0, listChangeCount[0]);
+        assertEquals(1, listChangeCount[1]);
+        assertEquals(1, listChangeCount[2]);
+    }
+
+    @Test
+    public void testRemoveInvalidationWhileLocked_AfterGrowing() {
+        final InvalidationListener growingListener = o -> {
+            // the third add grows the array that is being notified
+            helper = ListExpressionHelper.addListener(helper, observable, invalidationListener[2]);
+            helper = ListExpressionHelper.addListener(helper, observable, invalidationListener[3]);
+            helper = ListExpressionHelper.removeListener(helper, invalidationListener[1]);
+        };
+        helper = ListExpressionHelper.addListener(helper, observable, growingListener);
+        helper = ListExpressionHelper.addListener(helper, observable, invalidationListener[0]);
+        helper = ListExpressionHelper.addListener(helper, observable, invalidationListener[1]);
+
+        ListExpressionHelper.fireValueChangedEvent(helper);
+        invalidationListener[0].check(observable, 1);
+        invalidationListener[1].check(null, 0);
+        invalidationListener[2].check(null, 0);
+        invalidationListener[3].check(null, 0);
+    }
+
+    @Test
+    public void testRemoveWhileLocked_WithNullSlots() {
+        createCountingListeners();
+        final InvalidationListener removingListener = o -> {
+            helper = ListExpressionHelper.removeListener(helper, countingChangeListener[0]);
+            helper = ListExpressionHelper.removeListener(helper, countingListChangeListener[0]);
+            // removing again while the slots are holes must not remove others
+            helper = ListExpressionHelper.removeListener(helper, countingChangeListener[0]);
+            helper = ListExpressionHelper.removeListener(helper, countingListChangeListener[0]);
+        };
+        helper = ListExpressionHelper.addListener(helper, observable, removingListener);
+        for (int i = 0; i < 3; i++) {
+            helper = ListExpressionHelper.addListener(helper, observable, countingChangeListener[i]);
+            helper = ListExpressionHelper.addListener(helper, observable, countingListChangeListener[i]);
+        }
+
+        fireNewValue();
+        helper = ListExpressionHelper.removeListener(helper, removingListener);
+        fireNewValue();
+        assertEquals(0, changeCount[0]);
+        assertEquals(2, changeCount[1]);
+        assertEquals(2, changeCount[2]);
+        assertEquals(0, listChangeCount[0]);
+        assertEquals(2, listChangeCount[1]);
+        assertEquals(2, listChangeCount[2]);
+
+        helper = ListExpressionHelper.removeListener(helper, countingChangeListener[1]);
+        helper = ListExpressionHelper.removeListener(helper, countingChangeListener[2]);
+        helper = ListExpressionHelper.removeListener(helper, countingListChangeListener[1]);
+        assertEquals(ListExpressionHelper.addListener(null, observable, countingListChangeListener[0]).getClass(), helper.getClass());
+        helper = ListExpressionHelper.removeListener(helper, countingListChangeListener[2]);
+        assertNull(helper);
+    }
+
+    @Test
+    public void testCollapseAfterRemoveWhileLocked() {
+        createCountingListeners();
+        final InvalidationListener removingListener = new InvalidationListener() {
+            @Override public void invalidated(Observable o) {
+                helper = ListExpressionHelper.removeListener(helper, this);
+                helper = ListExpressionHelper.removeListener(helper, countingChangeListener[0]);
+            }
+        };
+        helper = ListExpressionHelper.addListener(helper, observable, removingListener);
+        helper = ListExpressionHelper.addListener(helper, observable, countingChangeListener[0]);
+
+        fireNewValue();
+        assertEquals(0, changeCount[0]);
+
+        // the emptied helper is replaced on the next add
+        helper = ListExpressionHelper.addListener(helper, observable, invalidationListener[0]);
+        assertEquals(ListExpressionHelper.addListener(null, observable, invalidationListener[1]).getClass(), helper.getClass());
+        ListExpressionHelper.fireValueChangedEvent(helper);
+        invalidationListener[0].check(observable, 1);
+
+        helper = ListExpressionHelper.removeListener(helper, invalidationListener[0]);
+        assertNull(helper);
+    }
 }
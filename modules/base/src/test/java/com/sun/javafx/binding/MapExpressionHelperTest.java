@@ -0,0 +1,184 @@
+/*
+ * Copyright (c) 2018, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.javafx.binding;
+
+import javafx.beans.InvalidationListener;
+import javafx.beans.InvalidationListenerMock;
+import javafx.beans.Observable;
+import javafx.beans.property.MapProperty;
+import javafx.beans.property.SimpleMapProperty;
+import javafx.beans.value.ChangeListener;
+import javafx.collections.FXCollections;
+import javafx.collections.MapChangeListener;
+import javafx.collections.ObservableMap;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class MapExpressionHelperTest {
+
+    private MapExpressionHelper<Object, Object> helper;
+    private MapProperty<Object, Object> observable;
+
+    private InvalidationListenerMock[] invalidationListener;
+    private int[] changeCount;
+    private ChangeListener<ObservableMap<Object, Object>>[] changeListener;
+    private int[] mapChangeCount;
+    private MapChangeListener<Object, Object>[] mapChangeListener;
+
+    @SuppressWarnings("unchecked")
+    @Before
+    public void setUp() {
+        helper = null;
+        observable = new SimpleMapProperty<Object, Object>(FXCollections.observableHashMap());
+
+        invalidationListener = new InvalidationListenerMock[] {
+                new InvalidationListenerMock(), new InvalidationListenerMock(), new InvalidationListenerMock(), new InvalidationListenerMock()
+        };
+        changeCount = new int[3];
+        changeListener = new ChangeListener[3];
+        mapChangeCount = new int[3];
+        mapChangeListener = new MapChangeListener[3];
+        for (int i = 0; i < 3; i++) {
+            final int index = i;
+            changeListener[i] = (o, oldValue, newValue) -> changeCount[index]++;
+            mapChangeListener[i] = c -> mapChangeCount[index]++;
+        }
+    }
+
+    /**
+     * Replaces the value with a map of one new entry, so that change
+     * listeners are notified once and map change listeners get one change.
+     */
+    private void fireNewValue() {
+        final ObservableMap<Object, Object> map = FXCollections.observableHashMap();
+        map.put(new Object(), new Object());
+        observable.set(map);
+        MapExpressionHelper.fireValueChangedEvent(helper);
+    }
+
+    @Test
+    public void testRemoveFromThree() {
+        for (int i = 0; i < 3; i++) {
+            helper = MapExpressionHelper.addListener(helper, observable, invalidationListener[i]);
+            helper = MapExpressionHelper.addListener(helper, observable, changeListener[i]);
+            helper = MapExpressionHelper.addListener(helper, observable, mapChangeListener[i]);
+        }
+        helper = MapExpressionHelper.removeListener(helper, invalidationListener[0]);
+        helper = MapExpressionHelper.removeListener(helper, changeListener[0]);
+        helper = MapExpressionHelper.removeListener(helper, mapChangeListener[0]);
+
+        fireNewValue();
+        invalidationListener[0].check(null, 0);
+        invalidationListener[1].check(observable, 1);
+        invalidationListener[2].check(observable, 1);
+        assertEquals(0, changeCount[0]);
+        assertEquals(1, changeCount[1]);
+        assertEquals(1, changeCount[2]);
+        assertEquals(0, mapChangeCount[0]);
+        assertEquals(1, mapChangeCount[1]);
+        assertEquals(1, mapChangeCount[2]);
+    }
+
+    @Test
+    public void testRemoveInvalidationWhileLocked_AfterGrowing() {
+        final InvalidationListener growingListener = o -> {
+            // the third add grows the array that is being notified
+            helper = MapExpressionHelper.addListener(helper, observable, invalidationListener[2]);
+            helper = MapExpressionHelper.addListener(helper, observable, invalidationListener[3]);
+            helper = MapExpressionHelper.removeListener(helper, invalidationListener[1]);
+        };
+        helper = MapExpressionHelper.addListener(helper, observable, growingListener);
+        helper = MapExpressionHelper.addListener(helper, observable, invalidationListener[0]);
+        helper = MapExpressionHelper.addListener(helper, observable, invalidationListener[1]);
+
+        MapExpressionHelper.fireValueChangedEvent(helper);
+        invalidationListener[0].check(observable, 1);
+        invalidationListener[1].check(null, 0);
+        invalidationListener[2].check(null, 0);
+        invalidationListener[3].check(null, 0);
+    }
+
+    @Test
+    public void testRemoveWhileLocked_WithNullSlots() {
+        final InvalidationListener removingListener = o -> {
+            helper = MapExpressionHelper.removeListener(helper, changeListener[0]);
+            helper = MapExpressionHelper.removeListener(helper, mapChangeListener[0]);
+            // removing again while the slots are holes must not remove others
+            helper = MapExpressionHelper.removeListener(helper, changeListener[0]);
+            helper = MapExpressionHelper.removeListener(helper, mapChangeListener[0]);
+        };
+        helper = MapExpressionHelper.addListener(helper, observable, removingListener);
+        for (int i = 0; i < 3; i++) {
+            helper = MapExpressionHelper.addListener(helper, observable, changeListener[i]);
+            helper = MapExpressionHelper.addListener(helper, observable, mapChangeListener[i]);
+        }
+
+        fireNewValue();
+        helper = MapExpressionHelper.removeListener(helper, removingListener);
+        fireNewValue();
+        assertEquals(0, changeCount[0]);
+        assertEquals(2, changeCount[1]);
+        assertEquals(2, changeCount[2]);
+        // the second value removes the first entry and adds a new one
+        assertEquals(0, mapChangeCount[0]);
+        assertEquals(3, mapChangeCount[1]);
+        assertEquals(3, mapChangeCount[2]);
+
+        helper = MapExpressionHelper.removeListener(helper, changeListener[1]);
+        helper = MapExpressionHelper.removeListener(helper, changeListener[2]);
+        helper = MapExpressionHelper.removeListener(helper, mapChangeListener[1]);
+        assertEquals(MapExpressionHelper.addListener(null, observable, mapChangeListener[0]).getClass(), helper.getClass());
+        helper = MapExpressionHelper.removeListener(helper, mapChangeListener[2]);
+        assertNull(helper);
+    }
+
+    @Test
+    public void testCollapseAfterRemoveWhileLocked() {
+        final InvalidationListener removingListener = new InvalidationListener() {
+            @Override public void invalidated(Observable o) {
+                helper = MapExpressionHelper.removeListener(helper, this);
+                helper = MapExpressionHelper.removeListener(helper, changeListener[0]);
+            }
+        };
+        helper = MapExpressionHelper.addListener(helper, observable, removingListener);
+        helper = MapExpressionHelper.addListener(helper, observable, changeListener[0]);
+
+        fireNewValue();
+        assertEquals(0, changeCount[0]);
+
+        // the emptied helper is replaced on the next add
+        helper = MapExpressionHelper.addListener(helper, observable, invalidationListener[0]);
+        assertEquals(MapExpressionHelper.addListener(null, observable, invalidationListener[1]).getClass(), helper.getClass());
+        MapExpressionHelper.fireValueChangedEvent(helper);
+        invalidationListener[0].check(observable, 1);
+
+        helper = MapExpressionHelper.removeListener(helper, invalidationListener[0]);
+        assertNull(helper);
+    }
+}
@@ -127,6 +127,26 @@ public class SelectBindingTest {
         dependencies = select.getDependencies();
     }
 
+    @Test
+    public void testStepClassChanges() {
+        final Person person = new Person();
+        person.setName("person");
+        assertEquals("c", select.get());
+        b.setNext(person);
+        assertEquals("person", select.get());
+        person.setName("renamed");
+        assertEquals("renamed", select.get());
+        b.setNext(d);
+        assertEquals("d", select.get());
+
+        // a second binding on the same classes reuses the resolved steps
+        final StringBinding other = Bindings.selectString(a.nextProperty(), "next", "name");
+        assertEquals("d", other.get());
+        b.setNext(person);
+        assertEquals("renamed", other.get());
+        assertEquals("renamed", select.get());
+    }
+
     @Test
     public void testObject() {
         final Person person1 = new Person();
@@ -0,0 +1,182 @@
+/*
+ * Copyright (c) 2018, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.javafx.binding;
+
+import javafx.beans.InvalidationListener;
+import javafx.beans.InvalidationListenerMock;
+import javafx.beans.Observable;
+import javafx.beans.property.SetProperty;
+import javafx.beans.property.SimpleSetProperty;
+import javafx.beans.value.ChangeListener;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableSet;
+import javafx.collections.SetChangeListener;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class SetExpressionHelperTest {
+
+    private SetExpressionHelper<Object> helper;
+    private SetProperty<Object> observable;
+
+    private InvalidationListenerMock[] invalidationListener;
+    private int[] changeCount;
+    private ChangeListener<ObservableSet<Object>>[] changeListener;
+    private int[] setChangeCount;
+    private SetChangeListener<Object>[] setChangeListener;
+
+    @SuppressWarnings("unchecked")
+    @Before
+    public void setUp() {
+        helper = null;
+        observable = new SimpleSetProperty<Object>(FXCollections.observableSet());
+
+        invalidationListener = new InvalidationListenerMock[] {
+                new InvalidationListenerMock(), new InvalidationListenerMock(), new InvalidationListenerMock(), new InvalidationListenerMock()
+        };
+        changeCount = new int[3];
+        changeListener = new ChangeListener[3];
+        setChangeCount = new int[3];
+        setChangeListener = new SetChangeListener[3];
+        for (int i = 0; i < 3; i++) {
+            final int index = i;
+            changeListener[i] = (o, oldValue, newValue) -> changeCount[index]++;
+            setChangeListener[i] = c -> setChangeCount[index]++;
+        }
+    }
+
+    /**
+     * Replaces the value with a set of one new element, so that change
+     * listeners are notified once and set change listeners get one change.
+     */
+    private void fireNewValue() {
+        observable.set(FXCollections.observableSet(new Object()));
+        SetExpressionHelper.fireValueChangedEvent(helper);
+    }
+
+    @Test
+    public void testRemoveFromThree() {
+        for (int i = 0; i < 3; i++) {
+            helper = SetExpressionHelper.addListener(helper, observable, invalidationListener[i]);
+            helper = SetExpressionHelper.addListener(helper, observable, changeListener[i]);
+            helper = SetExpressionHelper.addListener(helper, observable, setChangeListener[i]);
+        }
+        helper = SetExpressionHelper.removeListener(helper, invalidationListener[0]);
+        helper = SetExpressionHelper.removeListener(helper, changeListener[0]);
+        helper = SetExpressionHelper.removeListener(helper, setChangeListener[0]);
+
+        fireNewValue();
+        invalidationListener[0].check(null, 0);
+        invalidationListener[1].check(observable, 1);
+        invalidationListener[2].check(observable, 1);
+        assertEquals(0, changeCount[0]);
+        assertEquals(1, changeCount[1]);
+        assertEquals(1, changeCount[2]);
+        assertEquals(0, setChangeCount[0]);
+        assertEquals(1, setChangeCount[1]);
+        assertEquals(1, setChangeCount[2]);
+    }
+
+    @Test
+    public void testRemoveInvalidationWhileLocked_AfterGrowing() {
+        final InvalidationListener growingListener = o -> {
+            // the third add grows the array that is being notified
+            helper = SetExpressionHelper.addListener(helper, observable, invalidationListener[2]);
+            helper = SetExpressionHelper.addListener(helper, observable, invalidationListener[3]);
+            helper = SetExpressionHelper.removeListener(helper, invalidationListener[1]);
+        };
+        helper = SetExpressionHelper.addListener(helper, observable, growingListener);
+        helper = SetExpressionHelper.addListener(helper, observable, invalidationListener[0]);
+        helper = SetExpressionHelper.addListener(helper, observable, invalidationListener[1]);
+
+        SetExpressionHelper.fireValueChangedEvent(helper);
+        invalidationListener[0].check(observable, 1);
+        invalidationListener[1].check(null, 0);
+        invalidationListener[2].check(null, 0);
+        invalidationListener[3].check(null, 0);
+    }
+
+    @Test
+    public void testRemoveWhileLocked_WithNullSlots() {
+        final InvalidationListener removingListener = o -> {
+            helper = SetExpressionHelper.removeListener(helper, changeListener[0]);
+            helper = SetExpressionHelper.removeListener(helper, setChangeListener[0]);
+            // removing again while the slots are holes must not remove others
+            helper = SetExpressionHelper.removeListener(helper, changeListener[0]);
+            helper = SetExpressionHelper.removeListener(helper, setChangeListener[0]);
+        };
+        helper = SetExpressionHelper.addListener(helper, observable, removingListener);
+        for (int i = 0; i < 3; i++) {
+            helper = SetExpressionHelper.addListener(helper, observable, changeListener[i]);
+            helper = SetExpressionHelper.addListener(helper, observable, setChangeListener[i]);
+        }
+
+        fireNewValue();
+        helper = SetExpressionHelper.removeListener(helper, removingListener);
+        fireNewValue();
+        assertEquals(0, changeCount[0]);
+        assertEquals(2, changeCount[1]);
+        assertEquals(2, changeCount[2]);
+        // the second value removes the first element and adds a new one
+        assertEquals(0, setChangeCount[0]);
+        assertEquals(3, setChangeCount[1]);
+        assertEquals(3, setChangeCount[2]);
+
+        helper = SetExpressionHelper.removeListener(helper, changeListener[1]);
+        helper = SetExpressionHelper.removeListener(helper, changeListener[2]);
+        helper = SetExpressionHelper.removeListener(helper, setChangeListener[1]);
+        assertEquals(SetExpressionHelper.addListener(null, observable, setChangeListener[0]).getClass(), helper.getClass());
+        helper = SetExpressionHelper.removeListener(helper, setChangeListener[2]);
+        assertNull(helper);
+    }
+
+    @Test
+    public void testCollapseAfterRemoveWhileLocked() {
+        final InvalidationListener removingListener = new InvalidationListener() {
+            @Override public void invalidated(Observable o) {
+                helper = SetExpressionHelper.removeListener(helper, this);
+                helper = SetExpressionHelper.removeListener(helper, changeListener[0]);
+            }
+        };
+        helper = SetExpressionHelper.addListener(helper, observable, removingListener);
+        helper = SetExpressionHelper.addListener(helper, observable, changeListener[0]);
+
+        fireNewValue();
+        assertEquals(0, changeCount[0]);
+
+        // the emptied helper is replaced on the next add
+        helper = SetExpressionHelper.addListener(helper, observable, invalidationListener[0]);
+        assertEquals(SetExpressionHelper.addListener(null, observable, invalidationListener[1]).getClass(), helper.getClass());
+        SetExpressionHelper.fireValueChangedEvent(helper);
+        invalidationListener[0].check(observable, 1);
+
+        helper = SetExpressionHelper.removeListener(helper, invalidationListener[0]);
+        assertNull(helper);
+    }
+}
@@ -32,6 +32,8 @@ import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.fail;
 
 /**
@@ -217,6 +219,67 @@ public class JavaBeanPropertyBuilderHelperTest {
         descriptor.getSetter().invoke(new POJOBean2(x), new Object());
     }
 
+    @Test
+    public void testDescriptorIsShared() throws NoSuchMethodException {
+        final JavaBeanPropertyBuilderHelper helper = new JavaBeanPropertyBuilderHelper();
+        helper.beanClass(POJOBean.class);
+        helper.name("x");
+        assertSame(helperPOJOBean.getDescriptor(), helper.getDescriptor());
+
+        helper.beanClass(POJOBean2.class);
+        assertNotSame(helperPOJOBean.getDescriptor(), helper.getDescriptor());
+
+        final JavaBeanPropertyBuilderHelper helperWithNonStandardNames = new JavaBeanPropertyBuilderHelper();
+        helperWithNonStandardNames.beanClass(POJOBeanWithNonStandardNames.class);
+        helperWithNonStandardNames.name("x");
+        helperWithNonStandardNames.getterName("readX");
+        helperWithNonStandardNames.setterName("writeX");
+        assertSame(helperPOJOBeanWithNonStandardNames.getDescriptor(), helperWithNonStandardNames.getDescriptor());
+    }
+
+    @Test
+    public void testInvokeGetterAndSetter() throws NoSuchMethodException, InvocationTargetException, IllegalAccessException {
+        final Object x = new Object();
+        final Object y = new Object();
+        final POJOBean bean = new POJOBean(x);
+
+        final PropertyDescriptor descriptor = helperPOJOBean.getDescriptor();
+        assertEquals(x, descriptor.invokeGetter(bean));
+        descriptor.invokeSetter(bean, y);
+        assertEquals(y, bean.getX());
+    }
+
+    @Test
+    public void testInvokeGetterAndSetter_NonPublicBean() throws NoSuchMethodException, InvocationTargetException, IllegalAccessException {
+        final Object x = new Object();
+        final Object y = new Object();
+        final NonPublicPOJOBean bean = new NonPublicPOJOBean(x);
+
+        final JavaBeanPropertyBuilderHelper helper = new JavaBeanPropertyBuilderHelper();
+        helper.beanClass(NonPublicPOJOBean.class);
+        helper.name("x");
+        final PropertyDescriptor descriptor = helper.getDescriptor();
+        descriptor.getGetter().setAccessible(true);
+        descriptor.getSetter().setAccessible(true);
+        assertEquals(x, descriptor.invokeGetter(bean));
+        descriptor.invokeSetter(bean, y);
+        assertEquals(y, bean.getX());
+    }
+
+    @Test
+    public void testInvokeSetter_Exception() throws NoSuchMethodException, IllegalAccessException {
+        final RuntimeException exception = new RuntimeException();
+        final JavaBeanPropertyBuilderHelper helper = new JavaBeanPropertyBuilderHelper();
+        helper.beanClass(ThrowingPOJOBean.class);
+        helper.name("x");
+        try {
+            helper.getDescriptor().invokeSetter(new ThrowingPOJOBean(exception), new Object());
+            fail("InvocationTargetException expected");
+        } catch (InvocationTargetException e) {
+            assertSame(exception, e.getCause());
+        }
+    }
+
     public static class POJOBean {
         private Object x;
 
@@ -245,4 +308,22 @@ public class JavaBeanPropertyBuilderHelperTest {
         public void writeX(Object x) {this.x = x;}
     }
 
+    public static class ThrowingPOJOBean {
+        private final RuntimeException exception;
+
+        public ThrowingPOJOBean(RuntimeException exception) {this.exception = exception;}
+
+        public Object getX() {return null;}
+        public void setX(Object x) {throw exception;}
+    }
+
+    static class NonPublicPOJOBean {
+        private Object x;
+
+        NonPublicPOJOBean(Object x) {this.x = x;}
+
+        public Object getX() {return x;}
+        public void setX(Object x) {this.x = x;}
+    }
+
 }
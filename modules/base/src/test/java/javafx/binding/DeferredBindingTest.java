@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2018, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package javafx.binding;
+
+import com.sun.javafx.binding.DeferredBindings;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import javafx.beans.binding.DoubleBinding;
+import javafx.beans.binding.StringBinding;
+import javafx.beans.property.DoubleProperty;
+import javafx.beans.property.SimpleDoubleProperty;
+import javafx.beans.property.SimpleStringProperty;
+import javafx.beans.property.StringProperty;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class DeferredBindingTest {
+
+    private int pulseRequests;
+    private DoubleProperty a;
+    private DoubleBinding b;
+    private DoubleBinding c;
+    private DoubleBinding d;
+    private int dComputed;
+    private List<Number> dChanges;
+
+    @Before
+    public void setUp() {
+        DeferredBindings.setPulseRequest(() -> pulseRequests++);
+        a = new SimpleDoubleProperty(1);
+        b = a.multiply(2);
+        c = a.add(3);
+        d = new DoubleBinding() {
+            {
+                bind(b, c);
+            }
+
+            @Override
+            protected double computeValue() {
+                dComputed++;
+                return b.get() + c.get();
+            }
+        };
+        d.setDeferred(true);
+        dChanges = new ArrayList<>();
+        d.addListener((o, oldValue, newValue) -> dChanges.add(newValue));
+        dComputed = 0;
+    }
+
+    @After
+    public void tearDown() {
+        DeferredBindings.flush();
+        DeferredBindings.setPulseRequest(null);
+    }
+
+    @Test
+    public void testDiamondComputedOncePerPulse() {
+        assertTrue(d.isDeferred());
+        a.set(2);
+        a.set(3);
+        assertFalse(d.isValid());
+        assertEquals(0, dComputed);
+        assertTrue(dChanges.isEmpty());
+        assertEquals(1, pulseRequests);
+
+        DeferredBindings.flush();
+        assertEquals(1, dComputed);
+        assertEquals(Arrays.asList(12.0), dChanges);
+    }
+
+    @Test
+    public void testInvalidationListenersAreNotDeferred() {
+        final int[] invalidated = new int[1];
+        d.addListener(o -> invalidated[0]++);
+        a.set(2);
+        assertEquals(1, invalidated[0]);
+        assertTrue(dChanges.isEmpty());
+    }
+
+    @Test
+    public void testNoChangeNotificationIfValueRestored() {
+        a.set(2);
+        a.set(1);
+        DeferredBindings.flush();
+        assertEquals(1, dComputed);
+        assertTrue(dChanges.isEmpty());
+    }
+
+    @Test
+    public void testNotificationScheduledDuringFlush() {
+        final StringProperty text = new SimpleStringProperty("x");
+        final StringBinding upper = new StringBinding() {
+            {
+                bind(text);
+            }
+
+            @Override
+            protected String computeValue() {
+                return text.get().toUpperCase();
+            }
+        };
+        upper.setDeferred(true);
+        final List<String> upperChanges = new ArrayList<>();
+        upper.addListener((o, oldValue, newValue) -> upperChanges.add(newValue));
+        d.addListener((o, oldValue, newValue) -> text.set("y" + newValue.intValue()));
+
+        a.set(2);
+        DeferredBindings.flush();
+        assertEquals(Arrays.asList(9.0), dChanges);
+        assertEquals(Arrays.asList("Y9"), upperChanges);
+    }
+
+    @Test
+    public void testImmediateWithoutPulse() {
+        DeferredBindings.setPulseRequest(null);
+        a.set(2);
+        // d is computed once for every changed dependency, the first time
+        // with the old value of c
+        assertEquals(2, dComputed);
+        assertEquals(Arrays.asList(8.0, 9.0), dChanges);
+    }
+
+    @Test
+    public void testNotDeferred() {
+        d.setDeferred(false);
+        assertFalse(d.isDeferred());
+        a.set(2);
+        a.set(3);
+        assertEquals(4, dComputed);
+        assertEquals(Arrays.asList(8.0, 9.0, 11.0, 12.0), dChanges);
+        assertEquals(0, pulseRequests);
+    }
+}
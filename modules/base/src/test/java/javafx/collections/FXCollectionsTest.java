@@ -665,6 +665,120 @@ public class FXCollectionsTest {
         assertEquals(5, set.size());
     }
 
+    @Test
+    public void batchListTest() {
+        final ObservableList<String> seq = FXCollections.observableArrayList("a", "b", "c");
+        final MockListObserver<String> observer = new MockListObserver<String>();
+        final int[] invalidated = new int[1];
+        seq.addListener(observer);
+        seq.addListener((InvalidationListener) o -> invalidated[0]++);
+
+        FXCollections.batch(seq, () -> {
+            seq.add("d");
+            seq.remove(0);
+            seq.add(0, "x");
+            FXCollections.batch(seq, () -> seq.add("e"));
+            observer.check0();
+        });
+
+        assertEquals(Arrays.asList("x", "b", "c", "d", "e"), seq);
+        assertEquals(1, invalidated[0]);
+        observer.checkAddRemove(0, seq, Collections.singletonList("a"), 0, 1);
+        observer.checkAddRemove(1, seq, null, 3, 5);
+        observer.clear();
+
+        FXCollections.batch(seq, () -> {
+            seq.add("f");
+            seq.remove("f");
+        });
+        observer.check0();
+        assertEquals(1, invalidated[0]);
+    }
+
+    @Test
+    public void batchListExceptionTest() {
+        final ObservableList<String> seq = FXCollections.observableArrayList("a");
+        final MockListObserver<String> observer = new MockListObserver<String>();
+        seq.addListener(observer);
+        try {
+            FXCollections.batch(seq, () -> {
+                seq.add("b");
+                throw new IllegalStateException();
+            });
+            fail();
+        } catch (IllegalStateException e) {
+        }
+        observer.check1AddRemove(seq, null, 1, 2);
+        observer.clear();
+        seq.add("c");
+        observer.check1AddRemove(seq, null, 2, 3);
+    }
+
+    @Test
+    public void batchWrappedListTest() {
+        final ObservableList<String> backing = FXCollections.observableArrayList("a");
+        final ObservableList<String> seq = FXCollections.synchronizedObservableList(
+                FXCollections.checkedObservableList(backing, String.class));
+        final MockListObserver<String> observer = new MockListObserver<String>();
+        seq.addListener(observer);
+        FXCollections.batch(seq, () -> {
+            seq.add("b");
+            seq.add("c");
+        });
+        observer.check1AddRemove(seq, null, 1, 3);
+    }
+
+    @Test
+    public void batchMapTest() {
+        final ObservableMap<String, String> map = FXCollections.observableHashMap();
+        map.put("k1", "v1");
+        map.put("k2", "v2");
+        map.put("k3", "v3");
+        final MockMapObserver<String, String> observer = new MockMapObserver<String, String>();
+        final int[] invalidated = new int[1];
+        map.addListener(observer);
+        map.addListener((InvalidationListener) o -> invalidated[0]++);
+
+        FXCollections.batch(map, () -> {
+            map.put("k1", "x");
+            map.put("k1", "y");
+            map.remove("k2");
+            map.put("k3", "x");
+            map.put("k3", "v3");
+            map.put("k4", "v4");
+            map.put("k5", "v5");
+            map.remove("k5");
+            observer.check0();
+        });
+
+        assertEquals(1, invalidated[0]);
+        observer.assertMultipleCalls(MockMapObserver.Call.call("k1", "v1", "y"),
+                MockMapObserver.Call.call("k2", "v2", null),
+                MockMapObserver.Call.call("k4", null, "v4"));
+
+        observer.clear();
+        FXCollections.batch(map, () -> map.put("k1", "y"));
+        observer.check0();
+        assertEquals(1, invalidated[0]);
+
+        map.put("k1", "z");
+        assertEquals(2, invalidated[0]);
+        observer.assertAdded(MockMapObserver.Tuple.tup("k1", "z"));
+    }
+
+    @Test
+    public void batchWrappedMapTest() {
+        final ObservableMap<String, String> map = FXCollections.synchronizedObservableMap(
+                FXCollections.checkedObservableMap(FXCollections.observableHashMap(), String.class, String.class));
+        final MockMapObserver<String, String> observer = new MockMapObserver<String, String>();
+        map.addListener(observer);
+        FXCollections.batch(map, () -> {
+            map.put("k1", "v1");
+            map.put("k1", "v2");
+        });
+        observer.assertMultipleCalls(MockMapObserver.Call.call("k1", null, "v2"));
+    }
+
     private static class NonSortableObservableList extends AbstractList<String> implements ObservableList<String> {
 
         private List<String> backingList = new ArrayList<String>();
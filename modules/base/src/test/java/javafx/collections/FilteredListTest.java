@@ -29,6 +29,9 @@ import com.sun.javafx.collections.ObservableListWrapper;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.function.Predicate;
 import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.SimpleObjectProperty;
@@ -243,4 +246,67 @@ public class FilteredListTest {
         assertEquals(list.size(), filteredList.size());
         assertEquals(list, filteredList);
     }
+
+    @Test
+    public void testParallelRefilter() {
+        ObservableList<Integer> source = FXCollections.observableArrayList();
+        for (int i = 0; i < 50000; i++) {
+            source.add(i);
+        }
+        FilteredList<Integer> sequential = new FilteredList<>(source);
+        FilteredList<Integer> parallel = new FilteredList<>(source);
+        parallel.setParallel(true);
+        MockListObserver<Integer> observer = new MockListObserver<>();
+        parallel.addListener(observer);
+
+        sequential.setPredicate(i -> i % 7 == 3);
+        parallel.setPredicate(i -> i % 7 == 3);
+        assertEquals(sequential, parallel);
+        observer.check1AddRemove(parallel, source, 0, sequential.size());
+
+        source.add(50004);
+        assertEquals(sequential, parallel);
+        assertEquals(Integer.valueOf(50004), parallel.get(parallel.size() - 1));
+    }
+
+    @Test
+    public void testSetPredicateAsync() throws Exception {
+        final BlockingQueue<Runnable> fxQueue = new LinkedBlockingQueue<>();
+        CompletableFuture<Void> future = filteredList.setPredicateAsync(e -> !e.equals("a"), fxQueue::add);
+        assertEquals(Arrays.asList("a", "d"), filteredList);
+
+        fxQueue.take().run();
+        assertTrue(future.isDone());
+        assertEquals(Arrays.asList("c", "d", "c"), filteredList);
+        mlo.check1AddRemove(filteredList, Arrays.asList("a", "d"), 0, 3);
+    }
+
+    @Test
+    public void testSetPredicateAsync_SourceChanged() throws Exception {
+        final BlockingQueue<Runnable> fxQueue = new LinkedBlockingQueue<>();
+        CompletableFuture<Void> future = filteredList.setPredicateAsync(e -> !e.equals("a"), fxQueue::add);
+        list.add(0, "e");
+
+        fxQueue.take().run();
+        assertTrue(future.isDone());
+        assertEquals(Arrays.asList("e", "c", "d", "c"), filteredList);
+    }
+
+    @Test
+    public void testSetPredicateAsync_Superseded() throws Exception {
+        final BlockingQueue<Runnable> fxQueue = new LinkedBlockingQueue<>();
+        CompletableFuture<Void> first = filteredList.setPredicateAsync(e -> !e.equals("a"), fxQueue::add);
+        CompletableFuture<Void> second = filteredList.setPredicateAsync(e -> e.equals("c"), fxQueue::add);
+        fxQueue.take().run();
+        fxQueue.take().run();
+        assertTrue(first.isCancelled());
+        assertTrue(second.isDone() && !second.isCancelled());
+        assertEquals(Arrays.asList("c", "c"), filteredList);
+
+        CompletableFuture<Void> third = filteredList.setPredicateAsync(null, fxQueue::add);
+        filteredList.setPredicate(e -> e.equals("d"));
+        fxQueue.take().run();
+        assertTrue(third.isCancelled());
+        assertEquals(Arrays.asList("d"), filteredList);
+    }
 }
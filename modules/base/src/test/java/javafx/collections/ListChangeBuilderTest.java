@@ -72,6 +72,37 @@ public class ListChangeBuilderTest {
         observer.checkAddRemove(1, observableList, Arrays.asList("c", "d"), 3, 4);
     }
 
+    @Test
+    public void testRemoveRuns() {
+        builder.beginChange();
+        list.remove(0);
+        builder.nextRemove(0, Arrays.asList("a"));
+        list.subList(1, 3).clear();
+        builder.nextRemove(1, Arrays.asList("c"));
+        builder.nextRemove(1, Arrays.asList("d"));
+        builder.endChange();
+
+        assertEquals(list, Arrays.asList("b"));
+
+        assertEquals(2, observer.calls.size());
+        observer.checkAddRemove(0, observableList, Arrays.asList("a"), 0, 0);
+        observer.checkAddRemove(1, observableList, Arrays.asList("c", "d"), 1, 1);
+    }
+
+    @Test
+    public void testAddAndRemoveRun() {
+        builder.beginChange();
+        list.add(0, "aa");
+        builder.nextAdd(0, 1);
+        list.subList(1, 3).clear();
+        builder.nextRemove(1, Arrays.asList("a", "b"));
+        builder.endChange();
+
+        assertEquals(list, Arrays.asList("aa", "c", "d"));
+
+        observer.check1AddRemove(observableList, Arrays.asList("a", "b"), 0, 1);
+    }
+
     @Test
     public void testAddRemove_2() {
         builder.beginChange();
@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2018, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package javafx.collections;
+
+import java.util.Arrays;
+import java.util.Collections;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class ObservableDoubleListTest {
+
+    private ObservableDoubleList list;
+    private MockListObserver<Double> observer;
+
+    @Before
+    public void setUp() {
+        list = FXCollections.observableDoubleList(0.0, 0.5, 1.0);
+        observer = new MockListObserver<>();
+        list.addListener(observer);
+    }
+
+    @Test
+    public void testInitialContent() {
+        assertEquals(Arrays.asList(0.0, 0.5, 1.0), list);
+        assertEquals(0.5, list.getDouble(1), 0.0);
+        assertArrayEquals(new double[] {0.0, 0.5, 1.0}, list.toDoubleArray(), 0.0);
+    }
+
+    @Test
+    public void testAddDouble() {
+        list.addDouble(1.5);
+        observer.check1AddRemove(list, null, 3, 4);
+        assertEquals(Arrays.asList(0.0, 0.5, 1.0, 1.5), list);
+    }
+
+    @Test
+    public void testSetDouble() {
+        assertEquals(0.5, list.setDouble(1, 5.0), 0.0);
+        observer.check1AddRemove(list, Collections.singletonList(0.5), 1, 2);
+        assertEquals(Arrays.asList(0.0, 5.0, 1.0), list);
+    }
+
+    @Test
+    public void testAddAll() {
+        list.addAll(new double[] {2.0, 3.0});
+        observer.check1AddRemove(list, null, 3, 5);
+        assertEquals(Arrays.asList(0.0, 0.5, 1.0, 2.0, 3.0), list);
+    }
+
+    @Test
+    public void testAddAll_Index() {
+        list.addAll(0, new double[] {-1.0});
+        observer.check1AddRemove(list, null, 0, 1);
+        assertEquals(Arrays.asList(-1.0, 0.0, 0.5, 1.0), list);
+    }
+
+    @Test
+    public void testSetAll() {
+        list.setAll(new double[] {7.0, 8.0, 9.0, 10.0}, 1, 2);
+        observer.check1AddRemove(list, Arrays.asList(0.0, 0.5, 1.0), 0, 2);
+        assertEquals(Arrays.asList(8.0, 9.0), list);
+    }
+
+    @Test
+    public void testBulkChangesWithoutListeners() {
+        list.removeListener(observer);
+        list.remove(0, 1);
+        list.set(0, new double[] {2.0}, 0, 1);
+        list.setAll(new double[] {3.0, 4.0});
+        assertEquals(Arrays.asList(3.0, 4.0), list);
+        list.addListener(observer);
+        list.set(1, new double[] {5.0}, 0, 1);
+        observer.check1AddRemove(list, Arrays.asList(4.0), 1, 2);
+        assertEquals(Arrays.asList(3.0, 5.0), list);
+    }
+
+    @Test
+    public void testSetRange() {
+        list.set(0, new double[] {4.0, 5.0}, 0, 2);
+        observer.check1AddRemove(list, Arrays.asList(0.0, 0.5), 0, 2);
+        assertEquals(Arrays.asList(4.0, 5.0, 1.0), list);
+    }
+
+    @Test
+    public void testRemoveRange() {
+        list.remove(0, 2);
+        observer.check1AddRemove(list, Arrays.asList(0.0, 0.5), 0, 0);
+        assertEquals(Collections.singletonList(1.0), list);
+    }
+
+    @Test
+    public void testIndexOf_EqualsSemantics() {
+        list.setAll(new double[] {-0.0, Double.NaN, 0.0});
+        assertEquals(1, list.indexOf(Double.NaN));
+        assertEquals(0, list.indexOf(-0.0));
+        assertEquals(2, list.indexOf(0.0));
+        assertEquals(2, list.lastIndexOf(0.0));
+        assertEquals(-1, list.indexOf(0));
+    }
+}
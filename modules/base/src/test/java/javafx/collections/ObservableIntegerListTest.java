@@ -0,0 +1,221 @@
+/*
+ * Copyright (c) 2018, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package javafx.collections;
+
+import java.util.Arrays;
+import java.util.Collections;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class ObservableIntegerListTest {
+
+    private ObservableIntegerList list;
+    private MockListObserver<Integer> observer;
+
+    @Before
+    public void setUp() {
+        list = FXCollections.observableIntegerList(0, 1, 2, 3);
+        observer = new MockListObserver<>();
+        list.addListener(observer);
+    }
+
+    @Test
+    public void testInitialContent() {
+        assertEquals(Arrays.asList(0, 1, 2, 3), list);
+        assertEquals(4, list.size());
+        assertEquals(2, list.getInt(2));
+        assertArrayEquals(new int[] {0, 1, 2, 3}, list.toIntArray());
+        assertTrue(FXCollections.observableIntegerList().isEmpty());
+    }
+
+    @Test
+    public void testAddInt() {
+        list.addInt(4);
+        observer.check1AddRemove(list, null, 4, 5);
+        assertEquals(Arrays.asList(0, 1, 2, 3, 4), list);
+    }
+
+    @Test
+    public void testSetInt() {
+        assertEquals(2, list.setInt(2, 20));
+        observer.check1AddRemove(list, Collections.singletonList(2), 2, 3);
+        assertEquals(Arrays.asList(0, 1, 20, 3), list);
+    }
+
+    @Test
+    public void testAddAll() {
+        list.addAll(new int[] {4, 5, 6});
+        observer.check1AddRemove(list, null, 4, 7);
+        assertEquals(Arrays.asList(0, 1, 2, 3, 4, 5, 6), list);
+    }
+
+    @Test
+    public void testAddAll_Range() {
+        list.addAll(new int[] {4, 5, 6, 7}, 1, 2);
+        observer.check1AddRemove(list, null, 4, 6);
+        assertEquals(Arrays.asList(0, 1, 2, 3, 5, 6), list);
+    }
+
+    @Test
+    public void testAddAll_Index() {
+        list.addAll(1, new int[] {10, 11});
+        observer.check1AddRemove(list, null, 1, 3);
+        assertEquals(Arrays.asList(0, 10, 11, 1, 2, 3), list);
+    }
+
+    @Test
+    public void testAddAll_Empty() {
+        list.addAll(new int[0]);
+        observer.check0();
+    }
+
+    @Test
+    public void testAddAll_GrowsCapacity() {
+        final int[] data = new int[1000];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = i;
+        }
+        list.addAll(data);
+        list.addAll(data);
+        assertEquals(2004, list.size());
+        assertEquals(999, list.getInt(2003));
+    }
+
+    @Test(expected = ArrayIndexOutOfBoundsException.class)
+    public void testAddAll_IllegalRange() {
+        list.addAll(new int[] {4, 5}, 1, 2);
+    }
+
+    @Test
+    public void testSetAll() {
+        list.setAll(new int[] {7, 8});
+        observer.check1AddRemove(list, Arrays.asList(0, 1, 2, 3), 0, 2);
+        assertEquals(Arrays.asList(7, 8), list);
+    }
+
+    @Test
+    public void testSetAll_Larger() {
+        list.setAll(new int[] {7, 8, 9, 10, 11, 12});
+        observer.check1AddRemove(list, Arrays.asList(0, 1, 2, 3), 0, 6);
+        assertEquals(Arrays.asList(7, 8, 9, 10, 11, 12), list);
+    }
+
+    @Test
+    public void testSetAll_Empty() {
+        list.setAll(new int[0]);
+        observer.check1AddRemove(list, Arrays.asList(0, 1, 2, 3), 0, 0);
+        assertTrue(list.isEmpty());
+    }
+
+    @Test
+    public void testSetRange() {
+        list.set(1, new int[] {10, 11, 12}, 1, 2);
+        observer.check1AddRemove(list, Arrays.asList(1, 2), 1, 3);
+        assertEquals(Arrays.asList(0, 11, 12, 3), list);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testSetRange_OutOfList() {
+        list.set(3, new int[] {10, 11}, 0, 2);
+    }
+
+    @Test
+    public void testRemoveRange() {
+        list.remove(1, 3);
+        observer.check1AddRemove(list, Arrays.asList(1, 2), 1, 1);
+        assertEquals(Arrays.asList(0, 3), list);
+    }
+
+    @Test
+    public void testClear() {
+        list.clear();
+        observer.check1AddRemove(list, Arrays.asList(0, 1, 2, 3), 0, 0);
+        assertTrue(list.isEmpty());
+    }
+
+    @Test
+    public void testBulkChangesWithoutListeners() {
+        list.removeListener(observer);
+        list.remove(1, 3);
+        list.set(0, new int[] {5, 6}, 0, 2);
+        list.setAll(new int[] {7, 8, 9});
+        assertEquals(Arrays.asList(7, 8, 9), list);
+        list.addListener(observer);
+        list.remove(0, 2);
+        observer.check1AddRemove(list, Arrays.asList(7, 8), 0, 0);
+        assertEquals(Arrays.asList(9), list);
+    }
+
+    @Test
+    public void testBoxedOperations() {
+        list.add(1, 10);
+        observer.check1AddRemove(list, null, 1, 2);
+        observer.clear();
+        assertEquals(Integer.valueOf(10), list.remove(1));
+        observer.check1AddRemove(list, Collections.singletonList(10), 1, 1);
+        observer.clear();
+        assertTrue(list.remove(Integer.valueOf(3)));
+        observer.check1AddRemove(list, Collections.singletonList(3), 3, 3);
+        observer.clear();
+        list.setAll(5, 6);
+        observer.check1AddRemove(list, Arrays.asList(0, 1, 2), 0, 2);
+        assertEquals(Arrays.asList(5, 6), list);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testAddNull() {
+        list.add(null);
+    }
+
+    @Test
+    public void testIndexOf() {
+        list.addInt(2);
+        assertEquals(2, list.indexOf(2));
+        assertEquals(4, list.lastIndexOf(2));
+        assertEquals(-1, list.indexOf(42));
+        assertEquals(-1, list.indexOf("2"));
+        assertTrue(list.contains(3));
+        assertFalse(list.contains(null));
+    }
+
+    @Test
+    public void testCopyTo() {
+        final int[] dest = new int[4];
+        list.copyTo(1, dest, 2, 2);
+        assertArrayEquals(new int[] {0, 0, 1, 2}, dest);
+    }
+
+    @Test
+    public void testTrimToSize() {
+        list.ensureCapacity(100);
+        list.trimToSize();
+        assertEquals(Arrays.asList(0, 1, 2, 3), list);
+        list.addInt(4);
+        assertEquals(5, list.size());
+    }
+}
@@ -28,6 +28,7 @@ package javafx.collections;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
@@ -229,6 +230,34 @@ public class ObservableListTest  {
         mlo.checkAddRemove(0, list, Arrays.asList("c", "d", "c"), 1, 1);
     }
 
+    @Test
+    public void testRemoveAll_Scattered() {
+        final List<String> data = new ArrayList<String>();
+        final List<String> toRemove = new ArrayList<String>();
+        for (int i = 0; i < 100; ++i) {
+            data.add(Integer.toString(i));
+            if (i % 10 == 3 || i % 10 == 4) {
+                toRemove.add(Integer.toString(i));
+            }
+        }
+        useListData(data.toArray(new String[0]));
+        assertTrue(list.removeAll(toRemove));
+        assertEquals(80, list.size());
+        assertEquals(10, mlo.calls.size());
+        for (int k = 0; k < 10; ++k) {
+            mlo.checkAddRemove(k, list, Arrays.asList(Integer.toString(k * 10 + 3), Integer.toString(k * 10 + 4)),
+                    k * 8 + 3, k * 8 + 3);
+        }
+    }
+
+    @Test
+    public void testRemoveRange() {
+        useListData("one", "two", "three", "four", "five");
+        list.remove(1, 3);
+        mlo.check1AddRemove(list, Arrays.asList("two", "three"), 1, 1);
+        assertEquals(Arrays.asList("one", "four", "five"), list);
+    }
+
     @Test
     public void testRetainAll() {
         useListData("one", "two", "three", "four", "five");
@@ -600,4 +600,75 @@ public class SortedListTest {
         mockListObserver.check1Permutation(sortedList, new int[] {0, 3, 2, 1});
         compareIndices();
     }
+
+    @Test
+    public void testMutableElementsInOneChange() {
+        ObservableList<Person> list = createPersonsList();
+        SortedList<Person> sorted = list.sorted();
+        MockListObserver<Person> listener = new MockListObserver<>();
+        sorted.addListener(listener);
+        FXCollections.batch(list, () -> {
+            list.get(3).name.set("zero"); // four -> zero
+            list.get(0).name.set("eight"); // one -> eight
+            list.get(2).name.set("tree"); // three -> tree, does not move
+        });
+        ObservableList<Person> expected = FXCollections.observableArrayList(
+                new Person("eight"), new Person("five"), new Person("tree"),
+                new Person("two"), new Person("zero"));
+        assertEquals(expected, sorted);
+        listener.checkPermutation(0, expected, 0, expected.size(), new int[] {1, 4, 0, 2, 3});
+        listener.checkUpdate(1, expected, 0, 1);
+        listener.checkUpdate(2, expected, 2, 3);
+        listener.checkUpdate(3, expected, 4, 5);
+        compareIndices(sorted);
+    }
+
+    @Test
+    public void testMutableElementNotMoved() {
+        ObservableList<Person> list = createPersonsList();
+        SortedList<Person> sorted = list.sorted();
+        MockListObserver<Person> listener = new MockListObserver<>();
+        sorted.addListener(listener);
+        list.get(1).name.set("twenty"); // two -> twenty
+        ObservableList<Person> expected = FXCollections.observableArrayList(
+                new Person("five"), new Person("four"), new Person("one"),
+                new Person("three"), new Person("twenty"));
+        assertEquals(expected, sorted);
+        listener.check1Update(expected, 4, 5);
+        compareIndices(sorted);
+    }
+
+    @Test
+    public void testMutableElementsStable() {
+        ObservableList<Person> list = FXCollections.observableArrayList(
+                (Person p) -> new Observable[] {p.name});
+        for (int i = 0; i < 20; i++) {
+            list.add(new Person(Integer.toString(i % 4)));
+        }
+        SortedList<Person> sorted = list.sorted();
+        List<Person> expected = new ArrayList<>(sorted);
+        FXCollections.batch(list, () -> {
+            for (int i = 0; i < list.size(); i += 3) {
+                list.get(i).name.set(Integer.toString((i + 1) % 4));
+            }
+        });
+        Collections.sort(expected); // stable sort of the previous order
+        for (int i = 0; i < expected.size(); i++) {
+            assertSame(expected.get(i), sorted.get(i));
+        }
+        compareIndices(sorted);
+    }
+
+    @Test
+    public void testAddAllMerge() {
+        list.addAll(1, Arrays.asList("e", "b", "c", "a"));
+        assertEquals(Arrays.asList("a", "a", "b", "c", "c", "c", "d", "e"), sortedList);
+        compareIndices();
+        mockListObserver.clear();
+        list.addAll("f", "0");
+        assertEquals(Arrays.asList("0", "a", "a", "b", "c", "c", "c", "d", "e", "f"), sortedList);
+        mockListObserver.checkAddRemove(0, sortedList, Collections.<String>emptyList(), 0, 1);
+        mockListObserver.checkAddRemove(1, sortedList, Collections.<String>emptyList(), 9, 10);
+        compareIndices();
+    }
 }
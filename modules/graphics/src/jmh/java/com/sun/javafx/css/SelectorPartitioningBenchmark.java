@@ -0,0 +1,204 @@
+/*
+ * Copyright (c) 2018, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.javafx.css;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import com.sun.javafx.css.parser.CSSParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures {@link SelectorPartitioning#match} for a stylesheet with many
+ * style class rules, against a reference of the scan it did before the style
+ * class slots were indexed.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SelectorPartitioningBenchmark {
+
+    private static final String[] TYPES = { "Button", "Label", "Region", "StackPane" };
+
+    @Param({"indexed", "scan"})
+    public String matcher;
+
+    @Param({"100", "1000", "6000"})
+    public int ruleCount;
+
+    private SelectorPartitioning partitioning;
+    private ScanPartitioning scanPartitioning;
+    private String[] nodeTypes;
+    private StyleClassSet[] nodeStyleClasses;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // a theme-like stylesheet: most rules key on one or two style classes,
+        // some are qualified by a type or an ancestor
+        final Random random = new Random(0);
+        final int nStyleClasses = Math.max(10, ruleCount / 3);
+        final StringBuilder css = new StringBuilder();
+        for (int n = 0; n < ruleCount; n++) {
+            final int a = random.nextInt(nStyleClasses);
+            final int b = random.nextInt(nStyleClasses);
+            switch (n % 4) {
+                case 0: css.append(".c").append(a); break;
+                case 1: css.append(".c").append(a).append(".c").append(b); break;
+                case 2: css.append(TYPES[n % TYPES.length]).append(".c").append(a); break;
+                default: css.append(".c").append(b).append(" .c").append(a); break;
+            }
+            css.append(":hover { -fx-opacity: 0.5; }\n");
+        }
+
+        partitioning = new SelectorPartitioning();
+        scanPartitioning = new ScanPartitioning();
+        final Stylesheet stylesheet = new CSSParser().parse(css.toString());
+        for (Rule rule : stylesheet.getRules()) {
+            for (Selector selector : rule.getUnobservedSelectorList()) {
+                if ("scan".equals(matcher)) {
+                    scanPartitioning.partition(selector);
+                } else {
+                    partitioning.partition(selector);
+                }
+            }
+        }
+
+        nodeTypes = new String[100];
+        nodeStyleClasses = new StyleClassSet[nodeTypes.length];
+        for (int n = 0; n < nodeTypes.length; n++) {
+            nodeTypes[n] = TYPES[random.nextInt(TYPES.length)];
+            final List<String> styleClasses = new ArrayList<>();
+            for (int c = 0, cMax = 1 + random.nextInt(3); c < cMax; c++) {
+                styleClasses.add("c" + random.nextInt(nStyleClasses));
+            }
+            nodeStyleClasses[n] = new StyleClassSet(styleClasses);
+        }
+    }
+
+    @Benchmark
+    public void match(Blackhole bh) {
+        if ("scan".equals(matcher)) {
+            for (int n = 0; n < nodeTypes.length; n++) {
+                bh.consume(scanPartitioning.match(nodeTypes[n], nodeStyleClasses[n]));
+            }
+        } else {
+            for (int n = 0; n < nodeTypes.length; n++) {
+                bh.consume(partitioning.match(null, nodeTypes[n], nodeStyleClasses[n]));
+            }
+        }
+    }
+
+    /**
+     * The type and style class part of SelectorPartitioning as it was before
+     * the style class slots were indexed: matching a node tests every style
+     * class slot of the node's type, and of '*', with containsAll. Selectors
+     * with an id are not generated by this benchmark and are left out.
+     */
+    private static final class ScanPartitioning {
+
+        private static final class Slot {
+            private final Set<StyleClass> styleClasses;
+            private final List<Selector> selectors = new ArrayList<Selector>();
+
+            private Slot(Set<StyleClass> styleClasses) {
+                this.styleClasses = styleClasses;
+            }
+        }
+
+        private static final class Partition {
+            private final Map<Set<StyleClass>, Slot> slots = new HashMap<Set<StyleClass>, Slot>();
+            private final List<Selector> selectors = new ArrayList<Selector>();
+        }
+
+        private final Map<String, Partition> typeMap = new HashMap<String, Partition>();
+
+        private void partition(Selector selector) {
+            final SimpleSelector simpleSelector;
+            if (selector instanceof CompoundSelector) {
+                final List<SimpleSelector> selectors = ((CompoundSelector)selector).getSelectors();
+                simpleSelector = selectors.get(selectors.size()-1);
+            } else {
+                simpleSelector = (SimpleSelector)selector;
+            }
+
+            Partition partition = typeMap.get(simpleSelector.getName());
+            if (partition == null) {
+                partition = new Partition();
+                typeMap.put(simpleSelector.getName(), partition);
+            }
+
+            final Set<StyleClass> styleClasses = simpleSelector.getStyleClassSet();
+            if (styleClasses == null || styleClasses.isEmpty()) {
+                partition.selectors.add(selector);
+                return;
+            }
+            Slot slot = partition.slots.get(styleClasses);
+            if (slot == null) {
+                slot = new Slot(styleClasses);
+                partition.slots.put(styleClasses, slot);
+            }
+            slot.selectors.add(selector);
+        }
+
+        private List<Selector> match(String type, Set<StyleClass> styleClasses) {
+            final List<Selector> selectors = new ArrayList<Selector>();
+            // A.b also matches *.b
+            String typeKey = type;
+            do {
+                final Partition partition = typeMap.get(typeKey);
+                if (partition != null) {
+                    selectors.addAll(partition.selectors);
+                    for (Slot s : partition.slots.values()) {
+                        if (styleClasses.containsAll(s.styleClasses)) {
+                            selectors.addAll(s.selectors);
+                        }
+                    }
+                }
+                typeKey = "*".equals(typeKey) == false ? "*" : null;
+            } while (typeKey != null);
+            return selectors;
+        }
+    }
+}
@@ -0,0 +1,205 @@
+/*
+ * Copyright (c) 2018, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.prism.impl.shape;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+import com.sun.javafx.geom.Ellipse2D;
+import com.sun.javafx.geom.Path2D;
+import com.sun.javafx.geom.RectBounds;
+import com.sun.javafx.geom.Rectangle;
+import com.sun.javafx.geom.RoundRectangle2D;
+import com.sun.javafx.geom.Shape;
+import com.sun.javafx.geom.transform.BaseTransform;
+import com.sun.openpisces.AlphaConsumer;
+import com.sun.openpisces.Renderer;
+import com.sun.prism.BasicStroke;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the mask generation of the Java rasterizer, accumulating whole
+ * rows or only the touched spans, against the native rasterizer for the
+ * kinds of shapes drawn by the GraphicsPerformance apps: rotated rectangles,
+ * button backgrounds and borders, and circles. The native rasterizer needs
+ * the prism_common native library, which "gradle :graphics:jmh" builds and
+ * puts on the java.library.path.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ShapeRasterizerBenchmark {
+
+    @Param({"java-row", "java-span", "native"})
+    public String rasterizer;
+
+    @Param({"rotated-rect", "round-rect", "stroked-round-rect", "circle", "star"})
+    public String shapeType;
+
+    @Param({"32", "256"})
+    public int size;
+
+    private ShapeRasterizer shapeRasterizer;
+    private Shape shape;
+    private BasicStroke stroke;
+    private BaseTransform transform;
+    private RectBounds xformBounds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        if ("native".equals(rasterizer)) {
+            shapeRasterizer = new NativePiscesRasterizer();
+        } else if ("java-span".equals(rasterizer)) {
+            shapeRasterizer = new OpenPiscesRasterizer();
+        } else {
+            shapeRasterizer = new RowRasterizer();
+        }
+
+        final float s = size;
+        transform = BaseTransform.IDENTITY_TRANSFORM;
+        switch (shapeType) {
+            case "rotated-rect":
+                shape = new RoundRectangle2D(0, 0, s, s / 2, 0, 0);
+                transform = BaseTransform.getRotateInstance(Math.toRadians(30), s / 2, s / 4);
+                break;
+            case "round-rect":
+                shape = new RoundRectangle2D(0.5f, 0.5f, s, s / 3, 6, 6);
+                break;
+            case "stroked-round-rect":
+                shape = new RoundRectangle2D(0.5f, 0.5f, s, s / 3, 6, 6);
+                stroke = new BasicStroke(1, BasicStroke.CAP_SQUARE, BasicStroke.JOIN_MITER, 10);
+                break;
+            case "circle":
+                shape = new Ellipse2D(0.25f, 0.25f, s, s);
+                break;
+            case "star":
+                final Path2D star = new Path2D();
+                for (int i = 0; i < 10; i++) {
+                    final double r = (i % 2 == 0) ? s / 2 : s / 5;
+                    final double a = Math.PI * i / 5;
+                    final float x = (float) (s / 2 + r * Math.sin(a));
+                    final float y = (float) (s / 2 - r * Math.cos(a));
+                    if (i == 0) {
+                        star.moveTo(x, y);
+                    } else {
+                        star.lineTo(x, y);
+                    }
+                }
+                star.closePath();
+                shape = star;
+                break;
+            default:
+                throw new IllegalArgumentException(shapeType);
+        }
+        xformBounds = (RectBounds) transform.transform(shape.getBounds(), new RectBounds());
+        if (stroke != null) {
+            xformBounds.grow(stroke.getLineWidth(), stroke.getLineWidth());
+        }
+    }
+
+    @Benchmark
+    public MaskData rasterize() {
+        return shapeRasterizer.getMaskData(shape, stroke, xformBounds, transform, true, true);
+    }
+
+    /**
+     * The Java rasterizer with a mask consumer that accumulates the
+     * coverage of every pixel of each row, which is what
+     * OpenPiscesRasterizer did before it used the touched spans.
+     */
+    private static final class RowRasterizer implements ShapeRasterizer, AlphaConsumer {
+        private final MaskData maskData = new MaskData();
+        private byte[] alphas = new byte[0];
+        private byte[] alphaMap;
+        private int x, y, width, height;
+
+        // See OpenPiscesRasterizer.getMaskData
+        @Override
+        public MaskData getMaskData(Shape shape, BasicStroke stroke, RectBounds xformBounds,
+                                    BaseTransform xform, boolean close, boolean antialiasedShape)
+        {
+            if (stroke != null && stroke.getType() != BasicStroke.TYPE_CENTERED) {
+                shape = stroke.createStrokedShape(shape);
+                stroke = null;
+            }
+            final Rectangle rclip = new Rectangle(xformBounds);
+            final Renderer renderer = (shape instanceof Path2D)
+                    ? OpenPiscesPrismUtils.setupRenderer((Path2D) shape, stroke, xform, rclip, antialiasedShape)
+                    : OpenPiscesPrismUtils.setupRenderer(shape, stroke, xform, rclip, antialiasedShape);
+            x = renderer.getOutpixMinX();
+            y = renderer.getOutpixMinY();
+            width = renderer.getOutpixMaxX() - x;
+            height = renderer.getOutpixMaxY() - y;
+            if (width * height > alphas.length) {
+                alphas = new byte[width * height];
+            }
+            maskData.update(ByteBuffer.wrap(alphas), x, y, width, height);
+            renderer.produceAlphas(this);
+            return maskData;
+        }
+
+        @Override public int getOriginX() { return x; }
+        @Override public int getOriginY() { return y; }
+        @Override public int getWidth() { return width; }
+        @Override public int getHeight() { return height; }
+
+        @Override
+        public void setMaxAlpha(int maxalpha) {
+            if (alphaMap == null || alphaMap.length != maxalpha+1) {
+                alphaMap = new byte[maxalpha+1];
+                for (int i = 0; i <= maxalpha; i++) {
+                    alphaMap[i] = (byte) ((i*255 + maxalpha/2)/maxalpha);
+                }
+            }
+        }
+
+        @Override
+        public void setAndClearRelativeAlphas(int[] alphaDeltas, int pix_y,
+                                              int pix_from, int pix_to)
+        {
+            int off = (pix_y - y) * width;
+            int a = 0;
+            for (int i = 0; i < width; i++) {
+                a += alphaDeltas[i];
+                alphaDeltas[i] = 0;
+                alphas[off+i] = alphaMap[a];
+            }
+        }
+    }
+}
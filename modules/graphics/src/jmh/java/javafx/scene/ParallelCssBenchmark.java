@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2018, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package javafx.scene;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import javafx.scene.layout.Region;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures reapplying CSS to a large tree of regions, with and without
+ * {@link Node#parallelCss}. Only the selector matching is done in parallel,
+ * so the difference is bounded by the share of matching in the whole
+ * reapply and update of the tree. The scene graph runs on the StubToolkit
+ * of the tests.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djavafx.toolkit=com.sun.javafx.pgstub.StubToolkit")
+@State(Scope.Thread)
+public class ParallelCssBenchmark {
+
+    @Param({"false", "true"})
+    public boolean parallel;
+
+    @Param({"100", "1000"})
+    public int ruleCount;
+
+    @Param({"2000", "20000"})
+    public int nodeCount;
+
+    private File stylesheet;
+    private Parent root;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        // a theme-like stylesheet: most rules key on one or two style classes,
+        // some are qualified by an ancestor
+        final Random random = new Random(0);
+        stylesheet = File.createTempFile("ParallelCssBenchmark", ".css");
+        try (PrintWriter out = new PrintWriter(stylesheet, "UTF-8")) {
+            for (int n = 0; n < ruleCount; n++) {
+                final String selector;
+                switch (n % 3) {
+                    case 0: selector = ".c" + random.nextInt(50); break;
+                    case 1: selector = ".c" + random.nextInt(50) + ".d" + random.nextInt(10); break;
+                    default: selector = ".g" + random.nextInt(10) + " .c" + random.nextInt(50); break;
+                }
+                out.println(selector + " { -fx-padding: " + random.nextInt(10) + "; }");
+            }
+        }
+
+        final Group tree = new Group();
+        Group group = null;
+        for (int n = 0; n < nodeCount; n++) {
+            if (n % 50 == 0) {
+                group = new Group();
+                group.getStyleClass().add("g" + random.nextInt(10));
+                tree.getChildren().add(group);
+            }
+            final Region region = new Region();
+            region.getStyleClass().addAll("c" + random.nextInt(50), "d" + random.nextInt(10));
+            group.getChildren().add(region);
+        }
+        root = tree;
+
+        final Scene scene = new Scene(root);
+        scene.getStylesheets().add(stylesheet.toURI().toString());
+        root.applyCss();
+
+        Node.parallelCss = parallel;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        Node.parallelCss = false;
+        stylesheet.delete();
+    }
+
+    @Benchmark
+    public Parent reapplyCss() {
+        root.impl_reapplyCSS();
+        root.applyCss();
+        return root;
+    }
+}
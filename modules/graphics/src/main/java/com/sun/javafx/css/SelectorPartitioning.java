@@ -30,6 +30,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -101,11 +102,13 @@ public final class SelectorPartitioning {
 
         private final PartitionKey key;
         private final Map<PartitionKey, Slot> slots;
+        private final Map<StyleClass, List<Slot>> slotsByStyleClass;
         private List<Selector> selectors;
 
         private Partition(PartitionKey key) {
            this.key = key;
             slots = new HashMap<PartitionKey,Slot>();
+            slotsByStyleClass = new HashMap<StyleClass,List<Slot>>();
         }
 
         private void addSelector(Selector pair) {
@@ -126,6 +129,7 @@ public final class SelectorPartitioning {
                 Partition partition = getPartition(id,map);
                 slot = new Slot(partition);
                 slots.put(id, slot);
+                index(id, slot, slotsByStyleClass);
             }
             return slot;
         }
@@ -144,12 +148,16 @@ public final class SelectorPartitioning {
         // The other Slots to which this Slot refers
         private final Map<PartitionKey, Slot> referents;
 
+        // The referents, indexed by style class
+        private final Map<StyleClass, List<Slot>> referentsByStyleClass;
+
         // Selectors that match the path to this slot
         private List<Selector> selectors;
 
         private Slot(Partition partition) {
             this.partition = partition;
             this.referents = new HashMap<PartitionKey, Slot>();
+            this.referentsByStyleClass = new HashMap<StyleClass, List<Slot>>();
         }
 
         private void addSelector(Selector pair) {
@@ -170,6 +178,7 @@ public final class SelectorPartitioning {
                 Partition p = getPartition(id, map);
                 slot = new Slot(p);
                 referents.put(id, slot);
+                index(id, slot, referentsByStyleClass);
 
             }
             return slot;
@@ -177,6 +186,48 @@ public final class SelectorPartitioning {
 
     }
 
+    /*
+     * A Slot for a set of style classes can only match a node that has all
+     * of those style classes, so it is enough to index the Slot by one of
+     * them: the first one of the set, which is the style class with the
+     * lowest index. When matching, only the Slots indexed by one of the
+     * node's style classes need to be checked, rather than every Slot.
+     */
+    private static void index(PartitionKey<?> id, Slot slot, Map<StyleClass, List<Slot>> index) {
+        if (id.key instanceof StyleClassSet == false) return;
+        // BitSet's iterator needs hasNext to be called before next
+        final Iterator<StyleClass> iterator = ((StyleClassSet)id.key).iterator();
+        if (iterator.hasNext() == false) return;
+        final StyleClass styleClass = iterator.next();
+        List<Slot> slots = index.get(styleClass);
+        if (slots == null) {
+            slots = new ArrayList<Slot>(1);
+            index.put(styleClass, slots);
+        }
+        slots.add(slot);
+    }
+
+    /*
+     * Add the selectors of the indexed Slots whose style classes are all in key.
+     */
+    private static void matchStyleClasses(Set<StyleClass> key,
+            Map<StyleClass, List<Slot>> index, List<Selector> selectors) {
+
+        for (StyleClass styleClass : key) {
+            final List<Slot> candidates = index.get(styleClass);
+            if (candidates == null) continue;
+            for (int n=0, nMax=candidates.size(); n<nMax; n++) {
+                final Slot s = candidates.get(n);
+                if (s.selectors == null || s.selectors.isEmpty()) continue;
+                // only StyleClassSet keys are indexed
+                final StyleClassSet other = (StyleClassSet)s.partition.key.key;
+                if (key.containsAll(other)) {
+                    selectors.addAll(s.selectors);
+                }
+            }
+        }
+    }
+
     /* A Map for selectors that have an id */
     private final Map<PartitionKey, Partition> idMap = new HashMap<PartitionKey,Partition>();
 
@@ -351,13 +402,7 @@ public final class SelectorPartitioning {
                                 }
                                 if ((c & STYLECLASS_BIT) == STYLECLASS_BIT) {
                                     Set<StyleClass> key = (Set<StyleClass>)styleClassKey.key;
-                                    for (Slot s : slot.referents.values()) {
-                                        if (s.selectors == null || s.selectors.isEmpty()) continue;
-                                        Set<StyleClass> other = (Set<StyleClass>)s.partition.key.key;
-                                        if (key.containsAll(other)) {
-                                            selectors.addAll(s.selectors);
-                                        }
-                                    }
+                                    matchStyleClasses(key, slot.referentsByStyleClass, selectors);
                                 }
 
                             }
@@ -393,13 +438,7 @@ public final class SelectorPartitioning {
                             }
                             if ((c & STYLECLASS_BIT) == STYLECLASS_BIT) {
                                 Set<StyleClass> key = (Set<StyleClass>)styleClassKey.key;
-                                for (Slot s : partition.slots.values()) {
-                                    if (s.selectors == null || s.selectors.isEmpty()) continue;
-                                    Set<StyleClass> other = (Set<StyleClass>)s.partition.key.key;
-                                    if (key.containsAll(other)) {
-                                        selectors.addAll(s.selectors);
-                                    }
-                                }
+                                matchStyleClasses(key, partition.slotsByStyleClass, selectors);
                             }
                         }
                         // if typePK is 'A', make it '*', if it is '*' make it null
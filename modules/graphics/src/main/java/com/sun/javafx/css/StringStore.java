@@ -25,9 +25,12 @@
 
 package com.sun.javafx.css;
 
+import java.io.ByteArrayOutputStream;
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
+import java.io.EOFException;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -67,6 +70,70 @@ public class StringStore {
         }
     }
 
+    /*
+     * Version 6 of the binary format splits the strings in two blocks. The
+     * first nEager strings are the ones needed to load the stylesheet and
+     * are decoded up front. The remaining strings are only needed to decode
+     * declarations and are decoded on first use. Each block is preceded by
+     * its length in bytes so that the second block can be skipped.
+     */
+    public void writeBinary(DataOutputStream os, int nEager) throws IOException {
+        os.writeShort(strings.size());
+        if (stringMap.containsKey(null)) {
+            Integer index = stringMap.get(null);
+            os.writeShort(index);
+        } else {
+            os.writeShort(-1);
+        }
+        os.writeShort(nEager);
+        writeStrings(os, 0, nEager);
+        writeStrings(os, nEager, strings.size());
+    }
+
+    private void writeStrings(DataOutputStream os, int from, int to) throws IOException {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        DataOutputStream dos = new DataOutputStream(bos);
+        for (int n=from; n<to; n++) {
+            String s = strings.get(n);
+            if (s == null) continue;
+            dos.writeUTF(s);
+        }
+        dos.flush();
+        os.writeInt(bos.size());
+        bos.writeTo(os);
+    }
+
+    /*
+     * Reads one block of a version 6 string table into strings[from..to).
+     */
+    static void readBinary(DataInputStream is, String[] strings, int from, int to, int nullIndex)
+        throws IOException
+    {
+        for (int n=from; n<to; n++) {
+            if (n == nullIndex) continue;
+            strings[n] = is.readUTF();
+        }
+    }
+
+    /*
+     * Checks, without decoding them, that the strings[from..to) of one block
+     * of a version 6 string table fill the given buffer exactly.
+     */
+    static void checkBinary(ByteBuffer buffer, int from, int to, int nullIndex)
+        throws IOException
+    {
+        for (int n=from; n<to; n++) {
+            if (n == nullIndex) continue;
+            if (buffer.remaining() < 2) throw new EOFException();
+            final int length = buffer.getShort() & 0xFFFF;
+            if (buffer.remaining() < length) throw new EOFException();
+            buffer.position(buffer.position() + length);
+        }
+        if (buffer.hasRemaining()) {
+            throw new IOException("unexpected data after binary CSS strings");
+        }
+    }
+
     // TODO: this isn't parallel with writeBinary
     static String[] readBinary(DataInputStream is) throws IOException {
         int nStrings = is.readShort();
@@ -70,6 +70,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -1631,6 +1632,129 @@ final public class StyleManager {
         }
     }
 
+    /*
+     * Selectors matched ahead of time by prematchStyles, keyed by node.
+     * Each entry is consumed by the next findMatchingStyles for that node.
+     */
+    private Map<Node, PrematchedStyles> prematchedStyles = null;
+
+    private static final class PrematchedStyles {
+        final Node node;
+        final Cache cache;
+        final PseudoClassState[] triggerStates;
+        long[] key;
+
+        PrematchedStyles(Node node, Cache cache, int depth) {
+            this.node = node;
+            this.cache = cache;
+            this.triggerStates = new PseudoClassState[depth];
+        }
+
+        void match() {
+            key = cache.match(node, triggerStates);
+        }
+    }
+
+    /**
+     * Matches the selectors that could apply to each of the nodes against
+     * the nodes, using the common fork-join pool. The nodes must all be in
+     * the given SubScene, or in no SubScene if subScene is null. Finding the candidate
+     * selectors and creating the resulting style maps still happen on the
+     * calling thread; findMatchingStyles picks up the results as it is called
+     * for each node. The results for a node must be discarded with
+     * {@link #discardPrematchedStyles(javafx.scene.Node)} if the node or one of
+     * its ancestors changes before they are consumed.
+     */
+    public void prematchStyles(List<Node> nodes, SubScene subScene) {
+
+        final List<PrematchedStyles> work = new ArrayList<>(nodes.size());
+
+        synchronized (styleLock) {
+
+            for (int n=0, nMax=nodes.size(); n<nMax; n++) {
+
+                final Node node = nodes.get(n);
+                if (node.getScene() == null) continue;
+
+                final CacheContainer cacheContainer = getCacheContainer(node, subScene);
+                if (cacheContainer == null) continue;
+
+                final Cache cache = getCache(node, subScene, cacheContainer);
+                if (cache == null || cache.selectors.isEmpty()) continue;
+
+                // Selectors look up the StyleClass of the node and of its
+                // ancestors, which adds unknown style classes to a shared map.
+                // Do that here so the matching only ever reads the map.
+                int depth = 0;
+                Styleable styleable = node;
+                while (styleable != null) {
+                    final List<String> styleClasses = styleable.getStyleClass();
+                    for (int c=0, cMax=styleClasses.size(); c<cMax; c++) {
+                        final String styleClass = styleClasses.get(c);
+                        if (styleClass == null || styleClass.isEmpty()) continue;
+                        StyleClassSet.getStyleClass(styleClass);
+                    }
+                    depth++;
+                    styleable = styleable.getStyleableParent();
+                }
+
+                work.add(new PrematchedStyles(node, cache, depth));
+            }
+        }
+
+        work.parallelStream().forEach(PrematchedStyles::match);
+
+        synchronized (styleLock) {
+            if (prematchedStyles == null) {
+                prematchedStyles = new IdentityHashMap<>(work.size());
+            }
+            for (int n=0, nMax=work.size(); n<nMax; n++) {
+                final PrematchedStyles prematch = work.get(n);
+                prematchedStyles.put(prematch.node, prematch);
+            }
+        }
+    }
+
+    /**
+     * Discards the results of {@link #prematchStyles(java.util.List, javafx.scene.SubScene)} that
+     * have not been consumed yet.
+     */
+    public void discardPrematchedStyles() {
+        synchronized (styleLock) {
+            prematchedStyles = null;
+        }
+    }
+
+    /**
+     * Discards the results of {@link #prematchStyles(java.util.List, javafx.scene.SubScene)} for
+     * the node and its children that have not been consumed yet. Selectors
+     * only depend on a node and its ancestors, so the results for the other
+     * nodes still hold.
+     */
+    public void discardPrematchedStyles(Node node) {
+        synchronized (styleLock) {
+            if (prematchedStyles == null || prematchedStyles.isEmpty()) return;
+            discardPrematchedSubtree(node);
+        }
+    }
+
+    private void discardPrematchedSubtree(Node node) {
+        prematchedStyles.remove(node);
+        if (node instanceof Parent) {
+            final List<Node> children = ((Parent) node).getChildrenUnmodifiable();
+            for (int n=0, nMax=children.size(); n<nMax; n++) {
+                discardPrematchedSubtree(children.get(n));
+            }
+        }
+    }
+
+    // for testing
+    boolean isPrematched(Node node) {
+        synchronized (styleLock) {
+            return prematchedStyles != null && prematchedStyles.containsKey(node);
+        }
+    }
+
     // reuse key to avoid creation of numerous small objects
     private Key key = null;
 
@@ -1651,217 +1775,256 @@ final public class StyleManager {
         }
 
         synchronized (styleLock) {
-            final Parent parent =
-                (node instanceof Parent)
-                    ? (Parent) node : node.getParent();
-
-            final List<StylesheetContainer> parentStylesheets =
-                        gatherParentStylesheets(parent);
 
-            final boolean hasParentStylesheets = parentStylesheets.isEmpty() == false;
-
-            final List<StylesheetContainer> sceneStylesheets = gatherSceneStylesheets(scene);
-
-            final boolean hasSceneStylesheets = sceneStylesheets.isEmpty() == false;
+            final Cache cache = getCache(node, subScene, cacheContainer);
+            if (cache == null) {
+                return StyleMap.EMPTY_MAP;
+            }
 
             final String inlineStyle = node.getStyle();
             final boolean hasInlineStyles = inlineStyle != null && inlineStyle.trim().isEmpty() == false;
 
-            final String sceneUserAgentStylesheet = scene.getUserAgentStylesheet();
-            final boolean hasSceneUserAgentStylesheet =
-                    sceneUserAgentStylesheet != null && sceneUserAgentStylesheet.trim().isEmpty() == false;
-
-            final String subSceneUserAgentStylesheet =
-                    (subScene != null) ? subScene.getUserAgentStylesheet() : null;
-            final boolean hasSubSceneUserAgentStylesheet =
-                    subSceneUserAgentStylesheet != null && subSceneUserAgentStylesheet.trim().isEmpty() == false;
-
-            String regionUserAgentStylesheet = null;
-            // is this node in a region that has its own stylesheet?
-            Node region = node;
-            while (region != null) {
-                regionUserAgentStylesheet = (region instanceof Region) ? ((Region) region).getUserAgentStylesheet() : null;
-                if (regionUserAgentStylesheet != null) {
-                    // We want 'region' to be the node that has the user agent stylesheet.
-                    // 'region' is used below - look for if (hasRegionUserAgentStylesheet) block
-                    break;
+            //
+            // Use the selectors matched by prematchStyles, if any. They are
+            // only good for the Cache they were matched against.
+            //
+            final PrematchedStyles prematch = prematchedStyles != null ? prematchedStyles.remove(node) : null;
+            if (prematch != null && prematch.cache == cache
+                    && prematch.triggerStates.length == triggerStates.length) {
+
+                for (int n=0; n<triggerStates.length; n++) {
+                    final PseudoClassState pseudoClassIn = prematch.triggerStates[n];
+                    if (pseudoClassIn == null) continue;
+                    if (triggerStates[n] != null) {
+                        triggerStates[n].addAll(pseudoClassIn);
+                    } else {
+                        triggerStates[n] = pseudoClassIn;
+                    }
                 }
-                region = region.getParent();
+                return cache.getStyleMap(cacheContainer, node, prematch.key, hasInlineStyles);
             }
 
-
-            final boolean hasRegionUserAgentStylesheet =
-                    regionUserAgentStylesheet != null && regionUserAgentStylesheet.trim().isEmpty() == false;
-
             //
-            // Are there any stylesheets at all?
-            // If not, then there is nothing to match and the
-            // resulting StyleMap is going to end up empty
+            // Create a style helper for this node from the styles that match.
             //
-            if (hasInlineStyles == false
-                    && hasParentStylesheets == false
-                    && hasSceneStylesheets == false
-                    && hasSceneUserAgentStylesheet == false
-                    && hasSubSceneUserAgentStylesheet == false
-                    && hasRegionUserAgentStylesheet == false
-                    && platformUserAgentStylesheetContainers.isEmpty()) {
-                return StyleMap.EMPTY_MAP;
-            }
+            return cache.getStyleMap(cacheContainer, node, triggerStates, hasInlineStyles);
+        }
+    }
 
-            final String cname = node.getTypeSelector();
-            final String id = node.getId();
-            final List<String> styleClasses = node.getStyleClass();
+    /*
+     * Finds the Cache of selectors that could apply to the node, creating
+     * it if need be. Returns null if there are no stylesheets at all.
+     * Must be called while holding the styleLock.
+     */
+    private Cache getCache(Node node, SubScene subScene, CacheContainer cacheContainer) {
 
-            if (key == null) {
-                key = new Key();
-            }
+        final Scene scene = node.getScene();
+
+        final Parent parent =
+            (node instanceof Parent)
+                ? (Parent) node : node.getParent();
+
+        final List<StylesheetContainer> parentStylesheets =
+                    gatherParentStylesheets(parent);
+
+        final boolean hasParentStylesheets = parentStylesheets.isEmpty() == false;
+
+        final List<StylesheetContainer> sceneStylesheets = gatherSceneStylesheets(scene);
+
+        final boolean hasSceneStylesheets = sceneStylesheets.isEmpty() == false;
+
+        final String inlineStyle = node.getStyle();
+        final boolean hasInlineStyles = inlineStyle != null && inlineStyle.trim().isEmpty() == false;
 
-            key.className = cname;
-            key.id = id;
-            for(int n=0, nMax=styleClasses.size(); n<nMax; n++) {
+        final String sceneUserAgentStylesheet = scene.getUserAgentStylesheet();
+        final boolean hasSceneUserAgentStylesheet =
+                sceneUserAgentStylesheet != null && sceneUserAgentStylesheet.trim().isEmpty() == false;
 
-                final String styleClass = styleClasses.get(n);
-                if (styleClass == null || styleClass.isEmpty()) continue;
+        final String subSceneUserAgentStylesheet =
+                (subScene != null) ? subScene.getUserAgentStylesheet() : null;
+        final boolean hasSubSceneUserAgentStylesheet =
+                subSceneUserAgentStylesheet != null && subSceneUserAgentStylesheet.trim().isEmpty() == false;
 
-                key.styleClasses.add(StyleClassSet.getStyleClass(styleClass));
+        String regionUserAgentStylesheet = null;
+        // is this node in a region that has its own stylesheet?
+        Node region = node;
+        while (region != null) {
+            regionUserAgentStylesheet = (region instanceof Region) ? ((Region) region).getUserAgentStylesheet() : null;
+            if (regionUserAgentStylesheet != null) {
+                // We want 'region' to be the node that has the user agent stylesheet.
+                // 'region' is used below - look for if (hasRegionUserAgentStylesheet) block
+                break;
             }
+            region = region.getParent();
+        }
 
-            Map<Key, Cache> cacheMap = cacheContainer.getCacheMap(parentStylesheets,regionUserAgentStylesheet);
-            Cache cache = cacheMap.get(key);
 
-            if (cache != null) {
-                // key will be reused, so clear the styleClasses for next use
-                key.styleClasses.clear();
+        final boolean hasRegionUserAgentStylesheet =
+                regionUserAgentStylesheet != null && regionUserAgentStylesheet.trim().isEmpty() == false;
 
-            } else {
+        //
+        // Are there any stylesheets at all?
+        // If not, then there is nothing to match and the
+        // resulting StyleMap is going to end up empty
+        //
+        if (hasInlineStyles == false
+                && hasParentStylesheets == false
+                && hasSceneStylesheets == false
+                && hasSceneUserAgentStylesheet == false
+                && hasSubSceneUserAgentStylesheet == false
+                && hasRegionUserAgentStylesheet == false
+                && platformUserAgentStylesheetContainers.isEmpty()) {
+            return null;
+        }
 
-                // If the cache is null, then we need to create a new Cache and
-                // add it to the cache map
+        final String cname = node.getTypeSelector();
+        final String id = node.getId();
+        final List<String> styleClasses = node.getStyleClass();
 
-                // Construct the list of Selectors that could possibly apply
-                final List<Selector> selectorData = new ArrayList<>();
+        if (key == null) {
+            key = new Key();
+        }
 
-                // User agent stylesheets have lowest precedence and go first
-                if (hasSubSceneUserAgentStylesheet || hasSceneUserAgentStylesheet) {
+        key.className = cname;
+        key.id = id;
+        for(int n=0, nMax=styleClasses.size(); n<nMax; n++) {
 
-                    // if has both, use SubScene
-                    final String uaFileName = hasSubSceneUserAgentStylesheet ?
-                            subScene.getUserAgentStylesheet().trim() :
-                            scene.getUserAgentStylesheet().trim();
+            final String styleClass = styleClasses.get(n);
+            if (styleClass == null || styleClass.isEmpty()) continue;
 
+            key.styleClasses.add(StyleClassSet.getStyleClass(styleClass));
+        }
 
-                    StylesheetContainer container = null;
-                    for (int n=0, nMax=userAgentStylesheetContainers.size(); n<nMax; n++) {
-                        container = userAgentStylesheetContainers.get(n);
-                        if (uaFileName.equals(container.fname)) {
-                            break;
-                        }
-                        container = null;
+        Map<Key, Cache> cacheMap = cacheContainer.getCacheMap(parentStylesheets,regionUserAgentStylesheet);
+        Cache cache = cacheMap.get(key);
+
+        if (cache != null) {
+            // key will be reused, so clear the styleClasses for next use
+            key.styleClasses.clear();
+
+        } else {
+
+            // If the cache is null, then we need to create a new Cache and
+            // add it to the cache map
+
+            // Construct the list of Selectors that could possibly apply
+            final List<Selector> selectorData = new ArrayList<>();
+
+            // User agent stylesheets have lowest precedence and go first
+            if (hasSubSceneUserAgentStylesheet || hasSceneUserAgentStylesheet) {
+
+                // if has both, use SubScene
+                final String uaFileName = hasSubSceneUserAgentStylesheet ?
+                        subScene.getUserAgentStylesheet().trim() :
+                        scene.getUserAgentStylesheet().trim();
+
+
+                StylesheetContainer container = null;
+                for (int n=0, nMax=userAgentStylesheetContainers.size(); n<nMax; n++) {
+                    container = userAgentStylesheetContainers.get(n);
+                    if (uaFileName.equals(container.fname)) {
+                        break;
                     }
+                    container = null;
+                }
 
-                    if (container == null) {
-                        Stylesheet stylesheet = loadStylesheet(uaFileName);
-                        if (stylesheet != null) {
-                            stylesheet.setOrigin(StyleOrigin.USER_AGENT);
-                        }
-                        container = new StylesheetContainer(uaFileName, stylesheet);
-                        userAgentStylesheetContainers.add(container);
+                if (container == null) {
+                    Stylesheet stylesheet = loadStylesheet(uaFileName);
+                    if (stylesheet != null) {
+                        stylesheet.setOrigin(StyleOrigin.USER_AGENT);
                     }
+                    container = new StylesheetContainer(uaFileName, stylesheet);
+                    userAgentStylesheetContainers.add(container);
+                }
 
-                    if (container.selectorPartitioning != null) {
+                if (container.selectorPartitioning != null) {
 
-                        final Parent root = hasSubSceneUserAgentStylesheet ? subScene.getRoot() : scene.getRoot();
-                        container.parentUsers.add(root);
+                    final Parent root = hasSubSceneUserAgentStylesheet ? subScene.getRoot() : scene.getRoot();
+                    container.parentUsers.add(root);
+
+                    final List<Selector> matchingRules =
+                            container.selectorPartitioning.match(id, cname, key.styleClasses);
+                    selectorData.addAll(matchingRules);
+                }
 
+            } else if (platformUserAgentStylesheetContainers.isEmpty() == false) {
+                for(int n=0, nMax= platformUserAgentStylesheetContainers.size(); n<nMax; n++) {
+                    final StylesheetContainer container = platformUserAgentStylesheetContainers.get(n);
+                    if (container != null && container.selectorPartitioning != null) {
                         final List<Selector> matchingRules =
                                 container.selectorPartitioning.match(id, cname, key.styleClasses);
                         selectorData.addAll(matchingRules);
                     }
+                }
+            }
 
-                } else if (platformUserAgentStylesheetContainers.isEmpty() == false) {
-                    for(int n=0, nMax= platformUserAgentStylesheetContainers.size(); n<nMax; n++) {
-                        final StylesheetContainer container = platformUserAgentStylesheetContainers.get(n);
-                        if (container != null && container.selectorPartitioning != null) {
-                            final List<Selector> matchingRules =
-                                    container.selectorPartitioning.match(id, cname, key.styleClasses);
-                            selectorData.addAll(matchingRules);
-                        }
+            if (hasRegionUserAgentStylesheet) {
+                // Unfortunate duplication of code from previous block. No time to refactor.
+                StylesheetContainer container = null;
+                for (int n=0, nMax=userAgentStylesheetContainers.size(); n<nMax; n++) {
+                    container = userAgentStylesheetContainers.get(n);
+                    if (regionUserAgentStylesheet.equals(container.fname)) {
+                        break;
                     }
+                    container = null;
                 }
 
-                if (hasRegionUserAgentStylesheet) {
-                    // Unfortunate duplication of code from previous block. No time to refactor.
-                    StylesheetContainer container = null;
-                    for (int n=0, nMax=userAgentStylesheetContainers.size(); n<nMax; n++) {
-                        container = userAgentStylesheetContainers.get(n);
-                        if (regionUserAgentStylesheet.equals(container.fname)) {
-                            break;
-                        }
-                        container = null;
+                if (container == null) {
+                    Stylesheet stylesheet = loadStylesheet(regionUserAgentStylesheet);
+                    if (stylesheet != null) {
+                        stylesheet.setOrigin(StyleOrigin.USER_AGENT);
                     }
+                    container = new StylesheetContainer(regionUserAgentStylesheet, stylesheet);
+                    userAgentStylesheetContainers.add(container);
+                }
 
-                    if (container == null) {
-                        Stylesheet stylesheet = loadStylesheet(regionUserAgentStylesheet);
-                        if (stylesheet != null) {
-                            stylesheet.setOrigin(StyleOrigin.USER_AGENT);
-                        }
-                        container = new StylesheetContainer(regionUserAgentStylesheet, stylesheet);
-                        userAgentStylesheetContainers.add(container);
-                    }
+                if (container.selectorPartitioning != null) {
 
-                    if (container.selectorPartitioning != null) {
+                    // Depending on RefList add method not allowing duplicates.
+                    container.parentUsers.add((Parent)region);
 
-                        // Depending on RefList add method not allowing duplicates.
-                        container.parentUsers.add((Parent)region);
+                    final List<Selector> matchingRules =
+                            container.selectorPartitioning.match(id, cname, key.styleClasses);
+                    selectorData.addAll(matchingRules);
+                }
+
+            }
 
+            // Scene stylesheets come next since declarations from
+            // parent stylesheets should take precedence.
+            if (sceneStylesheets.isEmpty() == false) {
+                for(int n=0, nMax=sceneStylesheets.size(); n<nMax; n++) {
+                    final StylesheetContainer container = sceneStylesheets.get(n);
+                    if (container != null && container.selectorPartitioning != null) {
                         final List<Selector> matchingRules =
                                 container.selectorPartitioning.match(id, cname, key.styleClasses);
                         selectorData.addAll(matchingRules);
                     }
-
-                }
-
-                // Scene stylesheets come next since declarations from
-                // parent stylesheets should take precedence.
-                if (sceneStylesheets.isEmpty() == false) {
-                    for(int n=0, nMax=sceneStylesheets.size(); n<nMax; n++) {
-                        final StylesheetContainer container = sceneStylesheets.get(n);
-                        if (container != null && container.selectorPartitioning != null) {
-                            final List<Selector> matchingRules =
-                                    container.selectorPartitioning.match(id, cname, key.styleClasses);
-                            selectorData.addAll(matchingRules);
-                        }
-                    }
                 }
+            }
 
-                // lastly, parent stylesheets
-                if (hasParentStylesheets) {
-                    final int nMax = parentStylesheets == null ? 0 : parentStylesheets.size();
-                    for(int n=0; n<nMax; n++) {
-                        final StylesheetContainer container = parentStylesheets.get(n);
-                        if (container.selectorPartitioning != null) {
-                            final List<Selector> matchingRules =
-                                    container.selectorPartitioning.match(id, cname, key.styleClasses);
-                            selectorData.addAll(matchingRules);
-                        }
+            // lastly, parent stylesheets
+            if (hasParentStylesheets) {
+                final int nMax = parentStylesheets == null ? 0 : parentStylesheets.size();
+                for(int n=0; n<nMax; n++) {
+                    final StylesheetContainer container = parentStylesheets.get(n);
+                    if (container.selectorPartitioning != null) {
+                        final List<Selector> matchingRules =
+                                container.selectorPartitioning.match(id, cname, key.styleClasses);
+                        selectorData.addAll(matchingRules);
                     }
                 }
-
-                // create a new Cache from these selectors.
-                cache = new Cache(selectorData);
-                cacheMap.put(key, cache);
-
-                // cause a new Key to be created the next time this method is called
-                key = null;
             }
 
-            //
-            // Create a style helper for this node from the styles that match.
-            //
-            StyleMap smap = cache.getStyleMap(cacheContainer, node, triggerStates, hasInlineStyles);
+            // create a new Cache from these selectors.
+            cache = new Cache(selectorData);
+            cacheMap.put(key, cache);
 
-            return smap;
+            // cause a new Key to be created the next time this method is called
+            key = null;
         }
+
+        return cache;
     }
 
     ////////////////////////////////////////////////////////////////////////////
@@ -2149,6 +2312,16 @@ final public class StyleManager {
                 return StyleMap.EMPTY_MAP;
             }
 
+            return getStyleMap(cacheContainer, node, match(node, triggerStates), hasInlineStyle);
+        }
+
+        //
+        // Returns the selectors that apply to the node as bits on a long[],
+        // or null if none apply. This only reads the node and the selectors,
+        // so it is safe to call from prematchStyles off the FX thread.
+        //
+        private long[] match(Node node, Set<PseudoClass>[] triggerStates) {
+
             final int selectorDataSize = selectors.size();
 
             //
@@ -2195,9 +2368,17 @@ final public class StyleManager {
                 }
             }
 
+            return nothingMatched ? null : key;
+        }
+
+        private StyleMap getStyleMap(CacheContainer cacheContainer, Node node, long[] key, boolean hasInlineStyle) {
+
             // nothing matched!
-            if (nothingMatched && hasInlineStyle == false) {
-                return StyleMap.EMPTY_MAP;
+            if (key == null) {
+                if (hasInlineStyle == false) {
+                    return StyleMap.EMPTY_MAP;
+                }
+                key = new long[selectors.size()/Long.SIZE + 1];
             }
 
             final String inlineStyle = node.getStyle();
@@ -25,10 +25,13 @@
 
 package com.sun.javafx.css;
 
+import java.security.AccessController;
+import java.security.PrivilegedAction;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -65,6 +68,17 @@ public final class StyleMap {
                 return cascadingStyles;
             }
 
+            final SelectorsKey key = new SelectorsKey(selectors);
+            synchronized (sharedCascades) {
+                cascadingStyles = sharedCascades.get(key);
+                if (cascadingStyles != null) {
+                    sharedCascadeHits += 1;
+                    selectors = null;
+                    return cascadingStyles;
+                }
+                sharedCascadeMisses += 1;
+            }
+
             //
             // Creating the map is a three step process. First, create
             // a list of CascadingStyles. Second, sort the CascadingStyles.
@@ -102,6 +116,8 @@ public final class StyleMap {
 
             if (cascadingStyleList.isEmpty()) {
                 cascadingStyles = Collections.emptyMap();
+                shareCascadingStyles(key, cascadingStyles);
+                selectors = null;
                 return cascadingStyles;
             }
 
@@ -144,7 +160,9 @@ public final class StyleMap {
                 }
             }
 
-            selectors.clear();
+            shareCascadingStyles(key, cascadingStyles);
+
+            // the key holds on to the list of selectors, so don't clear it
             selectors = null;
 
         }
@@ -152,6 +170,110 @@ public final class StyleMap {
         return cascadingStyles;
     }
 
+    /**
+     * Returns the number of times the cascade of a StyleMap was found in the
+     * process-wide cache shared by all scenes.
+     */
+    public static long getSharedCascadeHits() {
+        synchronized (sharedCascades) {
+            return sharedCascadeHits;
+        }
+    }
+
+    /**
+     * Returns the number of times the cascade of a StyleMap had to be
+     * computed because it was not in the process-wide cache.
+     */
+    public static long getSharedCascadeMisses() {
+        synchronized (sharedCascades) {
+            return sharedCascadeMisses;
+        }
+    }
+
+    /**
+     * Returns the number of cascades in the process-wide cache.
+     */
+    public static int getSharedCascadeCount() {
+        synchronized (sharedCascades) {
+            return sharedCascades.size();
+        }
+    }
+
+    private static void shareCascadingStyles(SelectorsKey key, Map<String, List<CascadingStyle>> cascade) {
+        synchronized (sharedCascades) {
+            sharedCascades.put(key, cascade);
+        }
+    }
+
+    //
+    // The cascade of a StyleMap only depends on the selectors that matched,
+    // and the cascade is never modified once it has been computed. Stylesheets
+    // are parsed once and shared by every scene that uses them, so scenes with
+    // the same stylesheets end up with StyleMaps for the same selectors.
+    // Each CacheContainer still creates its own StyleMaps since the id of a
+    // StyleMap is specific to its container, but the cascades are shared
+    // through this size-bounded, least-recently-used cache.
+    //
+    private static final int SHARED_CASCADE_CACHE_SIZE =
+            AccessController.doPrivileged((PrivilegedAction<Integer>) () ->
+                    Integer.getInteger("javafx.css.sharedCascadeCacheSize", 2048));
+
+    private static final Map<SelectorsKey, Map<String, List<CascadingStyle>>> sharedCascades =
+            new CascadeCache();
+
+    private static final class CascadeCache
+            extends LinkedHashMap<SelectorsKey, Map<String, List<CascadingStyle>>> {
+
+        private static final long serialVersionUID = 1L;
+
+        private CascadeCache() {
+            super(64, 0.75f, true);
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<SelectorsKey, Map<String, List<CascadingStyle>>> eldest) {
+            return size() > SHARED_CASCADE_CACHE_SIZE;
+        }
+    }
+
+    private static long sharedCascadeHits;
+    private static long sharedCascadeMisses;
+
+    // Selectors are compared by identity since equal selectors from
+    // different stylesheets belong to different rules.
+    private static final class SelectorsKey {
+
+        private final List<Selector> selectors;
+        private final int hash;
+
+        private SelectorsKey(List<Selector> selectors) {
+            this.selectors = selectors;
+            int h = 1;
+            for (int n=0, nMax=selectors.size(); n<nMax; n++) {
+                h = 31 * h + System.identityHashCode(selectors.get(n));
+            }
+            this.hash = h;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) return true;
+            if (!(obj instanceof SelectorsKey)) return false;
+            final SelectorsKey other = (SelectorsKey) obj;
+            final int nMax = selectors.size();
+            if (hash != other.hash || nMax != other.selectors.size()) return false;
+            for (int n=0; n<nMax; n++) {
+                if (selectors.get(n) != other.selectors.get(n)) return false;
+            }
+            return true;
+        }
+    }
+
     private static final Comparator<CascadingStyle> cascadingStyleComparator =
             (o1, o2) -> {
 
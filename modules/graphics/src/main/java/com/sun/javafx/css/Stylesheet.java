@@ -31,16 +31,22 @@ import javafx.collections.ListChangeListener.Change;
 import javafx.collections.ObservableList;
 import javafx.css.StyleOrigin;
 
-import java.io.BufferedInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.net.URI;
+import java.net.URISyntaxException;
 import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -58,8 +64,9 @@ public class Stylesheet {
      * Version number of binary CSS format. The value is incremented whenever the format of the
      * binary stream changes. This number does not correlate with JavaFX versions.
      * Version 5: persist @font-face
+     * Version 6: split the string table so strings used only by declarations are decoded lazily
      */
-    final static int BINARY_CSS_VERSION = 5;
+    final static int BINARY_CSS_VERSION = 6;
 
     private final String url;
     /** The URL from which the stylesheet was loaded.
@@ -206,6 +213,24 @@ public class Stylesheet {
         }
     }
 
+    // Adds the strings that readBinary needs, that is all but the strings
+    // of the declarations, to the stringStore and returns their number.
+    private int addEagerStrings(final StringStore stringStore) throws IOException {
+        final DataOutputStream os = new DataOutputStream(new ByteArrayOutputStream());
+        stringStore.addString(origin.name());
+        for (Rule r : rules) {
+            for (Selector sel : r.getUnobservedSelectorList()) {
+                sel.writeBinary(os, stringStore);
+            }
+        }
+        List<FontFace> fontFaceList = getFontFaces();
+        int nFontFaces = fontFaceList != null ? fontFaceList.size() : 0;
+        for(int n=0; n<nFontFaces; n++) {
+            fontFaceList.get(n).writeBinary(os, stringStore);
+        }
+        return stringStore.strings.size();
+    }
+
     // protected for unit testing
     final void readBinary(int bssVersion, DataInputStream is, String[] strings)
         throws IOException
@@ -231,7 +256,35 @@ public class Stylesheet {
     }
 
     private String[] stringStore;
-    final String[] getStringStore() { return stringStore; }
+
+    // Version 6: the strings that are only used by declarations are decoded
+    // the first time the declarations of a rule are needed. loadBinary has
+    // already checked that the strings fill this buffer exactly.
+    private volatile ByteBuffer lazyStrings;
+    private int lazyStringsFrom;
+    private int lazyStringsNullIndex;
+
+    final String[] getStringStore() {
+        if (lazyStrings != null) {
+            synchronized (this) {
+                if (lazyStrings != null) {
+                    try {
+                        StringStore.readBinary(new DataInputStream(new ByteBufferInputStream(lazyStrings.duplicate())),
+                                stringStore, lazyStringsFrom, stringStore.length, lazyStringsNullIndex);
+                    } catch (IOException ioe) {
+                        throw new UncheckedIOException(getUrl() + ": cannot read binary CSS strings", ioe);
+                    }
+                    lazyStrings = null;
+                }
+            }
+        }
+        return stringStore;
+    }
+
+    // for unit testing
+    final boolean hasLazyStrings() {
+        return lazyStrings != null;
+    }
 
     /** Load a binary stylesheet file from a input stream */
     public static Stylesheet loadBinary(URL url) throws IOException {
@@ -240,8 +293,10 @@ public class Stylesheet {
 
         Stylesheet stylesheet = null;
 
-        try (DataInputStream dataInputStream =
-                     new DataInputStream(new BufferedInputStream(url.openStream(), 40 * 1024))) {
+        try {
+
+            final ByteBuffer buffer = readFully(url);
+            final DataInputStream dataInputStream = new DataInputStream(new ByteBufferInputStream(buffer));
 
             // read file version
             final int bssVersion = dataInputStream.readShort();
@@ -251,7 +306,30 @@ public class Stylesheet {
                         Stylesheet.BINARY_CSS_VERSION);
             }
             // read strings
-            final String[] strings = StringStore.readBinary(dataInputStream);
+            final String[] strings;
+            ByteBuffer lazyStrings = null;
+            int nEager = 0;
+            int nullIndex = -1;
+            if (bssVersion >= 6) {
+                final int nStrings = dataInputStream.readShort();
+                nullIndex = dataInputStream.readShort();
+                nEager = dataInputStream.readShort();
+                strings = new String[nStrings];
+                dataInputStream.readInt();
+                StringStore.readBinary(dataInputStream, strings, 0, nEager, nullIndex);
+
+                // leave the rest of the strings in the buffer for getStringStore
+                final int nLazyBytes = dataInputStream.readInt();
+                if (nLazyBytes < 0 || nLazyBytes > buffer.remaining()) {
+                    throw new IOException(url.toString() + " truncated binary CSS strings");
+                }
+                lazyStrings = buffer.duplicate();
+                lazyStrings.limit(buffer.position() + nLazyBytes);
+                StringStore.checkBinary(lazyStrings.duplicate(), nEager, nStrings, nullIndex);
+                buffer.position(buffer.position() + nLazyBytes);
+            } else {
+                strings = StringStore.readBinary(dataInputStream);
+            }
             // read binary data
             stylesheet = new Stylesheet(url.toExternalForm());
 
@@ -274,8 +352,12 @@ public class Stylesheet {
                 }
             }
 
+            stylesheet.lazyStrings = lazyStrings;
+            stylesheet.lazyStringsFrom = nEager;
+            stylesheet.lazyStringsNullIndex = nullIndex;
+
         } catch (FileNotFoundException fnfe) {
-            // This comes from url.openStream() and is expected.
+            // This comes from readFully and is expected.
             // It just means that the .bss file doesn't exist.
         }
 
@@ -283,6 +365,84 @@ public class Stylesheet {
         return stylesheet;
     }
 
+    /*
+     * A .bss file on the file system is memory-mapped. Otherwise, as is the
+     * case for the stylesheets in jfxrt.jar, the whole file is read in one go.
+     */
+    private static ByteBuffer readFully(URL url) throws IOException {
+
+        if ("file".equals(url.getProtocol())) {
+            File file = null;
+            try {
+                file = new File(url.toURI());
+            } catch (URISyntaxException | IllegalArgumentException e) {
+                // fall through and open the URL as a stream
+            }
+            if (file != null) {
+                try (FileInputStream fis = new FileInputStream(file);
+                     FileChannel channel = fis.getChannel()) {
+                    return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                }
+            }
+        }
+
+        try (InputStream is = url.openStream()) {
+            byte[] bytes = new byte[40 * 1024];
+            int nBytes = 0;
+            int n;
+            while ((n = is.read(bytes, nBytes, bytes.length - nBytes)) != -1) {
+                nBytes += n;
+                if (nBytes == bytes.length) {
+                    bytes = Arrays.copyOf(bytes, bytes.length * 2);
+                }
+            }
+            return ByteBuffer.wrap(bytes, 0, nBytes);
+        }
+    }
+
+    private static final class ByteBufferInputStream extends InputStream {
+
+        private final ByteBuffer buffer;
+
+        private ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xff : -1;
+        }
+
+        @Override public int read(byte[] b, int off, int len) {
+            if (len == 0) return 0;
+            if (!buffer.hasRemaining()) return -1;
+            final int n = Math.min(len, buffer.remaining());
+            buffer.get(b, off, n);
+            return n;
+        }
+
+        @Override public long skip(long n) {
+            final int skipped = (int) Math.max(0, Math.min(n, buffer.remaining()));
+            buffer.position(buffer.position() + skipped);
+            return skipped;
+        }
+
+        @Override public int available() {
+            return buffer.remaining();
+        }
+
+        @Override public boolean markSupported() {
+            return true;
+        }
+
+        @Override public synchronized void mark(int readlimit) {
+            buffer.mark();
+        }
+
+        @Override public synchronized void reset() {
+            buffer.reset();
+        }
+    }
+
     /**
      * Convert the .css file referenced by urlIn to binary format and write to urlOut.
      * @param source is the JavaFX .css file to convert
@@ -312,10 +472,14 @@ public class Stylesheet {
         URI sourceURI = source.toURI();
         Stylesheet stylesheet = new CSSParser().parse(sourceURI.toURL());
 
-        // first write all the css binary data into the buffer and collect strings on way
+        // collect the strings needed to load the stylesheet first so they
+        // end up in the block of the string table that is decoded up front
+        StringStore stringStore = new StringStore();
+        final int nEager = stylesheet.addEagerStrings(stringStore);
+
+        // then write all the css binary data into the buffer and collect strings on way
         ByteArrayOutputStream baos = new ByteArrayOutputStream();
         DataOutputStream dos = new DataOutputStream(baos);
-        StringStore stringStore = new StringStore();
         stylesheet.writeBinary(dos, stringStore);
         dos.flush();
         dos.close();
@@ -327,7 +491,7 @@ public class Stylesheet {
         os.writeShort(BINARY_CSS_VERSION);
 
         // write strings
-        stringStore.writeBinary(os);
+        stringStore.writeBinary(os, nEager);
 
         // write binary css
         os.write(baos.toByteArray());
@@ -202,12 +202,27 @@ public abstract class NGNode {
 
     /**
      * A filter used when the node is cached. If null, then the node is not
-     * being cached. While in theory this could be created automatically by
-     * the implementation due to some form of heuristic, currently we
-     * only set this if the application has requested that the node be cached.
+     * being cached. This is set if the application has requested that the
+     * node be cached or, when prism.autocache is set, by the heuristic in
+     * updateAutoCache for groups that are only being moved around.
      */
     private CacheFilter cacheFilter;
 
+    /**
+     * Whether the cacheFilter was created by updateAutoCache rather than
+     * requested by the application.
+     */
+    private boolean autoCached;
+
+    /**
+     * The number of consecutive renders for which only the translation of
+     * this node changed, and whether its contents or just its translation
+     * have changed since it was last rendered. Used by updateAutoCache.
+     */
+    private int translatedRenders;
+    private boolean contentsChanged;
+    private boolean translatedOnly;
+
     /**
      * A filter used whenever an effect is placed on the node. Of course
      * effects can form a kind of tree, such that this one effect might be
@@ -355,6 +370,21 @@ public abstract class NGNode {
         // are changing. The scene will still be marked dirty and cached
         // images of any ancestors will be invalidated.
         boolean useHint = false;
+        final boolean translationOnly = transform.getMxx() == tx.getMxx()
+                && transform.getMxy() == tx.getMxy()
+                && transform.getMyy() == tx.getMyy()
+                && transform.getMyx() == tx.getMyx()
+                && transform.getMxz() == tx.getMxz()
+                && transform.getMyz() == tx.getMyz()
+                && transform.getMzx() == tx.getMzx()
+                && transform.getMzy() == tx.getMzy()
+                && transform.getMzz() == tx.getMzz()
+                && transform.getMzt() == tx.getMzt();
+        if (translationOnly) {
+            translatedOnly = true;
+        } else {
+            contentsChanged = true;
+        }
 
         // If the parent is cached, try to check if the transformation is only a translation
         if (parent != null && parent.cacheFilter != null && PrismSettings.scrollCacheOpt) {
@@ -363,16 +393,7 @@ public abstract class NGNode {
                 // call and we have nothing to compare to yet.
                 hint = new DirtyHint();
             } else {
-                if (transform.getMxx() == tx.getMxx()
-                        && transform.getMxy() == tx.getMxy()
-                        && transform.getMyy() == tx.getMyy()
-                        && transform.getMyx() == tx.getMyx()
-                        && transform.getMxz() == tx.getMxz()
-                        && transform.getMyz() == tx.getMyz()
-                        && transform.getMzx() == tx.getMzx()
-                        && transform.getMzy() == tx.getMzy()
-                        && transform.getMzz() == tx.getMzz()
-                        && transform.getMzt() == tx.getMzt()) {
+                if (translationOnly) {
                     useHint = true;
                     hint.translateXDelta = tx.getMxt() - transform.getMxt();
                     hint.translateYDelta = tx.getMyt() - transform.getMyt();
@@ -493,6 +514,17 @@ public abstract class NGNode {
             throw new IllegalArgumentException("Internal Error: cacheHint must not be null");
         }
 
+        if (autoCached) {
+            // The application takes over from the automatic cache
+            autoCached = false;
+            translatedRenders = 0;
+            if (!cached) {
+                cacheFilter.dispose();
+                cacheFilter = null;
+                return;
+            }
+        }
+
         if (cached) {
             if (cacheFilter == null) {
                 cacheFilter = new CacheFilter(this, cacheHint);
@@ -923,6 +955,7 @@ public abstract class NGNode {
      * reconstructed.
      */
     protected final void invalidateCache() {
+        contentsChanged = true;
         if (cacheFilter != null) {
             cacheFilter.invalidate();
         }
@@ -933,6 +966,7 @@ public abstract class NGNode {
      * might use this information for optimizations.
      */
     protected final void invalidateCacheByTranslation(DirtyHint hint) {
+        contentsChanged = true;
         if (cacheFilter != null) {
             cacheFilter.invalidateByTranslation(hint.translateXDelta, hint.translateYDelta);
         }
@@ -1993,6 +2027,10 @@ public abstract class NGNode {
             }
         }
 
+        if (PrismSettings.autoCacheRenders > 0 && this instanceof NGGroup) {
+            updateAutoCache(PrismSettings.autoCacheRenders);
+        }
+
         // save current depth test state
         boolean prevDepthTest = g.isDepthTest();
 
@@ -2347,6 +2385,40 @@ public abstract class NGNode {
         Effect.releaseCompatibleImage(fctx, img);
     }
 
+    /**
+     * Caches this group as a bitmap once it has been rendered
+     * threshold times in a row with nothing but its
+     * translation changed, so that moving it around reuses the cached
+     * bitmap instead of rendering the whole subtree again. The cache is
+     * dropped as soon as the contents of the group change, since rendering
+     * into the cache each frame costs more than rendering directly.
+     */
+    void updateAutoCache(int threshold) { // package private for testing
+        if (cacheFilter != null && !autoCached) {
+            // cached at the request of the application
+            return;
+        }
+        if (contentsChanged) {
+            translatedRenders = 0;
+            if (autoCached) {
+                autoCached = false;
+                cacheFilter.dispose();
+                cacheFilter = null;
+            }
+        } else if (translatedOnly) {
+            translatedRenders++;
+            if (cacheFilter == null && translatedRenders >= threshold) {
+                cacheFilter = new CacheFilter(this, CacheHint.DEFAULT);
+                autoCached = true;
+                if (PULSE_LOGGING_ENABLED) {
+                    PulseLogger.incrementCounter("Groups cached automatically");
+                }
+            }
+        }
+        contentsChanged = false;
+        translatedOnly = false;
+    }
+
     private void renderCached(Graphics g) {
         // We will punt on 3D completely for caching.
         // The first check is for any of its children contains a 3D Transform.
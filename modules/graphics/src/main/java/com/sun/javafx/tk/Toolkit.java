@@ -74,6 +74,7 @@ import com.sun.glass.ui.CommonDialogs.FileChooserResult;
 import com.sun.glass.utils.NativeLibLoader;
 import com.sun.javafx.PlatformUtil;
 import com.sun.javafx.beans.event.AbstractNotifyListener;
+import com.sun.javafx.binding.DeferredBindings;
 import com.sun.javafx.embed.HostInterface;
 import com.sun.javafx.geom.Path2D;
 import com.sun.javafx.geom.transform.BaseTransform;
@@ -249,6 +250,7 @@ public abstract class Toolkit {
                 if (printToolkit) {
                     System.err.println("JavaFX: using " + forcedToolkit);
                 }
+                DeferredBindings.setPulseRequest(TOOLKIT::requestNextPulse);
                 return TOOLKIT;
             }
             TOOLKIT = null;
@@ -401,6 +403,10 @@ public abstract class Toolkit {
     }
 
     public void firePulse() {
+        // Deferred bindings are updated first, so that the pulse listeners
+        // see their final values
+        DeferredBindings.flush();
+
         // Stages need to be notified of pulses before scenes so the Stage can resized
         // and those changes propogated to scene before it gets its pulse to update
 
@@ -90,6 +90,7 @@ final class PresentingPainter extends ViewPainter {
                 if (g != null) {
                     paintImpl(g);
                     freshBackBuffer = false;
+                    presentable.setDirtyRegions(getPaintedRegions(), getPaintedRegionCount());
                 }
 
                 if (PULSE_LOGGING_ENABLED) {
@@ -27,12 +27,15 @@ package com.sun.javafx.tk.quantum;
 
 import java.nio.IntBuffer;
 import com.sun.glass.ui.Pixels;
+import com.sun.javafx.geom.Rectangle;
+import com.sun.javafx.logging.PulseLogger;
 import com.sun.prism.Graphics;
 import com.sun.prism.GraphicsPipeline;
 import com.sun.prism.RTTexture;
 import com.sun.prism.Texture.WrapMode;
 import com.sun.prism.impl.Disposer;
 import com.sun.prism.impl.QueuedPixelSource;
+import static com.sun.javafx.logging.PulseLogger.PULSE_LOGGING_ENABLED;
 
 /**
  * UploadingPainter is used when we need to render into an offscreen buffer.
@@ -138,8 +141,11 @@ final class UploadingPainter extends ViewPainter implements Runnable {
             int outHeight = sceneState.getOutputHeight();
             float outScale = sceneState.getOutputScale();
             RTTexture rtt;
+            // The painted regions are only known in the coordinates of rttexture
+            Rectangle[] regions = getPaintedRegions();
             if (rttexture.isMSAA() || outWidth != bufWidth || outHeight != bufHeight) {
                 rtt = resolveRenderTarget(g, outWidth, outHeight);
+                regions = null;
             } else {
                 rtt = rttexture;
             }
@@ -150,13 +156,15 @@ final class UploadingPainter extends ViewPainter implements Runnable {
             int rawbits[] = rtt.getPixels();
 
             if (rawbits != null) {
-                bits.put(rawbits, 0, outWidth * outHeight);
+                pixelSource.copyPixels(rawbits, pix, regions, getPaintedRegionCount());
             } else {
                 if (!rtt.readPixels(bits)) {
                     /* device lost */
                     sceneState.getScene().entireSceneNeedsRepaint();
                     disposeRTTexture();
                     pix = null;
+                } else if (PULSE_LOGGING_ENABLED) {
+                    PulseLogger.incrementCounter("Bytes uploaded", outWidth * outHeight * 4);
                 }
             }
 
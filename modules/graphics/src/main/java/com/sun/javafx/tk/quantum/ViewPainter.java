@@ -108,6 +108,14 @@ abstract class ViewPainter implements Runnable {
     private GeneralTransform3D viewProjTx;
     private GeneralTransform3D projTx;
 
+    /**
+     * The regions of the back buffer, in device pixels, that were painted by
+     * the last call to paintImpl. If paintedRegionCount is negative then the
+     * whole back buffer was painted.
+     */
+    private Rectangle[] paintedRegions;
+    private int paintedRegionCount = -1;
+
     /**
      * This is used for drawing dirty regions and overdraw rectangles in cases where we are
      * not drawing the entire scene every time (specifically, when depth buffer is disabled).
@@ -139,6 +147,10 @@ abstract class ViewPainter implements Runnable {
             dirtyRegionTemp = new RectBounds();
             dirtyRegionPool = new DirtyRegionPool(PrismSettings.dirtyRegionCount);
             dirtyRegionContainer = dirtyRegionPool.checkOut();
+            paintedRegions = new Rectangle[PrismSettings.dirtyRegionCount];
+            for (int i = 0; i < paintedRegions.length; i++) {
+                paintedRegions[i] = new Rectangle();
+            }
         }
     }
 
@@ -163,6 +175,8 @@ abstract class ViewPainter implements Runnable {
     }
 
     protected void paintImpl(final Graphics backBufferGraphics) {
+        paintedRegionCount = -1;
+
         // We should not be painting anything with a width / height
         // that is <= 0, so we might as well bail right off.
         if (width <= 0 || height <= 0 || backBufferGraphics == null) {
@@ -302,6 +316,7 @@ abstract class ViewPainter implements Runnable {
             }
 
             // Paint each dirty region
+            paintedRegionCount = 0;
             for (int i = 0; i < dirtyRegionSize; ++i) {
                 final RectBounds dirtyRegion = dirtyRegionContainer.getDirtyRegion(i);
                 // TODO it should be impossible to have ever created a dirty region that was empty...
@@ -321,6 +336,12 @@ abstract class ViewPainter implements Runnable {
                     g.setClipRect(dirtyRect);
                     g.setClipRectIndex(i);
                     doPaint(g, getRootPath(i));
+                    // Record the device pixels touched by this dirty region
+                    final int x0 = (int) Math.floor(dirtyRegion.getMinX() * pixelScale);
+                    final int y0 = (int) Math.floor(dirtyRegion.getMinY() * pixelScale);
+                    final int x1 = (int) Math.ceil(dirtyRegion.getMaxX() * pixelScale);
+                    final int y1 = (int) Math.ceil(dirtyRegion.getMaxY() * pixelScale);
+                    paintedRegions[paintedRegionCount++].setBounds(x0, y0, x1 - x0, y1 - y0);
                 }
             }
         } else {
@@ -388,9 +409,25 @@ abstract class ViewPainter implements Runnable {
                 }
             }
             root.clearPainted();
+            // The dirty region overlays are drawn over the whole back buffer
+            paintedRegionCount = -1;
         }
     }
 
+    /**
+     * Returns the regions of the back buffer, in device pixels, that were
+     * painted by the last call to paintImpl, or null if the whole back buffer
+     * was painted. Only the first {@link #getPaintedRegionCount()} entries
+     * are valid.
+     */
+    protected final Rectangle[] getPaintedRegions() {
+        return paintedRegionCount < 0 ? null : paintedRegions;
+    }
+
+    protected final int getPaintedRegionCount() {
+        return Math.max(paintedRegionCount, 0);
+    }
+
     /**
      * Utility method for painting the overdraw rectangles. Right now we're using a computationally
      * intensive approach of having an array of integers (image data) that we then write to in the
@@ -33,6 +33,14 @@ public interface AlphaConsumer {
     public int getWidth();
     public int getHeight();
     public void setMaxAlpha(int maxalpha);
+    /**
+     * Consumes one row of coverage, given as deltas that accumulate from the
+     * origin, and resets the deltas to zero.  Only the pixels from
+     * firstdelta to lastdelta, inclusive, were touched by the shape, so all
+     * non-zero deltas lie between (firstdelta - originX) and
+     * (lastdelta - originX + 1).  The span is empty if firstdelta is greater
+     * than lastdelta.
+     */
     public void setAndClearRelativeAlphas(int alphaDeltas[], int pix_y,
                                           int firstdelta, int lastdelta);
 }
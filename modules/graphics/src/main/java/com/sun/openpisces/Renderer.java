@@ -467,11 +467,14 @@ public final class Renderer implements PathConsumer2D {
         // Now we iterate through the scanlines. We must tell emitRow the coord
         // of the first non-transparent pixel, so we must keep accumulators for
         // the first and last pixels of the section of the current pixel row
-        // that we will emit.
+        // that we will emit. They start out as an empty span so that the
+        // consumer only has to accumulate the pixels that were touched.
         // We also need to accumulate pix_bbox*, but the iterator does it
         // for us. We will just get the values from it once this loop is done
-        int pix_maxX = bboxx1 >> SUBPIXEL_LG_POSITIONS_X;
-        int pix_minX = bboxx0 >> SUBPIXEL_LG_POSITIONS_Y;
+        final int pix_bboxx0 = bboxx0 >> SUBPIXEL_LG_POSITIONS_X;
+        final int pix_bboxx1 = bboxx1 >> SUBPIXEL_LG_POSITIONS_X;
+        int pix_maxX = pix_bboxx0;
+        int pix_minX = pix_bboxx1;
 
         int y = boundsMinY; // needs to be declared here so we emit the last row properly.
         ScanlineIterator it = savedIterator;
@@ -534,8 +537,8 @@ public final class Renderer implements PathConsumer2D {
             if ((y & SUBPIXEL_MASK_Y) == SUBPIXEL_MASK_Y) {
                 ac.setAndClearRelativeAlphas(alpha, y >> SUBPIXEL_LG_POSITIONS_Y,
                                              pix_minX, pix_maxX);
-                pix_maxX = bboxx1 >> SUBPIXEL_LG_POSITIONS_X;
-                pix_minX = bboxx0 >> SUBPIXEL_LG_POSITIONS_Y;
+                pix_maxX = pix_bboxx0;
+                pix_minX = pix_bboxx1;
             }
         }
 
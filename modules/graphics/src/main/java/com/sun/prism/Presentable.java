@@ -52,6 +52,17 @@ public interface Presentable extends RenderTarget {
      */
     public boolean prepare(Rectangle dirtyregion);
 
+    /**
+     * Indicates which regions were rendered since the last call to
+     * {@link #prepare(Rectangle)}, so that a Presentable which copies its
+     * contents to the screen can copy only those regions. The regions are
+     * in device pixels and are only valid until the next call to prepare.
+     * @param regions the rendered regions or null for full area
+     * @param count the number of valid entries in regions
+     */
+    public default void setDirtyRegions(Rectangle[] regions, int count) {
+    }
+
     /**
      * present the prepared region to the user.
      */
@@ -55,6 +55,8 @@ public final class PrismSettings {
     public static final List<String> tryOrder;
     public static final int prismStatFrequency;
     public static final boolean doNativePisces;
+    public static final int swTiles;
+    public static final int autoCacheRenders;
     public static final String refType;
     public static final boolean forceRepaint;
     public static final boolean noFallback;
@@ -74,6 +76,7 @@ public final class PrismSettings {
     public static final boolean allowHiDPIScaling;
     public static final long maxVram;
     public static final long targetVram;
+    public static final long maskCacheSize;
     public static final boolean poolStats;
     public static final boolean poolDebug;
     public static final boolean disableEffects;
@@ -226,6 +229,17 @@ public final class PrismSettings {
             doNativePisces = Boolean.parseBoolean(npprop);
         }
 
+        // The number of horizontal tiles the shapes drawn to a window are
+        // rasterized in, in parallel, by the SW pipeline. 0 or 1 rasterizes
+        // them on the render thread. Tiles are only used with the Java
+        // rasterizer, not with prism.nativepisces.
+        swTiles = Utils.clamp(0, getInt(systemProperties, "prism.swtiles", 0, null), 64);
+
+        // The number of consecutive renders in which only the translation of
+        // a group changed after which the group is cached as a bitmap until
+        // its contents change. 0 disables the automatic caching.
+        autoCacheRenders = Math.max(0, getInt(systemProperties, "prism.autocache", 0, null));
+
         String primtex = systemProperties.getProperty("prism.primtextures");
         if (primtex == null) {
             primTextureSize = PlatformUtil.isEmbedded() ? -1 : 0;
@@ -251,6 +265,11 @@ public final class PrismSettings {
                           "Try -Dprism.maxvram=<long>[kKmMgG]");
         targetVram = getLong(systemProperties, "prism.targetvram", maxVram / 8, maxVram,
                              "Try -Dprism.targetvram=<long>[kKmMgG]|<double(0,100)>%");
+        // The number of bytes of shape masks kept by the mask cache, which
+        // includes the masks of shapes that are no longer being rendered
+        // until they are evicted to make room for new ones.
+        maskCacheSize = getLong(systemProperties, "prism.maskcachesize", 4 * 1024 * 1024,
+                                "Try -Dprism.maskcachesize=<long>[kKmMgG]");
         poolStats = getBoolean(systemProperties, "prism.poolstats", false);
         poolDebug = getBoolean(systemProperties, "prism.pooldebug", false);
 
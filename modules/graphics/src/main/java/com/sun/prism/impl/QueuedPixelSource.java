@@ -27,11 +27,14 @@ package com.sun.prism.impl;
 
 import com.sun.glass.ui.Application;
 import com.sun.glass.ui.Pixels;
+import com.sun.javafx.geom.Rectangle;
+import com.sun.javafx.logging.PulseLogger;
 import com.sun.prism.PixelSource;
 import java.lang.ref.WeakReference;
 import java.nio.IntBuffer;
 import java.util.ArrayList;
 import java.util.List;
+import static com.sun.javafx.logging.PulseLogger.PULSE_LOGGING_ENABLED;
 
 /**
  * Base concrete implementation of the {@code PixelSource} interface which
@@ -64,6 +67,9 @@ public class QueuedPixelSource implements PixelSource {
     private final List<WeakReference<Pixels>> saved =
          new ArrayList<WeakReference<Pixels>>(3);
     private final boolean useDirectBuffers;
+    // The most recently enqueued Pixels, whose contents are the last frame
+    // that was copied in by copyPixels.
+    private Pixels lastEnqueued;
 
     public QueuedPixelSource(boolean useDirectBuffers) {
         this.useDirectBuffers = useDirectBuffers;
@@ -169,5 +175,66 @@ public class QueuedPixelSource implements PixelSource {
      */
     public synchronized void enqueuePixels(Pixels pixels) {
         enqueued = pixels;
+        lastEnqueued = pixels;
+    }
+
+    /**
+     * Copy a frame into a {@code Pixels} object obtained from
+     * {@link #getUnusedPixels(int, int, float) getUnusedPixels()}.
+     * If the {@code Pixels} object still holds the frame that was last
+     * enqueued, then only the indicated regions, which must cover everything
+     * that changed since that frame, are copied. Otherwise the whole frame
+     * is copied.
+     * <p>
+     * This only helps render targets whose pixels live in a Java array.
+     * Hardware render targets are still read back in full with
+     * {@code RTTexture.readPixels()} by {@code UploadingPainter}.
+     *
+     * @param src the pixels of the frame, with a scanline stride equal to
+     *            the width of {@code dst}
+     * @param dst the {@code Pixels} object to copy the frame into
+     * @param regions the regions of the frame that changed since the last
+     *                enqueued frame, or null if the whole frame changed
+     * @param count the number of valid entries in {@code regions}
+     * @return the number of bytes copied
+     */
+    public int copyPixels(int[] src, Pixels dst, Rectangle[] regions, int count) {
+        int w = dst.getWidthUnsafe();
+        int h = dst.getHeightUnsafe();
+        IntBuffer bits = (IntBuffer) dst.getPixels();
+        synchronized (this) {
+            if (dst != lastEnqueued) {
+                regions = null;
+            }
+        }
+        if (regions == null) {
+            bits.put(src, 0, w * h);
+            if (PULSE_LOGGING_ENABLED) {
+                PulseLogger.incrementCounter("Bytes uploaded", w * h * 4);
+            }
+            return w * h * 4;
+        }
+        int copied = 0;
+        int copiedRegions = 0;
+        Rectangle r = new Rectangle();
+        for (int i = 0; i < count; i++) {
+            r.setBounds(0, 0, w, h);
+            r.intersectWith(regions[i]);
+            if (r.isEmpty()) {
+                continue;
+            }
+            for (int y = r.y; y < r.y + r.height; y++) {
+                int offset = y * w + r.x;
+                bits.position(offset);
+                bits.put(src, offset, r.width);
+            }
+            copied += r.width * r.height * 4;
+            copiedRegions++;
+        }
+        if (PULSE_LOGGING_ENABLED) {
+            PulseLogger.incrementCounter("Bytes uploaded", copied);
+            PulseLogger.incrementCounter("Regions uploaded", copiedRegions);
+        }
+        return copied;
     }
 }
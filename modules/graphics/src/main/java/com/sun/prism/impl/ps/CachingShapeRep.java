@@ -44,6 +44,8 @@ import com.sun.prism.impl.shape.MaskData;
 import com.sun.prism.ps.Shader;
 import java.util.Arrays;
 import java.util.Comparator;
+import com.sun.javafx.logging.PulseLogger;
+import static com.sun.javafx.logging.PulseLogger.PULSE_LOGGING_ENABLED;
 
 /**
  * An implementation of ShapeRep that attempts to cache and reuse the
@@ -69,8 +71,11 @@ import java.util.Comparator;
  * too noticeable.)
  *
  * The current implementation limits the size of the cache (512 pixels in
- * each dimension, and 4 MB in total) so that it doesn't grow without bound.
- * Space is granted on a first come first served basis.
+ * each dimension, and 4 MB in total by default, see prism.maskcachesize)
+ * so that it doesn't grow without bound.  Masks that are no longer used by
+ * any shape are kept until their space is needed, at which point the least
+ * recently used ones are evicted first.  This lets shapes that are culled
+ * or recreated while panning reuse their masks when they come back.
  */
 public class CachingShapeRep implements ShapeRep {
 
@@ -178,7 +183,8 @@ class CachingShapeRepState {
 
     private static class MaskCache {
         private static final int MAX_MASK_DIM = 512;
-        private static final int MAX_SIZE_IN_PIXELS = 4194304; // 4 MB
+        // masks use one byte per pixel
+        private static final long MAX_SIZE_IN_PIXELS = PrismSettings.maskCacheSize;
         private static Comparator<CacheEntry> comparator = (o1, o2) -> {
             int widthCompare = Float.compare(o1.xformBounds.getWidth(), o2.xformBounds.getWidth());
             if (widthCompare != 0) {
@@ -189,7 +195,18 @@ class CachingShapeRepState {
 
         private CacheEntry[] entries = new CacheEntry[8];
         private int entriesSize = 0;
-        private int totalPixels;
+
+        private final MaskCacheLRU<CacheEntry> lru = new MaskCacheLRU<CacheEntry>(MAX_SIZE_IN_PIXELS) {
+            @Override
+            int getPixels(CacheEntry entry) {
+                return entry.texData.maskW * entry.texData.maskH;
+            }
+
+            @Override
+            void evict(CacheEntry entry) {
+                freeEntry(entry);
+            }
+        };
 
         private CacheEntry tmpKey = new CacheEntry();
         {
@@ -247,7 +264,18 @@ class CachingShapeRepState {
             return
                 w <= MAX_MASK_DIM &&
                 h <= MAX_MASK_DIM &&
-                totalPixels + size <= MAX_SIZE_IN_PIXELS;
+                lru.hasRoom(size);
+        }
+
+        private void freeEntry(CacheEntry entry) {
+            removeEntry(entry);
+            entry.shape = null;
+            entry.stroke = null;
+            entry.xform = null;
+            entry.xformBounds = null;
+            entry.texData.maskTex.dispose();
+            entry.antialiasedShape = false;
+            entry.texData = null;
         }
 
         boolean entryMatches(CacheEntry entry, Shape shape, BasicStroke stroke, BaseTransform xform, boolean antialiasedShape) {
@@ -287,12 +315,25 @@ class CachingShapeRepState {
                 {
                     entry.texData.maskTex.lock();
                     if (entry.texData.maskTex.isSurfaceLost()) {
-                        // Eventually refcount will go to zero and entry will be freed
                         entry.texData.maskTex.unlock();
+                        if (entry.refCount == 0) {
+                            // no shape refers to the lost mask, so free it now
+                            lru.remove(entry);
+                            freeEntry(entry);
+                            i--;
+                            toPos--;
+                        }
+                        // Otherwise eventually refcount will go to zero and entry will be freed
                         continue;
                     }
                     // increment ref count for the chosen entry and
                     // link the given texData to it
+                    if (entry.refCount == 0) {
+                        lru.use(entry);
+                    }
+                    if (PULSE_LOGGING_ENABLED) {
+                        PulseLogger.incrementCounter("Shape mask cache hits");
+                    }
                     entry.refCount++;
                     entry.texData.copyInto(texData);
                     texData.cacheEntry = entry;
@@ -304,10 +345,14 @@ class CachingShapeRepState {
             }
 
             // did not find an existing mask; create a new one here
+            if (PULSE_LOGGING_ENABLED) {
+                PulseLogger.incrementCounter("Shape mask cache misses");
+            }
             MaskData maskData =
                 ShapeUtil.rasterizeShape(shape, stroke, xformBounds, xform, true, antialiasedShape);
             int mw = maskData.getWidth();
             int mh = maskData.getHeight();
+            lru.makeRoom(mw*mh);
             texData.maskX = maskData.getOriginX();
             texData.maskY = maskData.getOriginY();
             texData.maskW = mw;
@@ -331,7 +376,7 @@ class CachingShapeRepState {
             entry.refCount = 1;
             texData.cacheEntry = entry;
             addEntry(entry);
-            totalPixels += mw*mh;
+            lru.add(entry);
         }
 
         void unref(MaskTexData texData) {
@@ -346,15 +391,8 @@ class CachingShapeRepState {
             texData.maskTex = null;
             entry.refCount--;
             if (entry.refCount <= 0) {
-                removeEntry(entry);
-                entry.shape = null;
-                entry.stroke = null;
-                entry.xform = null;
-                entry.xformBounds = null;
-                entry.texData.maskTex.dispose();
-                entry.antialiasedShape = false;
-                entry.texData = null;
-                totalPixels -= (texData.maskW * texData.maskH);
+                // keep the mask around until its space is needed
+                lru.release(entry);
             }
         }
     }
@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2018, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.prism.impl.ps;
+
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import com.sun.javafx.logging.PulseLogger;
+import static com.sun.javafx.logging.PulseLogger.PULSE_LOGGING_ENABLED;
+
+/**
+ * Keeps count of the pixels held by the masks of a mask cache, and keeps
+ * the entries that no shape refers to in the order in which they were last
+ * used, so that the least recently used ones can be evicted when the cache
+ * needs room for a new mask.
+ *
+ * @param <E> the type of the cache entries
+ */
+abstract class MaskCacheLRU<E> {
+    private final long maxPixels;
+    private long totalPixels;
+
+    // The entries that are not referenced by any shape, in the order in
+    // which they were last used, and the number of pixels they hold
+    private final LinkedHashSet<E> unusedEntries = new LinkedHashSet<>();
+    private long unusedPixels;
+
+    MaskCacheLRU(long maxPixels) {
+        this.maxPixels = maxPixels;
+    }
+
+    /**
+     * Returns the number of pixels of the mask of the given entry.
+     */
+    abstract int getPixels(E entry);
+
+    /**
+     * Frees the mask of an entry that was evicted to make room. The entry
+     * is no longer counted when this is called.
+     */
+    abstract void evict(E entry);
+
+    long getTotalPixels() {
+        return totalPixels;
+    }
+
+    long getUnusedPixels() {
+        return unusedPixels;
+    }
+
+    /**
+     * Returns true if a mask of the given number of pixels fits in the
+     * cache, once the unused entries are evicted if need be.
+     */
+    boolean hasRoom(int size) {
+        return totalPixels - unusedPixels + size <= maxPixels;
+    }
+
+    /**
+     * Evicts the least recently used unused entries until there is
+     * room for a mask of the given number of pixels.
+     */
+    void makeRoom(int size) {
+        Iterator<E> iterator = unusedEntries.iterator();
+        while (totalPixels + size > maxPixels && iterator.hasNext()) {
+            E entry = iterator.next();
+            iterator.remove();
+            int pixels = getPixels(entry);
+            unusedPixels -= pixels;
+            totalPixels -= pixels;
+            evict(entry);
+            if (PULSE_LOGGING_ENABLED) {
+                PulseLogger.incrementCounter("Shape mask cache evictions");
+            }
+        }
+    }
+
+    /**
+     * Counts a new entry, which is referenced by the shape it was created
+     * for.
+     */
+    void add(E entry) {
+        totalPixels += getPixels(entry);
+    }
+
+    /**
+     * Stops counting an entry that is being freed by the cache itself.
+     */
+    void remove(E entry) {
+        int pixels = getPixels(entry);
+        if (unusedEntries.remove(entry)) {
+            unusedPixels -= pixels;
+        }
+        totalPixels -= pixels;
+    }
+
+    /**
+     * Marks an entry as referenced by a shape again, so that it can no
+     * longer be evicted.
+     */
+    void use(E entry) {
+        if (unusedEntries.remove(entry)) {
+            unusedPixels -= getPixels(entry);
+        }
+    }
+
+    /**
+     * Marks an entry as no longer referenced by any shape. Its mask is kept
+     * until its space is needed.
+     */
+    void release(E entry) {
+        if (unusedEntries.add(entry)) {
+            unusedPixels += getPixels(entry);
+        }
+        makeRoom(0);
+    }
+}
@@ -35,6 +35,7 @@ import com.sun.openpisces.Renderer;
 import com.sun.prism.BasicStroke;
 import com.sun.prism.impl.PrismSettings;
 import java.nio.ByteBuffer;
+import java.util.Arrays;
 
 public class OpenPiscesRasterizer implements ShapeRasterizer {
     private static MaskData emptyData = MaskData.create(new byte[1], 0, 0, 1, 1);
@@ -174,54 +175,48 @@ public class OpenPiscesRasterizer implements ShapeRasterizer {
         }
 
         @Override
-        public void setAndClearRelativeAlphas(int[] alphaRow, int pix_y,
+        public void setAndClearRelativeAlphas(int[] alphaDeltas, int pix_y,
                                               int pix_from, int pix_to)
         {
-//            System.out.println("setting row "+(pix_y - y)+
-//                               " out of "+width+" x "+height);
             int w = width;
             int off = (pix_y - y) * w;
             byte out[] = this.alphas;
             byte map[] = this.alphaMap;
+
+            // Only the pixels from pix_from to pix_to were touched, the rest
+            // of the row is transparent.
+            int from = Math.max(pix_from - x, 0);
+            int to = Math.min(pix_to - x + 1, w);
+            if (from >= to) {
+                Arrays.fill(out, off, off + w, (byte) 0);
+                from = to = 0;
+            } else {
+                Arrays.fill(out, off, off + from, (byte) 0);
+                Arrays.fill(out, off + to, off + w, (byte) 0);
+            }
             int a = 0;
-            for (int i = 0; i < w; i++) {
-                a += alphaRow[i];
-                alphaRow[i] = 0;
+            int i = from;
+            while (i < to) {
+                a += alphaDeltas[i];
+                alphaDeltas[i] = 0;
                 out[off+i] = map[a];
-            }
-        }
-
-        public void setAndClearRelativeAlphas2(int[] alphaDeltas, int pix_y,
-                                               int pix_from, int pix_to)
-        {
-            if (pix_to >= pix_from) {
-                byte out[] = this.alphas;
-                byte map[] = this.alphaMap;
-                int from = pix_from - x;
-                int to = pix_to - x;
-                int w = width;
-                int off = (pix_y - y) * w;
-
-                int i = 0;
-                while (i < from) {
-                    out[off+i] = 0;
-                    i++;
+                i++;
+                // The coverage does not change until the next delta, so the
+                // whole run is filled at once.
+                int run = i;
+                while (run < to && alphaDeltas[run] == 0) {
+                    run++;
                 }
-                int curAlpha = 0;
-                while (i <= to) {
-                    curAlpha += alphaDeltas[i];
-                    alphaDeltas[i] = 0;
-                    byte a = map[curAlpha];
-                    out[off+i] = a;
-                    i++;
+                if (run > i) {
+                    Arrays.fill(out, off + i, off + run, map[a]);
+                    i = run;
                 }
+            }
+            // The deltas that close the span lie just past its last pixel
+            int last = Math.min(pix_to - x + 1, w + 1);
+            while (i <= last) {
                 alphaDeltas[i] = 0;
-                while (i < w) {
-                    out[off+i] = 0;
-                    i++;
-                }
-            } else {
-                java.util.Arrays.fill(alphaDeltas, 0);
+                i++;
             }
         }
     }
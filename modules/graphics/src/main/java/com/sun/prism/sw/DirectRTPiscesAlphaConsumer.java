@@ -37,10 +37,19 @@ final class DirectRTPiscesAlphaConsumer implements AlphaConsumer {
     private int w;
     private int h;
     private int rowNum;
+    private int offsetY;
 
     private PiscesRenderer pr;
 
     void initConsumer(Renderer renderer, PiscesRenderer pr) {
+        initConsumer(renderer, pr, 0);
+    }
+
+    /**
+     * Emits the rows to pr offsetY rows above where they were rasterized,
+     * for a renderer whose surface starts at row offsetY.
+     */
+    void initConsumer(Renderer renderer, PiscesRenderer pr, int offsetY) {
         outpix_xmin = renderer.getOutpixMinX();
         outpix_ymin = renderer.getOutpixMinY();
         w = renderer.getOutpixMaxX() - outpix_xmin;
@@ -48,6 +57,7 @@ final class DirectRTPiscesAlphaConsumer implements AlphaConsumer {
         h = renderer.getOutpixMaxY() - outpix_ymin;
         if (h < 0) { h = 0; }
         rowNum = 0;
+        this.offsetY = offsetY;
         this.pr = pr;
     }
 
@@ -83,7 +93,11 @@ final class DirectRTPiscesAlphaConsumer implements AlphaConsumer {
 
     @Override
     public void setAndClearRelativeAlphas(int[] alphaDeltas, int pix_y, int firstdelta, int lastdelta) {
-        pr.emitAndClearAlphaRow(alpha_map, alphaDeltas, pix_y, firstdelta, lastdelta, rowNum);
+        if (firstdelta <= lastdelta) {
+            // The native blit loops index alphaDeltas from the pixel they
+            // start at, so always emit the whole row.
+            pr.emitAndClearAlphaRow(alpha_map, alphaDeltas, pix_y - offsetY, outpix_xmin, outpix_xmin + w, rowNum);
+        }
         rowNum++;
     }
 }
@@ -73,10 +73,12 @@ final class SWGraphics implements ReadbackGraphics {
     private final SWContext context;
     private final SWRTTexture target;
     private final SWPaint swPaint;
+    private final SWTileRenderer tiles;
 
     private final BaseTransform tx = new Affine2D();
 
     private CompositeMode compositeMode = CompositeMode.SRC_OVER;
+    private int piscesCompositeRule = RendererBase.COMPOSITE_SRC_OVER;
 
     private Rectangle clip;
     private final Rectangle finalClip = new Rectangle();
@@ -111,6 +113,7 @@ final class SWGraphics implements ReadbackGraphics {
         this.context = context;
         this.pr = pr;
         this.swPaint = new SWPaint(context, pr);
+        this.tiles = target.getTileRenderer();
 
         this.setClipRect(null);
     }
@@ -340,9 +343,20 @@ final class SWGraphics implements ReadbackGraphics {
             default:
                 throw new InternalError("Unrecognized composite mode: "+mode);
         }
+        this.piscesCompositeRule = piscesComp;
         this.pr.setCompositeRule(piscesComp);
     }
 
+    /**
+     * Rasterizes the shapes recorded by the tile renderer of the target, if
+     * any, so that the pixels of the target can be drawn or read directly.
+     */
+    private void flushTiles() {
+        if (tiles != null) {
+            tiles.flush();
+        }
+    }
+
     public void setNodeBounds(RectBounds bounds) {
         if (PrismSettings.debug) {
             System.out.println("+ SWG.setNodeBounds: " + bounds);
@@ -364,6 +378,7 @@ final class SWGraphics implements ReadbackGraphics {
         if (PrismSettings.debug) {
             System.out.println("+ PR.clear: " + color);
         }
+        flushTiles();
         this.swPaint.setColor(color, 1f);
         pr.clearRect(0, 0, target.getPhysicalWidth(), target.getPhysicalHeight());
         getRenderTarget().setOpaque(color.isOpaque());
@@ -420,6 +435,7 @@ final class SWGraphics implements ReadbackGraphics {
             tx.transform(p2, p2);
 
             if (this.paint.getType() == Paint.Type.IMAGE_PATTERN) {
+                flushTiles();
                 // we can call pr.drawImage(...) directly
                 final ImagePattern ip = (ImagePattern)this.paint;
                 if (ip.getImage().getPixelFormat() == PixelFormat.BYTE_ALPHA) {
@@ -450,6 +466,11 @@ final class SWGraphics implements ReadbackGraphics {
                             0, 0, tex.getContentWidth()-1, tex.getContentHeight()-1,
                             tex.hasAlpha());
                 }
+            } else if (tiles != null) {
+                tiles.fillRect(this.paint, this.tx, this.nodeBounds, x, y, width, height,
+                        (int)(Math.min(p1.x, p2.x) * SWUtils.TO_PISCES), (int)(Math.min(p1.y, p2.y) * SWUtils.TO_PISCES),
+                        (int)(Math.abs(p2.x - p1.x) * SWUtils.TO_PISCES), (int)(Math.abs(p2.y - p1.y) * SWUtils.TO_PISCES),
+                        this.piscesCompositeRule, swPaint.getCompositeAlpha(), this.finalClip);
             } else {
                 swPaint.setPaintFromShape(this.paint, this.tx, null, this.nodeBounds, x, y, width, height);
                 this.pr.fillRect((int)(Math.min(p1.x, p2.x) * SWUtils.TO_PISCES), (int)(Math.min(p1.y, p2.y) * SWUtils.TO_PISCES),
@@ -489,6 +510,15 @@ final class SWGraphics implements ReadbackGraphics {
             }
             return;
         }
+        if (tiles != null) {
+            if (this.paint.getType() != Paint.Type.IMAGE_PATTERN) {
+                tiles.renderShape(this.paint, this.tx, this.nodeBounds, shape, st, tr,
+                        this.piscesCompositeRule, swPaint.getCompositeAlpha(), this.finalClip,
+                        isAntialiasedShape());
+                return;
+            }
+            flushTiles();
+        }
         swPaint.setPaintFromShape(this.paint, this.tx, shape, this.nodeBounds, 0,0,0,0);
         this.paintShapePaintAlreadySet(shape, st, tr);
     }
@@ -574,6 +604,7 @@ final class SWGraphics implements ReadbackGraphics {
                     ", x: " + x + ", y: " + y +
                     ", selectStart: " + selectStart + ", selectEnd: " + selectEnd);
         }
+        flushTiles();
 
         final float bx, by, bw, bh;
         if (paint.isProportional()) {
@@ -708,6 +739,10 @@ final class SWGraphics implements ReadbackGraphics {
             System.out.println("Composite rule: " + compositeMode);
         }
 
+        flushTiles();
+        if (tex instanceof SWRTTexture) {
+            ((SWRTTexture) tex).flushTiles();
+        }
         final SWArgbPreTexture swTex = (SWArgbPreTexture) tex;
         int data[] = swTex.getDataNoClone();
 
@@ -903,6 +938,7 @@ final class SWGraphics implements ReadbackGraphics {
             System.out.println("+ readBack, rect: " + view + ", target.dims: " + target.getDimensions());
         }
 
+        flushTiles();
         final int w = Math.max(1, view.width);
         final int h = Math.max(1, view.height);
         final SWRTTexture rbb = context.validateRBBuffer(w, h);
@@ -29,6 +29,7 @@ import com.sun.glass.ui.Pixels;
 import com.sun.javafx.geom.Rectangle;
 import com.sun.prism.Presentable;
 import com.sun.prism.PresentableState;
+import com.sun.prism.impl.PrismSettings;
 import com.sun.prism.impl.QueuedPixelSource;
 import java.nio.IntBuffer;
 
@@ -37,10 +38,17 @@ final class SWPresentable extends SWRTTexture implements Presentable {
     private final PresentableState pState;
     private Pixels pixels;
     private QueuedPixelSource pixelSource = new QueuedPixelSource(false);
+    private Rectangle[] dirtyRegions;
+    private int dirtyRegionCount;
 
     public SWPresentable(PresentableState pState, SWResourceFactory factory) {
         super(factory, pState.getRenderWidth(), pState.getRenderHeight());
         this.pState = pState;
+        // The tiles rasterize with the Java rasterizer, so they would give
+        // different masks than the native one
+        if (PrismSettings.swTiles > 1 && !PrismSettings.doNativePisces) {
+            enableTiles(PrismSettings.swTiles);
+        }
     }
 
     @Override
@@ -49,20 +57,29 @@ final class SWPresentable extends SWRTTexture implements Presentable {
                 getPhysicalHeight() != pState.getRenderHeight());
     }
 
+    @Override
+    public void setDirtyRegions(Rectangle[] regions, int count) {
+        dirtyRegions = regions;
+        dirtyRegionCount = count;
+    }
+
     public boolean prepare(Rectangle dirtyregion) {
+        flushTiles();
+        Rectangle[] regions = dirtyRegions;
+        dirtyRegions = null;
         if (!pState.isViewClosed()) {
             /*
              * RT-27374
              * TODO: make sure the imgrep matches the Pixels.getNativeFormat()
-             * TODO: dirty region support
              */
             int w = getPhysicalWidth();
             int h = getPhysicalHeight();
             pixels = pixelSource.getUnusedPixels(w, h, 1.0f);
-            IntBuffer pixBuf = (IntBuffer) pixels.getPixels();
             IntBuffer buf = getSurface().getDataIntBuffer();
             assert buf.hasArray();
-            System.arraycopy(buf.array(), 0, pixBuf.array(), 0, w*h);
+            // Only the dirty regions are copied when pixels still holds the
+            // previous frame
+            pixelSource.copyPixels(buf.array(), pixels, regions, dirtyRegionCount);
             return true;
         } else {
             return false;
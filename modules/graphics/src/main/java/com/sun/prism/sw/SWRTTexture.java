@@ -44,6 +44,7 @@ class SWRTTexture extends SWArgbPreTexture implements RTTexture {
     private JavaSurface surface;
     private final Rectangle dimensions = new Rectangle();
     private boolean isOpaque;
+    private SWTileRenderer tileRenderer;
 
     SWRTTexture(SWResourceFactory factory, int w, int h) {
         super(factory, WrapMode.CLAMP_TO_ZERO, w, h);
@@ -56,8 +57,40 @@ class SWRTTexture extends SWArgbPreTexture implements RTTexture {
         return this.surface;
     }
 
+    /**
+     * Rasterizes the shapes drawn to this texture in tiles in parallel
+     * from now on.
+     */
+    void enableTiles(int tileCount) {
+        tileRenderer = new SWTileRenderer(getResourceFactory().getContext(), surface, tileCount);
+    }
+
+    SWTileRenderer getTileRenderer() {
+        return tileRenderer;
+    }
+
+    @Override
+    public void dispose() {
+        if (tileRenderer != null) {
+            tileRenderer.dispose();
+            tileRenderer = null;
+        }
+        super.dispose();
+    }
+
+    /**
+     * Rasterizes the shapes recorded for this texture, if any. This must be
+     * called before the pixels of the texture are read or drawn directly.
+     */
+    void flushTiles() {
+        if (tileRenderer != null) {
+            tileRenderer.flush();
+        }
+    }
+
     @Override
     public int[] getPixels() {
+        flushTiles();
         if (contentWidth == physicalWidth) {
             return getDataNoClone();
         } else {
@@ -80,6 +113,7 @@ class SWRTTexture extends SWArgbPreTexture implements RTTexture {
         if (PrismSettings.debug) {
             System.out.println("+ SWRTT.readPixels: this: " + this);
         }
+        flushTiles();
 
         final int pixbuf[] = getDataNoClone();
         pixels.clear();
@@ -0,0 +1,354 @@
+/*
+ * Copyright (c) 2018, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.prism.sw;
+
+import com.sun.javafx.geom.PathConsumer2D;
+import com.sun.javafx.geom.PathIterator;
+import com.sun.javafx.geom.RectBounds;
+import com.sun.javafx.geom.Rectangle;
+import com.sun.javafx.geom.Shape;
+import com.sun.javafx.geom.transform.Affine2D;
+import com.sun.javafx.geom.transform.BaseTransform;
+import com.sun.openpisces.Dasher;
+import com.sun.openpisces.Renderer;
+import com.sun.openpisces.Stroker;
+import com.sun.openpisces.TransformingPathConsumer2D;
+import com.sun.pisces.JavaSurface;
+import com.sun.pisces.PiscesRenderer;
+import com.sun.pisces.RendererBase;
+import com.sun.prism.BasicStroke;
+import com.sun.prism.impl.shape.OpenPiscesPrismUtils;
+import com.sun.prism.paint.Paint;
+
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Records the rectangles and shapes drawn to a surface and rasterizes them
+ * in horizontal tiles in parallel when flushed. Each tile has its own
+ * surface holding a copy of its rows, its own PiscesRenderer and its own
+ * Java rasterizer, and replays all recorded operations in order, so the
+ * pixels of each tile are composited exactly as if the operations had been
+ * drawn one at a time. The native renderer must not share a surface between
+ * threads, which is why the rows are copied in and out rather than drawn in
+ * place. The recorded operations must be flushed before anything else
+ * touches the pixels of the surface.
+ */
+final class SWTileRenderer {
+
+    private static ExecutorService executor;
+
+    private static synchronized ExecutorService getExecutor(final int nThreads) {
+        if (executor == null) {
+            executor = AccessController.doPrivileged((PrivilegedAction<ExecutorService>) () ->
+                    Executors.newFixedThreadPool(nThreads, r -> {
+                        final Thread thread = new Thread(r, "SW Tile Renderer");
+                        thread.setDaemon(true);
+                        return thread;
+                    }));
+        }
+        return executor;
+    }
+
+    private final JavaSurface surface;
+    private final int[] data;
+    private Tile[] tiles;
+    private final List<Op> ops = new ArrayList<>();
+    private final List<Future<?>> pending = new ArrayList<>();
+
+    SWTileRenderer(SWContext context, JavaSurface surface, int tileCount) {
+        this.surface = surface;
+        this.data = surface.getDataIntBuffer().array();
+        this.tiles = new Tile[tileCount];
+        for (int i = 0; i < tileCount; i++) {
+            tiles[i] = new Tile(context);
+        }
+    }
+
+    /**
+     * Records a fill of the given device space rectangle, in pisces
+     * coordinates, with a paint that is not an image pattern.
+     */
+    void fillRect(Paint paint, BaseTransform paintTx, RectBounds nodeBounds,
+                  float x, float y, float width, float height,
+                  int px, int py, int pw, int ph,
+                  int compositeRule, float compositeAlpha, Rectangle clip)
+    {
+        final Op op = new Op(paint, paintTx, nodeBounds, compositeRule, compositeAlpha, clip);
+        op.x = x;
+        op.y = y;
+        op.width = width;
+        op.height = height;
+        op.px = px;
+        op.py = py;
+        op.pw = pw;
+        op.ph = ph;
+        op.minY = Math.floorDiv(py, SWUtils.TO_PISCES);
+        op.maxY = Math.floorDiv(py + ph, SWUtils.TO_PISCES) + 1;
+        add(op);
+    }
+
+    /**
+     * Records a fill, or a stroke if stroke is not null, of the given shape
+     * with a paint that is not an image pattern.
+     */
+    void renderShape(Paint paint, BaseTransform paintTx, RectBounds nodeBounds,
+                     Shape shape, BasicStroke stroke, BaseTransform shapeTx,
+                     int compositeRule, float compositeAlpha, Rectangle clip,
+                     boolean antialiasedShape)
+    {
+        final Op op = new Op(paint, paintTx, nodeBounds, compositeRule, compositeAlpha, clip);
+        // The paint bounds are computed from the original shape
+        op.paintShape = shape.copy();
+        if (stroke != null && stroke.getType() != BasicStroke.TYPE_CENTERED) {
+            // See SWContext.JavaShapeRenderer
+            op.shape = stroke.createStrokedShape(shape);
+            op.stroke = null;
+        } else {
+            op.shape = op.paintShape;
+            op.stroke = stroke == null ? null : stroke.copy();
+        }
+        op.shapeTx = shapeTx.copy();
+        op.antialiasedShape = antialiasedShape;
+
+        final RectBounds bounds = new RectBounds();
+        op.shapeTx.transform(op.shape.getBounds(), bounds);
+        float pad = 1;
+        if (op.stroke != null) {
+            final double scale = Math.max(Math.hypot(shapeTx.getMxx(), shapeTx.getMyx()),
+                                          Math.hypot(shapeTx.getMxy(), shapeTx.getMyy()));
+            pad += op.stroke.getLineWidth() * Math.max(op.stroke.getMiterLimit(), 1f) * scale;
+        }
+        op.minY = (int) Math.floor(bounds.getMinY() - pad);
+        op.maxY = (int) Math.ceil(bounds.getMaxY() + pad);
+        add(op);
+    }
+
+    private void add(Op op) {
+        if (op.minY < op.clip.y) op.minY = op.clip.y;
+        if (op.maxY > op.clip.y + op.clip.height) op.maxY = op.clip.y + op.clip.height;
+        if (op.minY < op.maxY) {
+            ops.add(op);
+        }
+    }
+
+    /**
+     * Rasterizes all recorded operations into the surface and waits for
+     * them to complete.
+     */
+    void flush() {
+        if (ops.isEmpty() || tiles == null) {
+            return;
+        }
+        final int width = surface.getWidth();
+        final int height = surface.getHeight();
+        final int tileHeight = (height + tiles.length - 1) / tiles.length;
+        for (int i = 0; i < tiles.length; i++) {
+            final int y = i * tileHeight;
+            tiles[i].setBounds(y, width, Math.max(0, Math.min(tileHeight, height - y)), tileHeight);
+        }
+        try {
+            final ExecutorService ex = getExecutor(tiles.length - 1);
+            for (int i = 1; i < tiles.length; i++) {
+                pending.add(ex.submit(tiles[i]));
+            }
+            // The render thread rasterizes the first tile itself
+            tiles[0].run();
+            for (Future<?> f : pending) {
+                f.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+            if (cause instanceof Error) throw (Error) cause;
+            throw new RuntimeException(cause);
+        } finally {
+            pending.clear();
+            ops.clear();
+        }
+    }
+
+    /**
+     * Drops the recorded operations and the tile renderers and surfaces.
+     */
+    void dispose() {
+        ops.clear();
+        tiles = null;
+    }
+
+    private static final class Op {
+        final Paint paint;
+        final BaseTransform paintTx;
+        final RectBounds nodeBounds;
+        final int compositeRule;
+        final float compositeAlpha;
+        final Rectangle clip;
+
+        // the device space rows touched by the operation
+        int minY, maxY;
+
+        // fillRect
+        float x, y, width, height;
+        int px, py, pw, ph;
+
+        // renderShape
+        Shape paintShape;
+        Shape shape;
+        BasicStroke stroke;
+        BaseTransform shapeTx;
+        boolean antialiasedShape;
+
+        Op(Paint paint, BaseTransform paintTx, RectBounds nodeBounds,
+           int compositeRule, float compositeAlpha, Rectangle clip)
+        {
+            this.paint = paint;
+            this.paintTx = paintTx.copy();
+            this.nodeBounds = nodeBounds == null ? null : new RectBounds(nodeBounds);
+            this.compositeRule = compositeRule;
+            this.compositeAlpha = compositeAlpha;
+            this.clip = new Rectangle(clip);
+        }
+    }
+
+    private final class Tile implements Runnable {
+        private final SWContext context;
+        private int[] tileData;
+        private PiscesRenderer pr;
+        private SWPaint swPaint;
+        private final Renderer aaRenderer = new Renderer(3, 3);
+        private final Renderer renderer = new Renderer(0, 0);
+        private final Stroker stroker = new Stroker(renderer);
+        private final Dasher dasher = new Dasher(stroker);
+        private final TransformingPathConsumer2D.FilterSet transformer =
+            new TransformingPathConsumer2D.FilterSet();
+        private final DirectRTPiscesAlphaConsumer alphaConsumer = new DirectRTPiscesAlphaConsumer();
+        private final Affine2D paintTx = new Affine2D();
+        private final Rectangle tile = new Rectangle();
+        private final Rectangle clip = new Rectangle();
+
+        Tile(SWContext context) {
+            this.context = context;
+        }
+
+        /**
+         * Places the tile at the given rows of the surface, creating its own
+         * surface of capacity rows if the size of the surface has changed.
+         */
+        void setBounds(int y, int width, int height, int capacity) {
+            tile.setBounds(0, y, width, height);
+            if (pr == null || tileData.length != width * capacity) {
+                tileData = new int[width * capacity];
+                pr = new PiscesRenderer(new JavaSurface(tileData, RendererBase.TYPE_INT_ARGB_PRE,
+                                                        width, capacity));
+                swPaint = new SWPaint(context, pr);
+            }
+        }
+
+        private boolean isTouched() {
+            for (int i = 0, max = ops.size(); i < max; i++) {
+                final Op op = ops.get(i);
+                if (op.maxY > tile.y && op.minY < tile.y + tile.height) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public void run() {
+            if (tile.isEmpty() || !isTouched()) {
+                return;
+            }
+            // The tile surface holds the rows of the tile, so everything
+            // is drawn translated up by the first row of the tile
+            final int tileMinY = tile.y;
+            final int tileMaxY = tile.y + tile.height;
+            final int offset = tileMinY * tile.width;
+            final int length = tile.height * tile.width;
+            System.arraycopy(data, offset, tileData, 0, length);
+            for (int i = 0, max = ops.size(); i < max; i++) {
+                final Op op = ops.get(i);
+                if (op.maxY <= tileMinY || op.minY >= tileMaxY) {
+                    continue;
+                }
+                clip.setBounds(op.clip);
+                clip.intersectWith(tile);
+                if (clip.isEmpty()) {
+                    continue;
+                }
+                pr.setClip(clip.x, clip.y - tileMinY, clip.width, clip.height);
+                pr.setCompositeRule(op.compositeRule);
+                swPaint.setCompositeAlpha(op.compositeAlpha);
+                paintTx.setToTranslation(0, -tileMinY);
+                paintTx.concatenate(op.paintTx);
+                if (op.shape == null) {
+                    swPaint.setPaintFromShape(op.paint, paintTx, null, op.nodeBounds,
+                                              op.x, op.y, op.width, op.height);
+                    pr.fillRect(op.px, op.py - tileMinY * SWUtils.TO_PISCES, op.pw, op.ph);
+                } else {
+                    swPaint.setPaintFromShape(op.paint, paintTx, op.paintShape, op.nodeBounds,
+                                              0, 0, 0, 0);
+                    // The shape is rasterized in surface coordinates, only
+                    // the rows are emitted translated
+                    final Renderer r = op.antialiasedShape ? aaRenderer : renderer;
+                    final PathIterator pi = op.shape.getPathIterator(null);
+                    OpenPiscesPrismUtils.feedConsumer(pi, initRenderer(op, pi.getWindingRule(), r));
+                    alphaConsumer.initConsumer(r, pr, tileMinY);
+                    r.produceAlphas(alphaConsumer);
+                }
+            }
+            System.arraycopy(tileData, 0, data, offset, length);
+        }
+        // See OpenPiscesPrismUtils.initRenderer
+        private PathConsumer2D initRenderer(Op op, int pirule, Renderer r) {
+            final BasicStroke stroke = op.stroke;
+            final int oprule = (stroke == null && pirule == PathIterator.WIND_EVEN_ODD) ?
+                Renderer.WIND_EVEN_ODD : Renderer.WIND_NON_ZERO;
+            r.reset(clip.x, clip.y, clip.width, clip.height, oprule);
+            PathConsumer2D ret = transformer.getConsumer(r, op.shapeTx);
+            if (stroke != null) {
+                stroker.reset(stroke.getLineWidth(), stroke.getEndCap(),
+                              stroke.getLineJoin(), stroke.getMiterLimit());
+                stroker.setConsumer(ret);
+                ret = stroker;
+                final float dashes[] = stroke.getDashArray();
+                if (dashes != null) {
+                    dasher.reset(dashes, stroke.getDashPhase());
+                    ret = dasher;
+                }
+            }
+            return ret;
+        }
+    }
+}
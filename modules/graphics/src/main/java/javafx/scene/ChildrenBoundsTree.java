@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2018, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package javafx.scene;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import com.sun.javafx.geom.BaseBounds;
+
+/**
+ * A segment tree over the bounds in parent of the children of a
+ * {@link Parent}. Every inner node holds the union of the bounds of its two
+ * subtrees, so the bounds of one child can be replaced and the union of all
+ * children recomputed in O(log n), no matter which child defines the edges
+ * of the parent's bounds. Children that are invisible or have empty bounds
+ * are stored as empty leaves.
+ * <p>
+ * The tree is bound to the order of the children at the time it was created
+ * and has to be dropped whenever the children list changes.
+ */
+final class ChildrenBoundsTree {
+
+    private final Map<Node, Integer> leaves;
+    private final int capacity;
+    private final float[] minX, minY, minZ, maxX, maxY, maxZ;
+
+    ChildrenBoundsTree(int size) {
+        int cap = 1;
+        while (cap < size) {
+            cap <<= 1;
+        }
+        capacity = cap;
+        leaves = new IdentityHashMap<Node, Integer>(size);
+        minX = new float[2 * cap];
+        minY = new float[2 * cap];
+        minZ = new float[2 * cap];
+        maxX = new float[2 * cap];
+        maxY = new float[2 * cap];
+        maxZ = new float[2 * cap];
+        for (int i = 1; i < 2 * cap; i++) {
+            setEmpty(i);
+        }
+    }
+
+    /**
+     * Sets the bounds of the child at the given index without updating the
+     * inner nodes. Used to fill the tree before {@link #build()}.
+     *
+     * @param bounds the bounds in parent, or null if the child is not visible
+     */
+    void init(int index, Node node, BaseBounds bounds) {
+        leaves.put(node, index);
+        set(capacity + index, bounds);
+    }
+
+    /**
+     * Computes all inner nodes from the leaves.
+     */
+    void build() {
+        for (int i = capacity - 1; i > 0; i--) {
+            merge(i);
+        }
+    }
+
+    /**
+     * Replaces the bounds of the given child and updates its ancestors.
+     *
+     * @param bounds the bounds in parent, or null if the child is not visible
+     */
+    void update(Node node, BaseBounds bounds) {
+        final Integer index = leaves.get(node);
+        if (index == null) {
+            return;
+        }
+        int i = capacity + index;
+        set(i, bounds);
+        for (i >>= 1; i > 0; i >>= 1) {
+            merge(i);
+        }
+    }
+
+    /**
+     * Returns the union of the bounds of all children, reusing the given
+     * bounds object if possible.
+     */
+    BaseBounds getBounds(BaseBounds result) {
+        if (minX[1] > maxX[1]) {
+            return result.makeEmpty();
+        }
+        return result.deriveWithNewBounds(minX[1], minY[1], minZ[1],
+                                          maxX[1], maxY[1], maxZ[1]);
+    }
+
+    private void set(int i, BaseBounds bounds) {
+        if (bounds == null || bounds.isEmpty()) {
+            setEmpty(i);
+        } else {
+            minX[i] = bounds.getMinX();
+            minY[i] = bounds.getMinY();
+            minZ[i] = bounds.getMinZ();
+            maxX[i] = bounds.getMaxX();
+            maxY[i] = bounds.getMaxY();
+            maxZ[i] = bounds.getMaxZ();
+        }
+    }
+
+    private void setEmpty(int i) {
+        minX[i] = minY[i] = minZ[i] = Float.POSITIVE_INFINITY;
+        maxX[i] = maxY[i] = maxZ[i] = Float.NEGATIVE_INFINITY;
+    }
+
+    private void merge(int i) {
+        final int l = 2 * i;
+        final int r = l + 1;
+        minX[i] = Math.min(minX[l], minX[r]);
+        minY[i] = Math.min(minY[l], minY[r]);
+        minZ[i] = Math.min(minZ[l], minZ[r]);
+        maxX[i] = Math.max(maxX[l], maxX[r]);
+        maxY[i] = Math.max(maxY[l], maxY[r]);
+        maxZ[i] = Math.max(maxZ[l], maxZ[r]);
+    }
+}
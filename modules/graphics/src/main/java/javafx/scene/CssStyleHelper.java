@@ -48,6 +48,7 @@ import javafx.css.StyleableProperty;
 import javafx.scene.text.Font;
 import javafx.scene.text.FontPosture;
 import javafx.scene.text.FontWeight;
+import com.sun.javafx.logging.PulseLogger;
 import com.sun.javafx.util.Logging;
 import com.sun.javafx.util.Utils;
 import com.sun.javafx.css.CalculatedValue;
@@ -485,7 +486,15 @@ final class CssStyleHelper {
     private PseudoClassState triggerStates = new PseudoClassState();
 
     boolean pseudoClassStateChanged(PseudoClass pseudoClass) {
-        return triggerStates.contains(pseudoClass);
+        if (triggerStates.contains(pseudoClass)) {
+            return true;
+        }
+        // No selector that matches the node, or a descendant through the
+        // node, references the pseudo-class so the cascade cannot change.
+        if (PulseLogger.PULSE_LOGGING_ENABLED) {
+            PulseLogger.incrementCounter("CSS pseudo-class transitions skipped");
+        }
+        return false;
     }
 
     /**
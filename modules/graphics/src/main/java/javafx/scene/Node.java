@@ -124,6 +124,7 @@ import com.sun.javafx.collections.UnmodifiableListSet;
 import com.sun.javafx.css.PseudoClassState;
 import com.sun.javafx.css.Selector;
 import com.sun.javafx.css.Style;
+import com.sun.javafx.css.StyleManager;
 import com.sun.javafx.css.converters.BooleanConverter;
 import com.sun.javafx.css.converters.CursorConverter;
 import com.sun.javafx.css.converters.EffectConverter;
@@ -851,7 +852,7 @@ public abstract class Node implements EventTarget, Styleable {
             focusSetDirty(newScene);
         }
         scenesChanged(newScene, newSubScene, oldScene, oldSubScene);
-        if (sceneChanged) impl_reapplyCSS();
+        if (sceneChanged && (newScene == null || !newScene.adoptingPreparedCss)) impl_reapplyCSS();
 
         if (sceneChanged && !impl_isDirtyEmpty()) {
             //Note: no need to remove from scene's dirty list
@@ -8932,7 +8933,19 @@ public abstract class Node implements EventTarget, Styleable {
     @Deprecated
     public final void impl_reapplyCSS() {
 
-        if (getScene() == null) return;
+        if (getScene() == null) {
+            // The CSS state a prepared root keeps for its subtree may no
+            // longer hold
+            for (Node node = this; node != null;
+                    node = node.getParent() != null ? node.getParent() : node.getClipParent()) {
+                if (node instanceof Parent) ((Parent) node).discardPreparedCss();
+            }
+            return;
+        }
+
+        // Selectors matched ahead of time may no longer hold for this node
+        // and its children
+        if (parallelCss) StyleManager.getInstance().discardPrematchedStyles(this);
 
         if (cssFlag == CssFlags.REAPPLY) return;
 
@@ -8943,7 +8956,7 @@ public abstract class Node implements EventTarget, Styleable {
             return;
         }
 
-        reapplyCss();
+        reapplyCssSubtree();
 
         //
         // One idiom employed by developers is to, during the layout pass,
@@ -8962,6 +8975,56 @@ public abstract class Node implements EventTarget, Styleable {
 
     }
 
+    // If set to true, the selectors that could apply to the nodes of a subtree
+    // of at least PARALLEL_CSS_THRESHOLD nodes are tested against them on the
+    // common fork-join pool before CSS is reapplied to the subtree. This is
+    // an extra pass over the subtree, which only pays off with spare cores.
+    // package private for testing
+    static boolean parallelCss = PropertyHelper.getBooleanProperty("javafx.sg.parallelCss");
+    static final int PARALLEL_CSS_THRESHOLD = 1000;
+
+    //
+    // Reapplies CSS to this node and all of its children. When parallelCss is
+    // enabled, the selectors for a large subtree are matched up front and
+    // reapplyCss() uses the results as it visits each node. Only that matching
+    // is parallel: finding the candidate selectors, creating the style helpers
+    // and calculating and applying styles stays on the FX thread. Nodes that
+    // are only added once styles are applied, such as the children of skins
+    // that a Control creates in impl_processCSS, are reapplied as they are
+    // added and are matched serially.
+    //
+    private void reapplyCssSubtree() {
+
+        if (parallelCss) {
+            final List<Node> nodes = new ArrayList<>();
+            collectCssNodes(this, nodes);
+            if (nodes.size() >= PARALLEL_CSS_THRESHOLD) {
+                final StyleManager styleManager = StyleManager.getInstance();
+                styleManager.prematchStyles(nodes, getSubScene());
+                try {
+                    reapplyCss();
+                } finally {
+                    styleManager.discardPrematchedStyles();
+                }
+                return;
+            }
+        }
+
+        reapplyCss();
+    }
+
+    private static void collectCssNodes(Node node, List<Node> nodes) {
+        nodes.add(node);
+        if (node instanceof Parent) {
+            final List<Node> children = ((Parent) node).getChildren();
+            for (int n = 0, nMax = children.size(); n < nMax; n++) {
+                collectCssNodes(children.get(n), nodes);
+            }
+        }
+        // The content of a SubScene is matched against its own stylesheets
+        // and is left to findMatchingStyles.
+    }
+
     //
     // This method "reapplies" CSS to this node and all of its children. Reapplying CSS
     // means that new style maps are calculated for the node. The process of reapplying
@@ -9177,7 +9240,7 @@ public abstract class Node implements EventTarget, Styleable {
 
         // if REAPPLY was deferred, process it now...
         if (cssFlag == CssFlags.REAPPLY) {
-            reapplyCss();
+            reapplyCssSubtree();
         }
 
         // Clear the flag first in case the flag is set to something
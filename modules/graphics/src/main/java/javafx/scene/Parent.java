@@ -50,10 +50,12 @@ import com.sun.javafx.geom.BaseBounds;
 import com.sun.javafx.geom.PickRay;
 import com.sun.javafx.geom.Point2D;
 import com.sun.javafx.geom.RectBounds;
+import com.sun.javafx.geom.Vec3d;
 import com.sun.javafx.geom.transform.BaseTransform;
 import com.sun.javafx.geom.transform.NoninvertibleTransformException;
 import com.sun.javafx.jmx.MXNodeAlgorithm;
 import com.sun.javafx.jmx.MXNodeAlgorithmContext;
+import com.sun.javafx.logging.PulseLogger;
 import com.sun.javafx.scene.CssFlags;
 import com.sun.javafx.scene.DirtyBits;
 import com.sun.javafx.scene.input.PickResultChooser;
@@ -86,6 +88,12 @@ public abstract class Parent extends Node {
     // parent if it is currently a child of another parent.
     private static final boolean warnOnAutoMove = PropertyHelper.getBooleanProperty("javafx.sg.warn");
 
+    // If set to true, parents with more than PICK_INDEX_THRESHOLD children
+    // use a spatial index of the children's bounds to pick them.
+    // package private for testing
+    static boolean pickIndexEnabled = PropertyHelper.getBooleanProperty("javafx.sg.pickIndex");
+    static final int PICK_INDEX_THRESHOLD = 64;
+
     /**
      * Threshold when it's worth to populate list of removed children.
      */
@@ -230,6 +238,8 @@ public abstract class Parent extends Node {
         protected void onChanged(Change<Node> c) {
             // proceed with updating the scene graph
             unmodifiableManagedChildren = null;
+            pickIndex = null;
+            boundsTree = null;
             boolean relayout = false;
             if (childSetModified) {
                 while (c.next()) {
@@ -649,11 +659,30 @@ public abstract class Parent extends Node {
         }
     }
 
+    // The stylesheets and user agent stylesheet this root was prepared for
+    // by Scene.prepare, while it keeps the CSS state computed for them.
+    // The root is detached and StyleManager still holds its cache container.
+    List<String> preparedStylesheets;
+    String preparedUserAgentStylesheet;
+
+    // Forgets the CSS state kept by Scene.prepare, if any
+    void discardPreparedCss() {
+        if (preparedStylesheets != null) {
+            preparedStylesheets = null;
+            preparedUserAgentStylesheet = null;
+            StyleManager.getInstance().forget(this);
+        }
+    }
+
     @Override
     void scenesChanged(final Scene newScene, final SubScene newSubScene,
                        final Scene oldScene, final SubScene oldSubScene) {
 
-        if (oldScene != null && newScene == null) {
+        // A prepared root only gets here with its CSS state if it is not
+        // being set as the root of a scene it was prepared for
+        discardPreparedCss();
+
+        if (oldScene != null && newScene == null && !oldScene.staging) {
             // RT-34863 - clean up CSS cache when Parent is removed from scene-graph
             StyleManager.getInstance().forget(this);
 
@@ -705,11 +734,8 @@ public abstract class Parent extends Node {
         double boundsDistance = impl_intersectsBounds(pickRay);
 
         if (!Double.isNaN(boundsDistance)) {
-            for (int i = children.size()-1; i >= 0; i--) {
-                children.get(i).impl_pickNode(pickRay, result);
-                if (result.isClosed()) {
-                    return;
-                }
+            if (impl_pickChildrenNode(pickRay, result)) {
+                return;
             }
 
             if (isPickOnBounds()) {
@@ -718,6 +744,51 @@ public abstract class Parent extends Node {
         }
     }
 
+    /**
+     * Picks the children in reverse z-order, through the pick index if it
+     * is enabled.
+     *
+     * @return true if the result was closed by one of the children
+     * @treatAsPrivate implementation detail
+     * @deprecated This is an internal API that is not intended for use and will be removed in the next version
+     */
+    @Deprecated
+    protected final boolean impl_pickChildrenNode(PickRay pickRay, PickResultChooser result) {
+        final PickIndex index = getPickIndex(pickRay);
+        if (index != null) {
+            return index.pick(pickRay, result);
+        }
+        for (int i = children.size()-1; i >= 0; i--) {
+            children.get(i).impl_pickNode(pickRay, result);
+            if (result.isClosed()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * The spatial index used to pick the children, if enabled. It is created
+     * on the first 2D pick and dropped whenever the children list changes.
+     */
+    private PickIndex pickIndex;
+
+    private PickIndex getPickIndex(PickRay pickRay) {
+        if (!pickIndexEnabled || children.size() <= PICK_INDEX_THRESHOLD) {
+            pickIndex = null;
+            return null;
+        }
+        final Vec3d dir = pickRay.getDirectionNoClone();
+        if (dir.x != 0.0 || dir.y != 0.0) {
+            // the index only works for rays parallel to the z axis
+            return null;
+        }
+        if (pickIndex == null) {
+            pickIndex = new PickIndex(children);
+        }
+        return pickIndex;
+    }
+
     @Override boolean isConnected() {
         return super.isConnected() || sceneRoot;
     }
@@ -840,6 +911,13 @@ public abstract class Parent extends Node {
     private double prefHeightCache = -1;
     private double minWidthCache = -1;
     private double minHeightCache = -1;
+    // The last prefWidth(height) and prefHeight(width) query made for a
+    // specific height or width. Containers typically ask their content biased
+    // children for the same size several times during a single layout pass.
+    private double prefWidthCacheHeight = -1;
+    private double prefWidthForHeightCache = -1;
+    private double prefHeightCacheWidth = -1;
+    private double prefHeightForWidthCache = -1;
 
     void setLayoutFlag(LayoutFlags flag) {
         if (needsLayout != null) {
@@ -907,10 +985,19 @@ public abstract class Parent extends Node {
         prefHeightCache = -1;
         minWidthCache = -1;
         minHeightCache = -1;
+        prefWidthForHeightCache = -1;
+        prefHeightForWidthCache = -1;
+    }
+
+    private static void countSizeCacheQuery(boolean hit) {
+        if (PulseLogger.PULSE_LOGGING_ENABLED) {
+            PulseLogger.incrementCounter(hit ? "Parent pref size cache hits" : "Parent pref size cache misses");
+        }
     }
 
     @Override public double prefWidth(double height) {
         if (height == -1) {
+            countSizeCacheQuery(prefWidthCache != -1);
             if (prefWidthCache == -1) {
                 prefWidthCache = computePrefWidth(-1);
                 if (Double.isNaN(prefWidthCache) || prefWidthCache < 0) prefWidthCache = 0;
@@ -918,13 +1005,21 @@ public abstract class Parent extends Node {
             }
             return prefWidthCache;
         } else {
-            double result = computePrefWidth(height);
-            return Double.isNaN(result) || result < 0 ? 0 : result;
+            final boolean hit = prefWidthForHeightCache != -1 && prefWidthCacheHeight == height;
+            countSizeCacheQuery(hit);
+            if (!hit) {
+                double result = computePrefWidth(height);
+                prefWidthForHeightCache = Double.isNaN(result) || result < 0 ? 0 : result;
+                prefWidthCacheHeight = height;
+                sizeCacheClear = false;
+            }
+            return prefWidthForHeightCache;
         }
     }
 
     @Override public double prefHeight(double width) {
         if (width == -1) {
+            countSizeCacheQuery(prefHeightCache != -1);
             if (prefHeightCache == -1) {
                 prefHeightCache = computePrefHeight(-1);
                 if (Double.isNaN(prefHeightCache) || prefHeightCache < 0) prefHeightCache = 0;
@@ -932,8 +1027,15 @@ public abstract class Parent extends Node {
             }
             return prefHeightCache;
         } else {
-            double result = computePrefHeight(width);
-            return Double.isNaN(result) || result < 0 ? 0 : result;
+            final boolean hit = prefHeightForWidthCache != -1 && prefHeightCacheWidth == width;
+            countSizeCacheQuery(hit);
+            if (!hit) {
+                double result = computePrefHeight(width);
+                prefHeightForWidthCache = Double.isNaN(result) || result < 0 ? 0 : result;
+                prefHeightCacheWidth = width;
+                sizeCacheClear = false;
+            }
+            return prefHeightForWidthCache;
         }
     }
 
@@ -1362,6 +1464,19 @@ public abstract class Parent extends Node {
      */
     private ArrayList<Node> dirtyChildren;
 
+    /**
+     * Parents with more children than this keep the bounds of their children
+     * in a {@link ChildrenBoundsTree} instead of tracking the edge nodes.
+     */
+    static final int BOUNDS_TREE_THRESHOLD = 256;
+
+    /**
+     * The union of the children bounds, used instead of the edge nodes when
+     * there are more than BOUNDS_TREE_THRESHOLD children. It is created on
+     * the next bounds computation after the children list changed.
+     */
+    private ChildrenBoundsTree boundsTree;
+
     private Node top;
     private Node left;
     private Node bottom;
@@ -1503,6 +1618,11 @@ public abstract class Parent extends Node {
             cachedBoundsInvalid = true;
         }
 
+        if (boundsTree != null) {
+            boundsTree.update(node, null);
+            cachedBoundsInvalid = true;
+        }
+
         setChildDirty(node, false);
     }
 
@@ -1531,6 +1651,11 @@ public abstract class Parent extends Node {
             return;
         }
 
+        if (children.size() > BOUNDS_TREE_THRESHOLD) {
+            updateBoundsTree();
+            return;
+        }
+
         if ((dirtyChildrenCount == 0) ||
                 !updateCachedBounds(dirtyChildren != null
                                         ? dirtyChildren : children,
@@ -1540,6 +1665,46 @@ public abstract class Parent extends Node {
         }
     }
 
+    /**
+     * Updates the bounds tree from the dirty children, creating the tree
+     * first if needed, and takes the cached bounds from it.
+     */
+    private void updateBoundsTree() {
+        // the edge nodes are not tracked while the tree is used, make sure
+        // updateCachedBounds does not trust them once it is used again
+        top = left = bottom = right = near = far = null;
+
+        if (boundsTree == null) {
+            final int size = children.size();
+            boundsTree = new ChildrenBoundsTree(size);
+            for (int i = 0; i < size; ++i) {
+                final Node node = children.get(i);
+                node.boundsChanged = false;
+                if (node.isVisible()) {
+                    tmp = getChildTransformedBounds(node, BaseTransform.IDENTITY_TRANSFORM, tmp);
+                    boundsTree.init(i, node, tmp);
+                } else {
+                    boundsTree.init(i, node, null);
+                }
+            }
+            boundsTree.build();
+        } else {
+            final List<Node> dirtyNodes = dirtyChildren != null ? dirtyChildren : children;
+            int remainingDirtyNodes = dirtyChildrenCount;
+            for (int i = dirtyNodes.size() - 1; remainingDirtyNodes > 0; --i) {
+                final Node node = dirtyNodes.get(i);
+                if (node.boundsChanged) {
+                    // assert node.isVisible();
+                    node.boundsChanged = false;
+                    --remainingDirtyNodes;
+                    tmp = getChildTransformedBounds(node, BaseTransform.IDENTITY_TRANSFORM, tmp);
+                    boundsTree.update(node, tmp);
+                }
+            }
+        }
+        cachedBounds = boundsTree.getBounds(cachedBounds);
+    }
+
     private final int LEFT_INVALID = 1;
     private final int TOP_INVALID = 1 << 1;
     private final int NEAR_INVALID = 1 << 2;
@@ -1738,6 +1903,10 @@ public abstract class Parent extends Node {
      * Called by Node whenever its bounds have changed.
      */
     void childBoundsChanged(Node node) {
+        if (pickIndex != null) {
+            pickIndex.markDirty(node);
+        }
+
         // See comment above at "currentlyProcessedChild" field
         if (node == currentlyProcessedChild) {
             return;
@@ -1761,6 +1930,9 @@ public abstract class Parent extends Node {
      * Called by node whenever the visibility of the node changes.
      */
     void childVisibilityChanged(Node node) {
+        if (pickIndex != null) {
+            pickIndex.markDirty(node);
+        }
         if (node.isVisible()) {
             childIncluded(node);
         } else {
@@ -1825,4 +1997,11 @@ public abstract class Parent extends Node {
     List<Node> test_getRemoved() {
         return removed;
     }
+
+    /**
+     * Note: The only user of this method is in unit test: PickAndContainsTest.
+     */
+    boolean test_hasPickIndex() {
+        return pickIndex != null;
+    }
 }
@@ -0,0 +1,297 @@
+/*
+ * Copyright (c) 2018, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package javafx.scene;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import com.sun.javafx.geom.BaseBounds;
+import com.sun.javafx.geom.PickRay;
+import com.sun.javafx.geom.RectBounds;
+import com.sun.javafx.geom.Vec3d;
+import com.sun.javafx.geom.transform.BaseTransform;
+import com.sun.javafx.scene.input.PickResultChooser;
+
+/**
+ * A uniform grid over the bounds in parent of the children of a
+ * {@link Parent}. For a pick ray parallel to the z axis (the usual 2D case)
+ * only the children registered in the grid cell containing the ray, plus the
+ * children that could not be put into the grid, need to be tested.
+ * <p>
+ * The index is kept up to date by {@link #markDirty(Node)}, which the parent
+ * calls whenever it is told that the bounds or visibility of a child have
+ * changed. Dirty children are taken out of the grid immediately and put back
+ * on the next pick. Any change of the children list itself invalidates the
+ * whole index, since it changes the z-order of the children.
+ */
+final class PickIndex {
+
+    /**
+     * Children covering more cells than this are not put into the grid but
+     * tested on every pick, which keeps the grid small for large backgrounds.
+     */
+    private static final int MAX_CELLS_PER_ENTRY = 64;
+
+    private static final Comparator<Entry> TOP_FIRST = (e1, e2) -> e2.index - e1.index;
+
+    private static final class Entry {
+        final Node node;
+        final int index;
+        float minX, minY, maxX, maxY;
+        // grid cells covered by this entry, c0 < 0 if not in the grid
+        int c0 = -1, r0, c1, r1;
+        boolean dirty;
+
+        Entry(Node node, int index) {
+            this.node = node;
+            this.index = index;
+        }
+    }
+
+    private final List<Node> children;
+    private final Map<Node, Entry> entries = new IdentityHashMap<Node, Entry>();
+    private final List<Entry> ungridded = new ArrayList<Entry>();
+    private final List<Entry> dirty = new ArrayList<Entry>();
+    private final List<Entry> candidates = new ArrayList<Entry>();
+    private List<Entry>[] cells;
+    private int cols, rows;
+    private double gridMinX, gridMinY, gridMaxX, gridMaxY;
+    private double cellWidth, cellHeight;
+    private double epsilon;
+    private BaseBounds tmp = new RectBounds();
+
+    PickIndex(List<Node> children) {
+        this.children = children;
+        build();
+    }
+
+    /**
+     * Takes the given child out of the grid until the next pick, when its
+     * bounds will be read again.
+     */
+    void markDirty(Node node) {
+        final Entry entry = entries.get(node);
+        if (entry != null && !entry.dirty) {
+            removeFromGrid(entry);
+            entry.dirty = true;
+            dirty.add(entry);
+        }
+    }
+
+    /**
+     * Picks the candidate children in reverse z-order. The pick ray is
+     * expected to be in the local coordinates of the parent and to be
+     * parallel to the z axis.
+     *
+     * @return true if the result was closed by one of the children
+     */
+    @SuppressWarnings("deprecation")
+    boolean pick(PickRay pickRay, PickResultChooser result) {
+        validate();
+
+        final Vec3d origin = pickRay.getOriginNoClone();
+        final double x = origin.x;
+        final double y = origin.y;
+
+        candidates.addAll(ungridded);
+        if (x >= gridMinX && x <= gridMaxX && y >= gridMinY && y <= gridMaxY) {
+            final List<Entry> cell = cells[cellRow(y) * cols + cellColumn(x)];
+            if (cell != null) {
+                for (int i = 0, max = cell.size(); i < max; i++) {
+                    final Entry entry = cell.get(i);
+                    if (x >= entry.minX - epsilon && x <= entry.maxX + epsilon
+                            && y >= entry.minY - epsilon && y <= entry.maxY + epsilon) {
+                        candidates.add(entry);
+                    }
+                }
+            }
+        }
+        candidates.sort(TOP_FIRST);
+
+        try {
+            for (int i = 0, max = candidates.size(); i < max; i++) {
+                candidates.get(i).node.impl_pickNode(pickRay, result);
+                if (result.isClosed()) {
+                    return true;
+                }
+            }
+            return false;
+        } finally {
+            candidates.clear();
+        }
+    }
+
+    private void validate() {
+        if (dirty.isEmpty()) {
+            return;
+        }
+        if (dirty.size() > entries.size() / 4) {
+            // the grid extents are likely to be off, start over
+            build();
+            return;
+        }
+        for (int i = 0, max = dirty.size(); i < max; i++) {
+            final Entry entry = dirty.get(i);
+            entry.dirty = false;
+            readBounds(entry);
+            addToGrid(entry);
+        }
+        dirty.clear();
+    }
+
+    private void build() {
+        entries.clear();
+        ungridded.clear();
+        dirty.clear();
+
+        final int size = children.size();
+        final Entry[] all = new Entry[size];
+        double minX = Double.POSITIVE_INFINITY, minY = Double.POSITIVE_INFINITY;
+        double maxX = Double.NEGATIVE_INFINITY, maxY = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < size; i++) {
+            final Node node = children.get(i);
+            final Entry entry = all[i] = new Entry(node, i);
+            entries.put(node, entry);
+            if (readBounds(entry)) {
+                minX = Math.min(minX, entry.minX);
+                minY = Math.min(minY, entry.minY);
+                maxX = Math.max(maxX, entry.maxX);
+                maxY = Math.max(maxY, entry.maxY);
+            }
+        }
+
+        if (minX > maxX) {
+            // nothing with usable bounds
+            cols = rows = 1;
+            gridMinX = gridMinY = 0;
+            gridMaxX = gridMaxY = -1;
+            cells = newCells(1);
+            ungridded.addAll(entries.values());
+            return;
+        }
+
+        // float bounds may be slightly off the exact geometry of the children
+        final double magnitude = Math.max(Math.max(Math.abs(minX), Math.abs(maxX)),
+                                          Math.max(Math.abs(minY), Math.abs(maxY)));
+        epsilon = Math.max(magnitude * 1e-6, 1e-6);
+        gridMinX = minX - epsilon;
+        gridMinY = minY - epsilon;
+        gridMaxX = maxX + epsilon;
+        gridMaxY = maxY + epsilon;
+
+        // aim for roughly one cell per child, shaped after the extents
+        final double width = gridMaxX - gridMinX;
+        final double height = gridMaxY - gridMinY;
+        cols = (int) Math.max(1, Math.min(size, Math.round(Math.sqrt(size * width / height))));
+        rows = Math.max(1, Math.min(size, size / cols));
+        cellWidth = width / cols;
+        cellHeight = height / rows;
+        cells = newCells(cols * rows);
+
+        for (int i = 0; i < size; i++) {
+            addToGrid(all[i]);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Entry>[] newCells(int length) {
+        return (List<Entry>[]) new List<?>[length];
+    }
+
+    /**
+     * Reads the bounds in parent of the entry's node.
+     *
+     * @return false if the bounds are empty or not finite
+     */
+    private boolean readBounds(Entry entry) {
+        tmp = entry.node.getTransformedBounds(tmp, BaseTransform.IDENTITY_TRANSFORM);
+        if (tmp.isEmpty()) {
+            entry.minX = entry.minY = Float.NaN;
+            return false;
+        }
+        entry.minX = tmp.getMinX();
+        entry.minY = tmp.getMinY();
+        entry.maxX = tmp.getMaxX();
+        entry.maxY = tmp.getMaxY();
+        return !Float.isInfinite(entry.minX) && !Float.isInfinite(entry.minY)
+                && !Float.isInfinite(entry.maxX) && !Float.isInfinite(entry.maxY);
+    }
+
+    private void addToGrid(Entry entry) {
+        if (!(entry.minX - epsilon >= gridMinX && entry.maxX + epsilon <= gridMaxX
+                && entry.minY - epsilon >= gridMinY && entry.maxY + epsilon <= gridMaxY)) {
+            // empty, infinite or outside of the grid (after a bounds change)
+            entry.c0 = -1;
+            ungridded.add(entry);
+            return;
+        }
+        final int c0 = cellColumn(entry.minX - epsilon);
+        final int c1 = cellColumn(entry.maxX + epsilon);
+        final int r0 = cellRow(entry.minY - epsilon);
+        final int r1 = cellRow(entry.maxY + epsilon);
+        if ((c1 - c0 + 1) * (r1 - r0 + 1) > MAX_CELLS_PER_ENTRY) {
+            entry.c0 = -1;
+            ungridded.add(entry);
+            return;
+        }
+        entry.c0 = c0;
+        entry.c1 = c1;
+        entry.r0 = r0;
+        entry.r1 = r1;
+        for (int r = r0; r <= r1; r++) {
+            for (int c = c0; c <= c1; c++) {
+                List<Entry> cell = cells[r * cols + c];
+                if (cell == null) {
+                    cell = cells[r * cols + c] = new ArrayList<Entry>(4);
+                }
+                cell.add(entry);
+            }
+        }
+    }
+
+    private void removeFromGrid(Entry entry) {
+        if (entry.c0 < 0) {
+            ungridded.remove(entry);
+            return;
+        }
+        for (int r = entry.r0; r <= entry.r1; r++) {
+            for (int c = entry.c0; c <= entry.c1; c++) {
+                cells[r * cols + c].remove(entry);
+            }
+        }
+        entry.c0 = -1;
+    }
+
+    private int cellColumn(double x) {
+        return Math.max(0, Math.min(cols - 1, (int) ((x - gridMinX) / cellWidth)));
+    }
+
+    private int cellRow(double y) {
+        return Math.max(0, Math.min(rows - 1, (int) ((y - gridMinY) / cellHeight)));
+    }
+}
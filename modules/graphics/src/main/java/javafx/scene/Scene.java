@@ -1115,8 +1115,25 @@ public class Scene implements EventTarget {
                         oldRoot.setScenes(null, null);
                     }
                     oldRoot = _value;
+
+                    // A root prepared for the stylesheets of this scene keeps
+                    // the CSS state it was given by prepare(). Otherwise the
+                    // state is discarded when the root's scene is set.
+                    final boolean adoptCss = _value.preparedStylesheets != null
+                            && _value.preparedStylesheets.equals(getStylesheets())
+                            && Objects.equals(_value.preparedUserAgentStylesheet, getUserAgentStylesheet());
+                    if (adoptCss) {
+                        _value.preparedStylesheets = null;
+                        _value.preparedUserAgentStylesheet = null;
+                    }
+
                     _value.getStyleClass().add(0, "root");
-                    _value.setScenes(Scene.this, null);
+                    adoptingPreparedCss = adoptCss;
+                    try {
+                        _value.setScenes(Scene.this, null);
+                    } finally {
+                        adoptingPreparedCss = false;
+                    }
                     markDirty(DirtyBits.ROOT_DIRTY);
                     _value.resize(getWidth(), getHeight()); // maybe no-op if root is not resizable
                     _value.requestLayout();
@@ -1142,6 +1159,87 @@ public class Scene implements EventTarget {
         }
     }
 
+    /**
+     * Prepares a root that is not part of any scene graph for being shown in
+     * a scene that uses the given stylesheets. The CSS of the stylesheets is
+     * applied to the root and its subtree, which also creates the skins of
+     * any controls in it, and the root is then laid out at its preferred
+     * size.
+     * <p>
+     * This method may be called on any thread, so that the first styling and
+     * layout of a large subtree does not have to happen on the JavaFX
+     * Application Thread. The stylesheets of a live scene must not be read on
+     * other threads, so the caller passes a copy taken on the JavaFX
+     * Application Thread, for example
+     * {@code new ArrayList<>(scene.getStylesheets())} and
+     * {@code scene.getUserAgentStylesheet()}. No other thread may modify the
+     * subtree while it is being prepared. Controls whose skins start
+     * animations when they are created, such as an indeterminate
+     * {@code ProgressIndicator}, must only be prepared on the JavaFX
+     * Application Thread, since animations are not thread safe.
+     * <p>
+     * When this method returns the root is detached again. If it is then set
+     * as the {@link #rootProperty() root} of a scene whose stylesheets and
+     * user agent stylesheet are the ones it was prepared with, it keeps the
+     * CSS state computed here: selectors are not matched and styles are not
+     * calculated again. If the subtree is modified before that, or the root
+     * is added to a scene in any other way, CSS is reapplied to it as usual,
+     * but the skins and sizes computed here are still reused.
+     *
+     * @param root the root to prepare
+     * @param stylesheets the stylesheets of the scene the root will be shown
+     *        in
+     * @param userAgentStylesheet the user agent stylesheet of that scene, or
+     *        null if it uses the platform default
+     * @throws NullPointerException if root or stylesheets is null
+     * @throws IllegalArgumentException if root is already inside a scene graph
+     * @since JavaFX 8u202
+     */
+    public static void prepare(Parent root, List<String> stylesheets, String userAgentStylesheet) {
+        if (root.getParent() != null || root.getScene() != null || root.getClipParent() != null) {
+            throw new IllegalArgumentException(root +
+                    " is already inside a scene-graph and cannot be prepared");
+        }
+        final List<String> preparedStylesheets = new ArrayList<>(stylesheets);
+
+        // The CSS state of an earlier call is not for these stylesheets
+        root.discardPreparedCss();
+
+        // The root is styled as the root of the staging scene, so that its
+        // CSS state is the one it will have as the root of the target scene.
+        final Scene staging = new Scene(root);
+        staging.staging = true;
+        boolean prepared = false;
+        try {
+            staging.setUserAgentStylesheet(userAgentStylesheet);
+            staging.getStylesheets().setAll(preparedStylesheets);
+            root.applyCss();
+            root.autosize();
+            root.layout();
+            prepared = true;
+        } finally {
+            // The root keeps its CSS state when it leaves the staging scene,
+            // see Parent.scenesChanged. The scene it is shown in adds the
+            // "root" style class again.
+            staging.setRoot(new Group());
+            root.getStyleClass().remove("root");
+            if (prepared) {
+                root.preparedStylesheets = preparedStylesheets;
+                root.preparedUserAgentStylesheet = userAgentStylesheet;
+            } else {
+                StyleManager.getInstance().forget(root);
+            }
+        }
+    }
+
+    // True for the private scenes used by prepare(). Their roots keep their
+    // CSS state when they are detached.
+    boolean staging;
+
+    // True while the root prepared for this scene is being added to it.
+    // Nodes then keep their CSS state rather than reapplying CSS.
+    boolean adoptingPreparedCss;
+
     // Process CSS and layout and sync the scene prior to the snapshot
     // operation of the given node for this scene (currently the node
     // is unused but could possibly be used in the future to optimize this)
@@ -2272,12 +2370,13 @@ public class Scene implements EventTarget {
 
             Scene.inSynchronizer = true;
 
+            int synced = 0;
             // if dirtyNodes is null then that means this Scene has not yet been
             // synchronized, and so we will simply synchronize every node in the
             // scene and then create the dirty nodes array list
             if (Scene.this.dirtyNodes == null) {
                 // must do this recursively
-                syncAll(getRoot());
+                synced = syncAll(getRoot());
                 dirtyNodes = new Node[MIN_DIRTY_CAPACITY];
 
             } else {
@@ -2287,13 +2386,18 @@ public class Scene implements EventTarget {
                     Node node = dirtyNodes[i];
                     dirtyNodes[i] = null;
                     if (node.getScene() == Scene.this) {
-                            node.impl_syncPeer();
-                        }
+                        node.impl_syncPeer();
+                        synced++;
                     }
+                }
                 dirtyNodesSize = 0;
             }
 
             Scene.inSynchronizer = false;
+
+            if (PULSE_LOGGING_ENABLED) {
+                PulseLogger.incrementCounter("Nodes synchronized", synced);
+            }
         }
 
         /**
@@ -2408,6 +2512,9 @@ public class Scene implements EventTarget {
                             PulseLogger.newPhase("Waiting for previous rendering");
                         }
                         impl_peer.waitForRenderingToComplete();
+                        if (PULSE_LOGGING_ENABLED) {
+                            PulseLogger.newPhase("Waiting for render lock");
+                        }
                         impl_peer.waitForSynchronization();
                         // synchronize scene properties
                         if (PULSE_LOGGING_ENABLED) {
@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2018, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.javafx.css;
+
+import com.sun.javafx.css.parser.CSSParser;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Compares {@link SelectorPartitioning#match} with a reference that tests
+ * every selector of the stylesheet against the node.
+ */
+public class SelectorPartitioningMatchTest {
+
+    private static final String[] TYPES = { "*", "A", "B", "C" };
+    private static final String[] IDS = { null, "x", "y" };
+    private static final int STYLE_CLASSES = 12;
+
+    /*
+     * The reference: the rightmost simple selector matches if its type is
+     * '*' or the node type, its id is the node id, and the node has all of
+     * its style classes.
+     */
+    private static boolean matches(Selector selector, String id, String type, Set<StyleClass> styleClasses) {
+        final SimpleSelector simple = selector instanceof CompoundSelector
+                ? ((CompoundSelector) selector).getSelectors().get(((CompoundSelector) selector).getSelectors().size() - 1)
+                : (SimpleSelector) selector;
+        if (!"*".equals(simple.getName()) && !simple.getName().equals(type)) {
+            return false;
+        }
+        final String selectorId = simple.getId();
+        if (selectorId != null && !selectorId.isEmpty() && !selectorId.equals(id)) {
+            return false;
+        }
+        return styleClasses.containsAll(simple.getStyleClassSet());
+    }
+
+    private static String styleClasses(Random random, int max) {
+        final StringBuilder sb = new StringBuilder();
+        for (int n = 0, nMax = random.nextInt(max + 1); n < nMax; n++) {
+            sb.append(".c").append(random.nextInt(STYLE_CLASSES));
+        }
+        return sb.toString();
+    }
+
+    @Test
+    public void testMatchAgreesWithReference() {
+        final Random random = new Random(0);
+        final StringBuilder css = new StringBuilder();
+        for (int n = 0; n < 500; n++) {
+            if (n % 5 == 4) {
+                css.append(".c").append(random.nextInt(STYLE_CLASSES)).append(' ');
+            }
+            final String type = TYPES[random.nextInt(TYPES.length)];
+            final String id = IDS[random.nextInt(IDS.length)];
+            String classes = styleClasses(random, 3);
+            if (id == null && classes.isEmpty() && "*".equals(type)) {
+                classes = ".c0";
+            }
+            css.append("*".equals(type) ? "" : type)
+               .append(id == null ? "" : "#" + id)
+               .append(classes)
+               .append(" { -fx-opacity: 0.5; }\n");
+        }
+
+        final SelectorPartitioning partitioning = new SelectorPartitioning();
+        final List<Selector> all = new ArrayList<>();
+        final Stylesheet stylesheet = CSSParser.getInstance().parse(css.toString());
+        for (Rule rule : stylesheet.getRules()) {
+            for (Selector selector : rule.getUnobservedSelectorList()) {
+                partitioning.partition(selector);
+                all.add(selector);
+            }
+        }
+
+        for (int n = 0; n < 500; n++) {
+            final String type = TYPES[1 + random.nextInt(TYPES.length - 1)];
+            final String id = IDS[random.nextInt(IDS.length)];
+            final List<String> names = new ArrayList<>();
+            for (int c = 0, cMax = random.nextInt(6); c < cMax; c++) {
+                names.add("c" + random.nextInt(STYLE_CLASSES));
+            }
+            final StyleClassSet styleClasses = new StyleClassSet(names);
+
+            final List<Selector> expected = new ArrayList<>();
+            for (Selector selector : all) {
+                if (matches(selector, id, type, styleClasses)) {
+                    expected.add(selector);
+                }
+            }
+            assertEquals(type + "#" + id + names, expected, partitioning.match(id, type, styleClasses));
+        }
+    }
+}
@@ -29,6 +29,7 @@ import com.sun.javafx.css.parser.CSSParser;
 import javafx.css.StyleOrigin;
 import javafx.css.StyleableProperty;
 import javafx.scene.Group;
+import javafx.scene.Node;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.scene.SubScene;
@@ -381,6 +382,32 @@ public class StyleManagerTest {
         assertEquals(0, index);
     }
 
+    @Test
+    public void testCascadeIsSharedBetweenScenes() {
+        Rectangle rect0 = new Rectangle();
+        rect0.getStyleClass().add("rect");
+        Scene scene0 = new Scene(new Group(rect0));
+        scene0.getStylesheets().add("/com/sun/javafx/css/ua1.css");
+
+        Rectangle rect1 = new Rectangle();
+        rect1.getStyleClass().add("rect");
+        Scene scene1 = new Scene(new Group(rect1));
+        scene1.getStylesheets().add("/com/sun/javafx/css/ua1.css");
+
+        scene0.getRoot().applyCss();
+        assertEquals(Color.YELLOW, rect0.getStroke());
+
+        final long hits = StyleMap.getSharedCascadeHits();
+        final long misses = StyleMap.getSharedCascadeMisses();
+
+        scene1.getRoot().applyCss();
+        assertEquals(Color.YELLOW, rect1.getStroke());
+
+        // each scene has its own StyleMaps, but the cascades are computed once
+        assertTrue(StyleMap.getSharedCascadeHits() > hits);
+        assertEquals(misses, StyleMap.getSharedCascadeMisses());
+    }
+
     @Test
     public void testForgetParent_withParentStylesheet() {
 
@@ -1115,4 +1142,35 @@ public class StyleManagerTest {
         assertFalse("Exception during CSS processing on BG thread", err.get());
     }
 
+    @Test
+    public void testDiscardPrematchedStylesOfSubtree() {
+        final Rectangle rectA = new Rectangle();
+        final Group groupA = new Group(rectA);
+        final Rectangle rectB = new Rectangle();
+        final Group groupB = new Group(rectB);
+        final Group root = new Group(groupA, groupB);
+        final Scene scene = new Scene(root);
+        scene.setUserAgentStylesheet("com/sun/javafx/css/ua0.css");
+
+        final StyleManager sm = StyleManager.getInstance();
+        final List<Node> nodes = new ArrayList<>();
+        Collections.addAll(nodes, root, groupA, rectA, groupB, rectB);
+        // only nodes that selectors could apply to are matched
+        for (Node node : nodes) node.getStyleClass().add("rect");
+        root.applyCss();
+        sm.prematchStyles(nodes, null);
+        try {
+            sm.discardPrematchedStyles(groupA);
+
+            assertTrue(sm.isPrematched(root));
+            assertFalse(sm.isPrematched(groupA));
+            assertFalse(sm.isPrematched(rectA));
+            assertTrue(sm.isPrematched(groupB));
+            assertTrue(sm.isPrematched(rectB));
+        } finally {
+            sm.discardPrematchedStyles();
+        }
+        assertFalse(sm.isPrematched(rectB));
+    }
+
 }
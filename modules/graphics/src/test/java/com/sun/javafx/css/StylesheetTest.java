@@ -42,6 +42,9 @@ import java.io.IOException;
 import java.io.OutputStreamWriter;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
@@ -629,4 +632,64 @@ public class StylesheetTest {
         }
     }
 
+    @Test
+    public void testLoadBinaryDecodesDeclarationStringsLazily() {
+        try {
+            File source = File.createTempFile("lazyStrings_", "css");
+            FileWriter writer = new FileWriter(source);
+            writer.write(".foo:hover > .bar { -fx-fill: red; -fx-font-family: \"Amble Lt\"; }\n"
+                    + "#baz { -fx-alignment: center-left; }");
+            writer.flush();
+            writer.close();
+            File target = File.createTempFile("lazyStrings_", "bss");
+            Stylesheet.convertToBinary(source, target);
+
+            Stylesheet expected = new CSSParser().parse(source.toURI().toURL());
+            Stylesheet actual = Stylesheet.loadBinary(target.toURI().toURL());
+            assertEquals(expected.getRules().size(), actual.getRules().size());
+
+            // selectors are usable before the strings of the declarations are decoded
+            assertTrue(actual.hasLazyStrings());
+            for (int n=0; n<expected.getRules().size(); n++) {
+                assertEquals(expected.getRules().get(n).getUnobservedSelectorList(),
+                        actual.getRules().get(n).getUnobservedSelectorList());
+            }
+            assertTrue(actual.hasLazyStrings());
+
+            assertEquals(expected.getRules().get(0).getUnobservedDeclarationList(),
+                    actual.getRules().get(0).getUnobservedDeclarationList());
+            assertFalse(actual.hasLazyStrings());
+            assertTrue(Arrays.asList(actual.getStringStore()).contains("-fx-font-family"));
+
+            for (int n=0; n<expected.getRules().size(); n++) {
+                assertEquals(expected.getRules().get(n).getUnobservedDeclarationList(),
+                        actual.getRules().get(n).getUnobservedDeclarationList());
+            }
+        } catch (IOException e) {
+            fail(e.toString());
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void testLoadBinaryRejectsMalformedDeclarationStrings() throws IOException {
+        File source = File.createTempFile("lazyStrings_", "css");
+        FileWriter writer = new FileWriter(source);
+        writer.write(".foo { -fx-font-family: \"Amble Lt\"; }");
+        writer.flush();
+        writer.close();
+        File target = File.createTempFile("lazyStrings_", "bss");
+        Stylesheet.convertToBinary(source, target);
+
+        // version, number of strings, null index, number of eager strings,
+        // the eager block and then the length of the lazy block
+        final byte[] bytes = Files.readAllBytes(target.toPath());
+        final ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        final int lazyBlock = 12 + buffer.getInt(8) + 4;
+        // make the first lazy string claim one more byte than it has
+        buffer.putShort(lazyBlock, (short) (buffer.getShort(lazyBlock) + 1));
+        Files.write(target.toPath(), bytes);
+
+        Stylesheet.loadBinary(target.toURI().toURL());
+    }
+
 }
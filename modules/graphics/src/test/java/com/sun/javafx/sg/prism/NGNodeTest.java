@@ -35,6 +35,7 @@ import com.sun.scenario.effect.Blend;
 import com.sun.scenario.effect.Effect;
 import com.sun.scenario.effect.FilterContext;
 import com.sun.scenario.effect.ImageData;
+import javafx.scene.CacheHint;
 import org.junit.Before;
 import org.junit.Test;
 import static org.junit.Assert.assertEquals;
@@ -574,6 +575,60 @@ public class NGNodeTest extends NGTestBase {
         assertNull(n.getOpaqueRegion());
     }
 
+    /**************************************************************************
+     *                                                                        *
+     * Tests for automatically caching groups that are only translated        *
+     *                                                                        *
+     *************************************************************************/
+
+    @Test public void groupIsCachedAutomaticallyWhileOnlyTranslated() {
+        NGGroup group = new NGGroup();
+        NGRectangle child = new NGRectangle();
+        child.updateRectangle(0, 0, 10, 10, 0, 0);
+        group.add(-1, child);
+        group.updateAutoCache(2);
+        assertNull(group.getCacheFilter());
+
+        group.setTransformMatrix(BaseTransform.getTranslateInstance(10, 0));
+        group.updateAutoCache(2);
+        assertNull(group.getCacheFilter());
+        group.setTransformMatrix(BaseTransform.getTranslateInstance(20, 0));
+        group.updateAutoCache(2);
+        assertNotNull(group.getCacheFilter());
+
+        // Changing the contents drops the automatic cache
+        group.clearDirtyTree();
+        child.updateRectangle(0, 0, 20, 20, 0, 0);
+        group.setTransformMatrix(BaseTransform.getTranslateInstance(30, 0));
+        group.updateAutoCache(2);
+        assertNull(group.getCacheFilter());
+    }
+
+    @Test public void groupIsNotCachedAutomaticallyWhenScaled() {
+        NGGroup group = new NGGroup();
+        group.updateAutoCache(1);
+        group.setTransformMatrix(BaseTransform.getScaleInstance(2, 2));
+        group.updateAutoCache(1);
+        assertNull(group.getCacheFilter());
+    }
+
+    @Test public void explicitCacheReplacesAutomaticCache() {
+        NGGroup group = new NGGroup();
+        group.updateAutoCache(1);
+        group.setTransformMatrix(BaseTransform.getTranslateInstance(10, 0));
+        group.updateAutoCache(1);
+        assertNotNull(group.getCacheFilter());
+
+        group.setCachedAsBitmap(false, CacheHint.DEFAULT);
+        assertNull(group.getCacheFilter());
+
+        group.setCachedAsBitmap(true, CacheHint.SPEED);
+        group.setTransformMatrix(BaseTransform.getScaleInstance(2, 2));
+        group.updateAutoCache(1);
+        assertNotNull(group.getCacheFilter());
+        assertTrue(group.getCacheFilter().isScaleHint());
+    }
+
     class NGNodeMock extends NGNode {
         boolean opaqueRegionRecomputed = false;
         RectBounds computedOpaqueRegion = new RectBounds(0, 0, 10, 10);
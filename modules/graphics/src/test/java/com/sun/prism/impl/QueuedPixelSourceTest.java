@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) 2018, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.prism.impl;
+
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import com.sun.glass.ui.Pixels;
+import com.sun.javafx.geom.Rectangle;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class QueuedPixelSourceTest {
+
+    private static final int WIDTH = 13;
+    private static final int HEIGHT = 11;
+
+    /**
+     * Application.createPixels is not available in unit tests, the pixels
+     * only need to hold a buffer for copyPixels.
+     */
+    private static final class TestPixels extends Pixels {
+        TestPixels() {
+            super(WIDTH, HEIGHT, IntBuffer.allocate(WIDTH * HEIGHT));
+        }
+
+        int[] getInts() {
+            final IntBuffer bits = (IntBuffer) getPixels();
+            final int[] ints = new int[bits.remaining()];
+            bits.get(ints);
+            return ints;
+        }
+
+        @Override protected void _fillDirectByteBuffer(ByteBuffer bb) { }
+        @Override protected void _attachInt(long ptr, int w, int h, IntBuffer ints, int[] array, int offset) { }
+        @Override protected void _attachByte(long ptr, int w, int h, ByteBuffer bytes, byte[] array, int offset) { }
+    }
+
+    private QueuedPixelSource source;
+
+    @Before
+    public void setUp() {
+        source = new QueuedPixelSource(false);
+    }
+
+    private static int[] frame(int value) {
+        final int[] frame = new int[WIDTH * HEIGHT];
+        for (int i = 0; i < frame.length; i++) {
+            frame[i] = value + i;
+        }
+        return frame;
+    }
+
+    private static int[] expected(int[] previous, int[] current, Rectangle... regions) {
+        final int[] expected = previous.clone();
+        for (Rectangle region : regions) {
+            for (int y = 0; y < HEIGHT; y++) {
+                for (int x = 0; x < WIDTH; x++) {
+                    if (region.contains(x, y)) {
+                        expected[y * WIDTH + x] = current[y * WIDTH + x];
+                    }
+                }
+            }
+        }
+        return expected;
+    }
+
+    @Test
+    public void copyToStaleBufferCopiesWholeFrame() {
+        final TestPixels pixels = new TestPixels();
+        final int[] src = frame(1000);
+        final int copied = source.copyPixels(src, pixels,
+                new Rectangle[] { new Rectangle(2, 3, 4, 5) }, 1);
+        assertEquals(WIDTH * HEIGHT * 4, copied);
+        assertArrayEquals(src, pixels.getInts());
+    }
+
+    @Test
+    public void copyToCurrentBufferCopiesOnlyRegions() {
+        final TestPixels pixels = new TestPixels();
+        final int[] first = frame(1000);
+        source.copyPixels(first, pixels, null, 0);
+        source.enqueuePixels(pixels);
+
+        final int[] second = frame(5000);
+        final Rectangle r1 = new Rectangle(2, 3, 4, 5);
+        final Rectangle r2 = new Rectangle(10, 8, 10, 10);
+        final int copied = source.copyPixels(second, pixels, new Rectangle[] { r1, r2 }, 2);
+        // r2 is clipped to the pixels
+        assertEquals((4 * 5 + 3 * 3) * 4, copied);
+        assertArrayEquals(expected(first, second, r1, r2), pixels.getInts());
+    }
+
+    @Test
+    public void copyToCurrentBufferIgnoresRegionsPastCount() {
+        final TestPixels pixels = new TestPixels();
+        final int[] first = frame(1000);
+        source.copyPixels(first, pixels, null, 0);
+        source.enqueuePixels(pixels);
+
+        final int[] second = frame(5000);
+        final Rectangle r1 = new Rectangle(0, 0, 1, HEIGHT);
+        final Rectangle unused = new Rectangle(0, 0, WIDTH, HEIGHT);
+        final int copied = source.copyPixels(second, pixels, new Rectangle[] { r1, unused }, 1);
+        assertEquals(HEIGHT * 4, copied);
+        assertArrayEquals(expected(first, second, r1), pixels.getInts());
+    }
+
+    @Test
+    public void copyToCurrentBufferWithoutRegionsCopiesWholeFrame() {
+        final TestPixels pixels = new TestPixels();
+        source.copyPixels(frame(1000), pixels, null, 0);
+        source.enqueuePixels(pixels);
+
+        final int[] second = frame(5000);
+        assertEquals(WIDTH * HEIGHT * 4, source.copyPixels(second, pixels, null, 0));
+        assertArrayEquals(second, pixels.getInts());
+    }
+
+    @Test
+    public void copyToBufferReplacedInQueueCopiesWholeFrame() {
+        final TestPixels pixels1 = new TestPixels();
+        final TestPixels pixels2 = new TestPixels();
+        source.copyPixels(frame(1000), pixels1, null, 0);
+        source.enqueuePixels(pixels1);
+        source.copyPixels(frame(2000), pixels2, null, 0);
+        source.enqueuePixels(pixels2);
+
+        // pixels1 holds the frame before the last enqueued one
+        final int[] third = frame(3000);
+        final int copied = source.copyPixels(third, pixels1,
+                new Rectangle[] { new Rectangle(2, 3, 4, 5) }, 1);
+        assertEquals(WIDTH * HEIGHT * 4, copied);
+        assertArrayEquals(third, pixels1.getInts());
+    }
+
+    @Test
+    public void copyRegionsThenWholeFrame() {
+        final TestPixels pixels = new TestPixels();
+        source.copyPixels(frame(1000), pixels, null, 0);
+        source.enqueuePixels(pixels);
+        source.copyPixels(frame(2000), pixels, new Rectangle[] { new Rectangle(5, 5, 3, 3) }, 1);
+        source.enqueuePixels(new TestPixels());
+
+        final int[] third = frame(3000);
+        source.copyPixels(third, pixels, new Rectangle[] { new Rectangle(0, 0, 1, 1) }, 1);
+        assertArrayEquals(third, pixels.getInts());
+    }
+}
@@ -0,0 +1,198 @@
+/*
+ * Copyright (c) 2018, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.prism.impl.ps;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class MaskCacheLRUTest {
+
+    private static final class Mask {
+        final String name;
+        final int pixels;
+
+        Mask(String name, int pixels) {
+            this.name = name;
+            this.pixels = pixels;
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+
+    private final List<Mask> evicted = new ArrayList<>();
+    private MaskCacheLRU<Mask> lru;
+
+    @Before
+    public void setUp() {
+        lru = new MaskCacheLRU<Mask>(100) {
+            @Override
+            int getPixels(Mask entry) {
+                return entry.pixels;
+            }
+
+            @Override
+            void evict(Mask entry) {
+                evicted.add(entry);
+            }
+        };
+    }
+
+    // See CachingShapeRepState.MaskCache.get
+    private Mask add(String name, int pixels) {
+        Mask mask = new Mask(name, pixels);
+        lru.makeRoom(pixels);
+        lru.add(mask);
+        return mask;
+    }
+
+    @Test
+    public void unusedEntryIsKeptAndCanBeReused() {
+        Mask a = add("a", 40);
+        lru.release(a);
+        assertEquals(40, lru.getTotalPixels());
+        assertEquals(40, lru.getUnusedPixels());
+        assertTrue(evicted.isEmpty());
+
+        lru.use(a);
+        assertEquals(40, lru.getTotalPixels());
+        assertEquals(0, lru.getUnusedPixels());
+
+        // a is referenced again, so it is not evicted to make room
+        add("b", 60);
+        add("c", 10);
+        assertTrue(evicted.isEmpty());
+        assertEquals(110, lru.getTotalPixels());
+    }
+
+    @Test
+    public void leastRecentlyUsedEntriesAreEvictedFirst() {
+        Mask a = add("a", 30);
+        Mask b = add("b", 30);
+        Mask c = add("c", 30);
+        lru.release(b);
+        lru.release(a);
+        lru.release(c);
+
+        add("d", 40);
+        assertEquals(Arrays.asList(b), evicted);
+        add("e", 50);
+        assertEquals(Arrays.asList(b, a, c), evicted);
+        assertEquals(90, lru.getTotalPixels());
+        assertEquals(0, lru.getUnusedPixels());
+    }
+
+    @Test
+    public void reusedEntryBecomesMostRecentlyUsed() {
+        Mask a = add("a", 30);
+        Mask b = add("b", 30);
+        Mask c = add("c", 30);
+        lru.release(a);
+        lru.release(b);
+        lru.release(c);
+        lru.use(a);
+        lru.release(a);
+
+        add("d", 40);
+        assertEquals(Arrays.asList(b), evicted);
+        add("e", 20);
+        assertEquals(Arrays.asList(b, c), evicted);
+    }
+
+    @Test
+    public void hasRoomCountsUnusedEntriesAsFree() {
+        Mask a = add("a", 60);
+        add("b", 30);
+        assertTrue(lru.hasRoom(10));
+        assertFalse(lru.hasRoom(11));
+
+        lru.release(a);
+        assertTrue(lru.hasRoom(70));
+        assertFalse(lru.hasRoom(71));
+    }
+
+    @Test
+    public void makeRoomStaysWithinBudget() {
+        List<Mask> masks = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            Mask mask = add("m" + i, 10);
+            masks.add(mask);
+            lru.release(mask);
+        }
+        assertEquals(100, lru.getTotalPixels());
+        assertTrue(evicted.isEmpty());
+
+        add("n", 25);
+        assertEquals(masks.subList(0, 3), evicted);
+        assertEquals(95, lru.getTotalPixels());
+        assertEquals(70, lru.getUnusedPixels());
+    }
+
+    @Test
+    public void makeRoomDoesNotEvictReferencedEntries() {
+        add("a", 60);
+        Mask b = add("b", 30);
+        lru.release(b);
+        lru.makeRoom(50);
+        assertEquals(Arrays.asList(b), evicted);
+        assertEquals(60, lru.getTotalPixels());
+        assertEquals(0, lru.getUnusedPixels());
+    }
+
+    @Test
+    public void releaseOverBudgetEvictsImmediately() {
+        Mask a = add("a", 60);
+        Mask b = add("b", 60);
+        assertEquals(120, lru.getTotalPixels());
+        lru.release(a);
+        assertEquals(Arrays.asList(a), evicted);
+        assertEquals(60, lru.getTotalPixels());
+        lru.release(b);
+        assertEquals(Arrays.asList(a), evicted);
+        assertEquals(60, lru.getUnusedPixels());
+    }
+
+    @Test
+    public void removedEntryIsNoLongerCounted() {
+        Mask a = add("a", 40);
+        Mask b = add("b", 20);
+        lru.release(a);
+        lru.remove(a);
+        lru.remove(b);
+        assertEquals(0, lru.getTotalPixels());
+        assertEquals(0, lru.getUnusedPixels());
+        add("c", 100);
+        assertTrue(evicted.isEmpty());
+    }
+}
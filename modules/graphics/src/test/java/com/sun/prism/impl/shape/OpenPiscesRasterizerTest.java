@@ -0,0 +1,176 @@
+/*
+ * Copyright (c) 2018, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.prism.impl.shape;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+import com.sun.javafx.geom.Ellipse2D;
+import com.sun.javafx.geom.Path2D;
+import com.sun.javafx.geom.RectBounds;
+import com.sun.javafx.geom.Rectangle;
+import com.sun.javafx.geom.RoundRectangle2D;
+import com.sun.javafx.geom.Shape;
+import com.sun.javafx.geom.transform.BaseTransform;
+import com.sun.openpisces.AlphaConsumer;
+import com.sun.openpisces.Renderer;
+import com.sun.prism.BasicStroke;
+import org.junit.Test;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class OpenPiscesRasterizerTest {
+
+    /**
+     * Accumulates the coverage of every pixel of each row, which is what
+     * the mask consumer of OpenPiscesRasterizer did before it used the
+     * touched spans.
+     */
+    private static final class RowConsumer implements AlphaConsumer {
+        private final int x, y, width, height;
+        private final byte[] alphas;
+        private byte[] alphaMap;
+
+        RowConsumer(int x, int y, int width, int height) {
+            this.x = x;
+            this.y = y;
+            this.width = width;
+            this.height = height;
+            this.alphas = new byte[width * height];
+        }
+
+        @Override public int getOriginX() { return x; }
+        @Override public int getOriginY() { return y; }
+        @Override public int getWidth() { return width; }
+        @Override public int getHeight() { return height; }
+
+        @Override
+        public void setMaxAlpha(int maxalpha) {
+            alphaMap = new byte[maxalpha+1];
+            for (int i = 0; i <= maxalpha; i++) {
+                alphaMap[i] = (byte) ((i*255 + maxalpha/2)/maxalpha);
+            }
+        }
+
+        @Override
+        public void setAndClearRelativeAlphas(int[] alphaDeltas, int pix_y,
+                                              int pix_from, int pix_to)
+        {
+            int off = (pix_y - y) * width;
+            int a = 0;
+            for (int i = 0; i < width; i++) {
+                a += alphaDeltas[i];
+                alphaDeltas[i] = 0;
+                alphas[off+i] = alphaMap[a];
+            }
+        }
+    }
+
+    private static byte[] rasterize(Shape shape, BasicStroke stroke,
+                                    BaseTransform tx, int[] bounds)
+    {
+        MaskData data = new OpenPiscesRasterizer().getMaskData(shape, stroke, null, tx, true, true);
+        bounds[0] = data.getOriginX();
+        bounds[1] = data.getOriginY();
+        bounds[2] = data.getWidth();
+        bounds[3] = data.getHeight();
+        ByteBuffer buf = data.getMaskBuffer();
+        byte[] alphas = new byte[data.getWidth() * data.getHeight()];
+        buf.rewind();
+        buf.get(alphas);
+        return alphas;
+    }
+
+    // See OpenPiscesRasterizer.getMaskData
+    private static byte[] rasterizeRows(Shape shape, BasicStroke stroke,
+                                        BaseTransform tx, int[] bounds)
+    {
+        if (stroke != null) {
+            shape = stroke.createStrokedShape(shape);
+        }
+        Rectangle rclip = new Rectangle((RectBounds) tx.transform(shape.getBounds(), new RectBounds()));
+        Renderer renderer = (shape instanceof Path2D)
+                ? OpenPiscesPrismUtils.setupRenderer((Path2D) shape, null, tx, rclip, true)
+                : OpenPiscesPrismUtils.setupRenderer(shape, null, tx, rclip, true);
+        RowConsumer consumer = new RowConsumer(renderer.getOutpixMinX(), renderer.getOutpixMinY(),
+                renderer.getOutpixMaxX() - renderer.getOutpixMinX(),
+                renderer.getOutpixMaxY() - renderer.getOutpixMinY());
+        renderer.produceAlphas(consumer);
+        bounds[0] = consumer.getOriginX();
+        bounds[1] = consumer.getOriginY();
+        bounds[2] = consumer.getWidth();
+        bounds[3] = consumer.getHeight();
+        return consumer.alphas;
+    }
+
+    private static void assertSameMask(Shape shape, BasicStroke stroke, BaseTransform tx) {
+        int[] rowBounds = new int[4];
+        int[] spanBounds = new int[4];
+        byte[] rowAlphas = rasterizeRows(shape, stroke, tx, rowBounds);
+        byte[] spanAlphas = rasterize(shape, stroke, tx, spanBounds);
+        assertArrayEquals(rowBounds, spanBounds);
+        assertArrayEquals(rowAlphas, spanAlphas);
+    }
+
+    @Test
+    public void spanBatchingMatchesRowLoopForSimpleShapes() {
+        BaseTransform tx = BaseTransform.getRotateInstance(0.3, 50, 50);
+        assertSameMask(new RoundRectangle2D(10.3f, 5.7f, 80, 40, 12, 12), null, BaseTransform.IDENTITY_TRANSFORM);
+        assertSameMask(new RoundRectangle2D(10.3f, 5.7f, 80, 40, 12, 12), null, tx);
+        assertSameMask(new Ellipse2D(3.5f, 2.25f, 60, 90), null, tx);
+        assertSameMask(new Ellipse2D(3.5f, 2.25f, 60, 90),
+                       new BasicStroke(3, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND, 10), tx);
+    }
+
+    @Test
+    public void spanBatchingMatchesRowLoopForRandomPaths() {
+        Random random = new Random(1);
+        for (int n = 0; n < 200; n++) {
+            Path2D path = new Path2D(random.nextBoolean() ? Path2D.WIND_EVEN_ODD : Path2D.WIND_NON_ZERO);
+            path.moveTo(random.nextFloat() * 100, random.nextFloat() * 100);
+            int segments = 2 + random.nextInt(8);
+            for (int i = 0; i < segments; i++) {
+                path.lineTo(random.nextFloat() * 100, random.nextFloat() * 100);
+            }
+            path.closePath();
+            assertSameMask(path, null, BaseTransform.IDENTITY_TRANSFORM);
+        }
+    }
+
+    @Test
+    public void rowsOutsideTheSpanAreTransparent() {
+        // A triangle leaves most of the bounding box uncovered in each row
+        Path2D path = new Path2D();
+        path.moveTo(0, 0);
+        path.lineTo(40, 20);
+        path.lineTo(0, 40);
+        path.closePath();
+        int[] bounds = new int[4];
+        byte[] alphas = rasterize(path, null, BaseTransform.IDENTITY_TRANSFORM, bounds);
+        int w = bounds[2];
+        assertEquals(0, alphas[2 * w + w - 1]);
+        assertEquals((byte) 0xff, alphas[20 * w + 10]);
+    }
+}
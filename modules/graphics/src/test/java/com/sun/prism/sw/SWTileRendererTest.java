@@ -0,0 +1,300 @@
+/*
+ * Copyright (c) 2018, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.prism.sw;
+
+import java.util.Arrays;
+import java.util.Random;
+import com.sun.glass.utils.NativeLibLoader;
+import com.sun.javafx.geom.Ellipse2D;
+import com.sun.javafx.geom.Path2D;
+import com.sun.javafx.geom.Point2D;
+import com.sun.javafx.geom.Rectangle;
+import com.sun.javafx.geom.RoundRectangle2D;
+import com.sun.javafx.geom.Shape;
+import com.sun.javafx.geom.transform.Affine2D;
+import com.sun.javafx.geom.transform.BaseTransform;
+import com.sun.pisces.JavaSurface;
+import com.sun.pisces.PiscesRenderer;
+import com.sun.pisces.RendererBase;
+import com.sun.prism.BasicStroke;
+import com.sun.prism.paint.Color;
+import com.sun.prism.paint.Gradient;
+import com.sun.prism.paint.LinearGradient;
+import com.sun.prism.paint.Paint;
+import com.sun.prism.paint.RadialGradient;
+import com.sun.prism.paint.Stop;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Draws the same operations directly to one surface and through a
+ * SWTileRenderer to another one, and checks that both end up with the
+ * same pixels.
+ */
+public class SWTileRendererTest {
+
+    private static final int WIDTH = 97;
+    private static final int HEIGHT = 83;
+    private static final int TILES = 3;
+
+    private static boolean nativeLoaded;
+
+    private SWContext context;
+    private int[] expected;
+    private PiscesRenderer pr;
+    private SWPaint swPaint;
+    private int[] actual;
+    private SWTileRenderer tiles;
+
+    @BeforeClass
+    public static void loadNativeLibrary() {
+        try {
+            NativeLibLoader.loadLibrary("prism_sw");
+            nativeLoaded = true;
+        } catch (UnsatisfiedLinkError e) {
+            nativeLoaded = false;
+        }
+    }
+
+    @Before
+    public void setUp() {
+        assumeTrue(nativeLoaded);
+        context = new SWContext(null);
+        expected = new int[WIDTH * HEIGHT];
+        final Random random = new Random(0);
+        for (int i = 0; i < expected.length; i++) {
+            // Valid premultiplied pixels, with some of them translucent
+            final int a = (i % 5 == 0) ? random.nextInt(256) : 0xff;
+            final int r = random.nextInt(a + 1);
+            final int g = random.nextInt(a + 1);
+            final int b = random.nextInt(a + 1);
+            expected[i] = (a << 24) | (r << 16) | (g << 8) | b;
+        }
+        actual = expected.clone();
+        pr = new PiscesRenderer(new JavaSurface(expected, RendererBase.TYPE_INT_ARGB_PRE, WIDTH, HEIGHT));
+        swPaint = new SWPaint(context, pr);
+        tiles = new SWTileRenderer(context,
+                new JavaSurface(actual, RendererBase.TYPE_INT_ARGB_PRE, WIDTH, HEIGHT), TILES);
+    }
+
+    private static Rectangle fullClip() {
+        return new Rectangle(0, 0, WIDTH, HEIGHT);
+    }
+
+    private static Paint linear(float x1, float y1, float x2, float y2, boolean proportional, int spread) {
+        return new LinearGradient(x1, y1, x2, y2, null, proportional, spread,
+                Arrays.asList(new Stop(new Color(1f, 0f, 0f, 1f), 0f),
+                              new Stop(new Color(0f, 0f, 1f, 0.5f), 0.6f),
+                              new Stop(new Color(0f, 1f, 0f, 1f), 1f)));
+    }
+
+    private static Paint radial(float cx, float cy, float r, boolean proportional, int spread) {
+        return new RadialGradient(cx, cy, 30f, 0.3f, r, null, proportional, spread,
+                Arrays.asList(new Stop(new Color(1f, 1f, 0f, 1f), 0f),
+                              new Stop(new Color(0f, 0.5f, 1f, 0.7f), 1f)));
+    }
+
+    // See SWGraphics.fillRect, the transform must only scale and translate
+    private void fillRect(Paint paint, BaseTransform tx, float x, float y, float width, float height,
+                          int compositeRule, float compositeAlpha, Rectangle clip)
+    {
+        final Point2D p1 = tx.transform(new Point2D(x, y), null);
+        final Point2D p2 = tx.transform(new Point2D(x + width, y + height), null);
+        final int px = (int) (Math.min(p1.x, p2.x) * SWUtils.TO_PISCES);
+        final int py = (int) (Math.min(p1.y, p2.y) * SWUtils.TO_PISCES);
+        final int pw = (int) (Math.abs(p2.x - p1.x) * SWUtils.TO_PISCES);
+        final int ph = (int) (Math.abs(p2.y - p1.y) * SWUtils.TO_PISCES);
+
+        pr.setClip(clip.x, clip.y, clip.width, clip.height);
+        pr.setCompositeRule(compositeRule);
+        swPaint.setCompositeAlpha(compositeAlpha);
+        swPaint.setPaintFromShape(paint, tx, null, null, x, y, width, height);
+        pr.fillRect(px, py, pw, ph);
+
+        tiles.fillRect(paint, tx, null, x, y, width, height, px, py, pw, ph,
+                       compositeRule, compositeAlpha, clip);
+    }
+
+    // See SWGraphics.paintShape
+    private void renderShape(Paint paint, BaseTransform tx, Shape shape, BasicStroke stroke,
+                             int compositeRule, float compositeAlpha, Rectangle clip,
+                             boolean antialiasedShape)
+    {
+        pr.setClip(clip.x, clip.y, clip.width, clip.height);
+        pr.setCompositeRule(compositeRule);
+        swPaint.setCompositeAlpha(compositeAlpha);
+        swPaint.setPaintFromShape(paint, tx, shape, null, 0, 0, 0, 0);
+        context.renderShape(pr, shape, stroke, tx, clip, antialiasedShape);
+
+        tiles.renderShape(paint, tx, null, shape, stroke, tx,
+                          compositeRule, compositeAlpha, clip, antialiasedShape);
+    }
+
+    private void assertSamePixels() {
+        assertSamePixels(0);
+    }
+
+    /**
+     * The tiles translate the paint transform to their own rows, which may
+     * round the fixed point gradient coordinates differently and pick the
+     * neighbouring entry of the gradient color table, so gradients are
+     * compared with a tolerance on each channel.
+     */
+    private void assertSamePixels(int tolerance) {
+        tiles.flush();
+        for (int y = 0; y < HEIGHT; y++) {
+            for (int x = 0; x < WIDTH; x++) {
+                final int i = y * WIDTH + x;
+                for (int shift = 0; shift < 32; shift += 8) {
+                    final int e = (expected[i] >> shift) & 0xff;
+                    final int a = (actual[i] >> shift) & 0xff;
+                    if (Math.abs(e - a) > tolerance) {
+                        assertEquals("pixel at " + x + ", " + y,
+                                     Integer.toHexString(expected[i]), Integer.toHexString(actual[i]));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testFillRect() {
+        final Affine2D tx = new Affine2D();
+        fillRect(new Color(1f, 0f, 0f, 1f), tx, 3.5f, 2.25f, 60f, 70.75f,
+                 RendererBase.COMPOSITE_SRC_OVER, 1f, fullClip());
+        fillRect(new Color(0f, 1f, 0.5f, 0.5f), tx, 20f, 10.5f, 70f, 60f,
+                 RendererBase.COMPOSITE_SRC_OVER, 0.75f, fullClip());
+        tx.setToScale(1.5, 1.25);
+        tx.translate(4.3, -2.1);
+        fillRect(new Color(0f, 0f, 1f, 0.3f), tx, 0f, 0f, 40f, 80f,
+                 RendererBase.COMPOSITE_SRC_OVER, 1f, new Rectangle(5, 17, 70, 40));
+        fillRect(new Color(0f, 0f, 0f, 0f), new Affine2D(), 50f, 0f, 13f, HEIGHT,
+                 RendererBase.COMPOSITE_CLEAR, 1f, fullClip());
+        fillRect(new Color(1f, 1f, 1f, 0.5f), new Affine2D(), 10f, 40f, 80f, 13.5f,
+                 RendererBase.COMPOSITE_SRC, 1f, fullClip());
+        assertSamePixels();
+    }
+
+    @Test
+    public void testFillRectGradients() {
+        final Affine2D tx = new Affine2D();
+        tx.translate(0.5, 1.5);
+        fillRect(linear(0f, 5f, 0f, 70f, false, Gradient.PAD), tx, 0f, 0f, WIDTH - 1, HEIGHT - 2,
+                 RendererBase.COMPOSITE_SRC_OVER, 1f, fullClip());
+        fillRect(linear(0f, 0f, 1f, 1f, true, Gradient.REFLECT), tx, 10f, 20f, 50f, 40f,
+                 RendererBase.COMPOSITE_SRC_OVER, 0.5f, fullClip());
+        fillRect(radial(0.5f, 0.5f, 0.25f, true, Gradient.REPEAT), tx, 30f, 5f, 60f, 70f,
+                 RendererBase.COMPOSITE_SRC_OVER, 1f, new Rectangle(0, 30, WIDTH, 20));
+        assertSamePixels(2);
+    }
+
+    @Test
+    public void testRenderShape() {
+        final Affine2D tx = new Affine2D();
+        renderShape(new Color(1f, 0f, 0f, 0.8f), tx, new Ellipse2D(5.5f, 3.25f, 80f, 75f), null,
+                    RendererBase.COMPOSITE_SRC_OVER, 1f, fullClip(), true);
+        renderShape(new Color(0f, 0f, 1f, 1f), tx, new RoundRectangle2D(10f, 12f, 70f, 60f, 15f, 25f),
+                    new BasicStroke(4.5f, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND, 10f),
+                    RendererBase.COMPOSITE_SRC_OVER, 0.6f, fullClip(), true);
+        final Path2D path = new Path2D(Path2D.WIND_EVEN_ODD);
+        path.moveTo(2f, 80f);
+        path.lineTo(48f, 1f);
+        path.lineTo(95f, 80f);
+        path.quadTo(48f, 20f, 2f, 40f);
+        path.curveTo(30f, 90f, 70f, -10f, 95f, 40f);
+        path.closePath();
+        tx.setToRotation(0.2, 48, 40);
+        renderShape(new Color(0f, 1f, 0f, 0.5f), tx, path, null,
+                    RendererBase.COMPOSITE_SRC_OVER, 1f, new Rectangle(3, 7, 90, 70), true);
+        renderShape(new Color(1f, 1f, 0f, 1f), tx, path,
+                    new BasicStroke(3f, BasicStroke.CAP_SQUARE, BasicStroke.JOIN_MITER, 4f,
+                                    new float[] { 7f, 3f }, 1.5f),
+                    RendererBase.COMPOSITE_SRC_OVER, 1f, fullClip(), false);
+        renderShape(new Color(0f, 0f, 0f, 0f), new Affine2D(), new Ellipse2D(30f, 20f, 40f, 50f), null,
+                    RendererBase.COMPOSITE_CLEAR, 1f, fullClip(), true);
+        assertSamePixels();
+    }
+
+    @Test
+    public void testRenderShapeTypedStrokes() {
+        final Affine2D tx = new Affine2D();
+        tx.scale(1.25, 0.9);
+        final Shape rect = new RoundRectangle2D(8f, 8f, 55f, 70f, 20f, 20f);
+        renderShape(new Color(0f, 0.5f, 1f, 1f), tx, rect,
+                    new BasicStroke(BasicStroke.TYPE_INNER, 6f, BasicStroke.CAP_BUTT, BasicStroke.JOIN_MITER, 10f),
+                    RendererBase.COMPOSITE_SRC_OVER, 1f, fullClip(), true);
+        renderShape(new Color(1f, 0.5f, 0f, 0.7f), tx, rect,
+                    new BasicStroke(BasicStroke.TYPE_OUTER, 5f, BasicStroke.CAP_BUTT, BasicStroke.JOIN_BEVEL, 10f),
+                    RendererBase.COMPOSITE_SRC_OVER, 1f, fullClip(), true);
+        assertSamePixels();
+    }
+
+    @Test
+    public void testRenderShapeGradients() {
+        final Affine2D tx = new Affine2D();
+        tx.translate(1.5, -0.5);
+        renderShape(linear(0f, 0f, 0f, 1f, true, Gradient.PAD), tx, new Ellipse2D(0f, 0f, WIDTH, HEIGHT), null,
+                    RendererBase.COMPOSITE_SRC_OVER, 1f, fullClip(), true);
+        renderShape(radial(48f, 40f, 20f, false, Gradient.REFLECT), tx,
+                    new RoundRectangle2D(10f, 10f, 75f, 65f, 30f, 10f),
+                    new BasicStroke(8f, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND, 10f),
+                    RendererBase.COMPOSITE_SRC_OVER, 0.9f, fullClip(), true);
+        assertSamePixels(2);
+    }
+
+    @Test
+    public void testMixedOperationsKeepOrder() {
+        final Affine2D tx = new Affine2D();
+        for (int i = 0; i < 12; i++) {
+            final float y = i * 7f - 5f;
+            if ((i & 1) == 0) {
+                fillRect(new Color(i / 12f, 0f, 1f - i / 12f, 0.6f), tx, i * 3f, y, 40f, 25f,
+                         RendererBase.COMPOSITE_SRC_OVER, 1f, fullClip());
+            } else {
+                renderShape(new Color(0f, i / 12f, 0f, 0.9f), tx, new Ellipse2D(90f - i * 6f, y, 30f, 30f), null,
+                            RendererBase.COMPOSITE_SRC_OVER, 1f, fullClip(), true);
+            }
+        }
+        assertSamePixels();
+    }
+
+    @Test
+    public void testFlushAfterDispose() {
+        fillRect(new Color(1f, 0f, 0f, 1f), new Affine2D(), 0f, 0f, WIDTH, HEIGHT,
+                 RendererBase.COMPOSITE_SRC, 1f, fullClip());
+        tiles.flush();
+        final int[] flushed = actual.clone();
+        tiles.dispose();
+        tiles.fillRect(new Color(0f, 1f, 0f, 1f), new Affine2D(), null, 0f, 0f, WIDTH, HEIGHT,
+                       0, 0, WIDTH * SWUtils.TO_PISCES, HEIGHT * SWUtils.TO_PISCES,
+                       RendererBase.COMPOSITE_SRC, 1f, fullClip());
+        tiles.flush();
+        assertEquals(Arrays.toString(flushed), Arrays.toString(actual));
+    }
+}
@@ -33,6 +33,7 @@ import com.sun.javafx.geom.transform.BaseTransform;
 import com.sun.javafx.geom.transform.Translate2D;
 import com.sun.javafx.pgstub.StubStage;
 import com.sun.javafx.pgstub.StubToolkit;
+import com.sun.javafx.scene.CssFlags;
 import com.sun.javafx.scene.DirtyBits;
 import com.sun.javafx.scene.input.PickResultChooser;
 import com.sun.javafx.sg.prism.NGGroup;
@@ -42,6 +43,7 @@ import com.sun.javafx.test.objects.TestScene;
 import com.sun.javafx.test.objects.TestStage;
 import com.sun.javafx.tk.Toolkit;
 import javafx.beans.property.*;
+import javafx.css.PseudoClass;
 import javafx.geometry.BoundingBox;
 import javafx.geometry.Bounds;
 import javafx.geometry.NodeOrientation;
@@ -49,6 +51,7 @@ import javafx.geometry.Point2D;
 import javafx.geometry.Point3D;
 import javafx.scene.effect.DropShadow;
 import javafx.scene.effect.Effect;
+import javafx.scene.paint.Color;
 import javafx.scene.shape.*;
 import javafx.scene.transform.Rotate;
 import javafx.scene.transform.Transform;
@@ -58,6 +61,7 @@ import org.junit.rules.ExpectedException;
 
 import java.lang.reflect.Method;
 import java.util.Comparator;
+import java.util.List;
 import javafx.scene.layout.AnchorPane;
 import javafx.scene.transform.Affine;
 import javafx.scene.transform.Scale;
@@ -1712,6 +1716,78 @@ public class NodeTest {
         assertEquals(100.0, scene.getWidth(), 0.00001);
     }
 
+    @Test
+    public void parallelCssShouldMatchSerialCss() {
+        final boolean parallelCss = Node.parallelCss;
+        Node.parallelCss = true;
+        try {
+            final Group outer = new Group();
+            outer.getStyleClass().add("outer");
+            for (int i = 0; i < 40; i++) {
+                final Group inner = new Group();
+                inner.getStyleClass().add("inner");
+                for (int j = 0; j < 30; j++) {
+                    final Rectangle rect = new Rectangle();
+                    rect.getStyleClass().add("rect");
+                    if (j % 2 == 0) rect.getStyleClass().add("b");
+                    inner.getChildren().add(rect);
+                }
+                outer.getChildren().add(inner);
+            }
+            final Group root = new Group(outer);
+            final Scene scene = new Scene(root);
+            scene.getStylesheets().add(
+                    NodeTest.class.getResource("NodeTest_parallelCss.css").toExternalForm());
+            root.applyCss();
+
+            for (Node inner : outer.getChildren()) {
+                final List<Node> rects = ((Group) inner).getChildren();
+                for (int j = 0; j < rects.size(); j++) {
+                    assertEquals(j % 2 == 0 ? Color.BLUE : Color.RED,
+                            ((Rectangle) rects.get(j)).getFill());
+                }
+            }
+
+            final Group hovered = (Group) outer.getChildren().get(3);
+            hovered.pseudoClassStateChanged(PseudoClass.getPseudoClass("hover"), true);
+            root.applyCss();
+
+            for (Node inner : outer.getChildren()) {
+                final List<Node> rects = ((Group) inner).getChildren();
+                for (int j = 0; j < rects.size(); j++) {
+                    final Color expected = inner == hovered ? Color.GREEN
+                            : j % 2 == 0 ? Color.BLUE : Color.RED;
+                    assertEquals(expected, ((Rectangle) rects.get(j)).getFill());
+                }
+            }
+        } finally {
+            Node.parallelCss = parallelCss;
+        }
+    }
+
+    @Test
+    public void pseudoClassChangeNotReferencedByCssShouldNotRequestCssUpdate() {
+        final Rectangle rect = new Rectangle();
+        rect.getStyleClass().add("rect");
+        final Group inner = new Group(rect);
+        inner.getStyleClass().add("inner");
+        final Group outer = new Group(inner);
+        outer.getStyleClass().add("outer");
+        final Scene scene = new Scene(new Group(outer));
+        scene.getStylesheets().add(
+                NodeTest.class.getResource("NodeTest_parallelCss.css").toExternalForm());
+        scene.getRoot().applyCss();
+
+        rect.pseudoClassStateChanged(PseudoClass.getPseudoClass("hover"), true);
+        assertEquals(CssFlags.CLEAN, ((Node) rect).cssFlag);
+
+        inner.pseudoClassStateChanged(PseudoClass.getPseudoClass("hover"), true);
+        assertEquals(CssFlags.UPDATE, inner.cssFlag);
+
+        scene.getRoot().applyCss();
+        assertEquals(Color.GREEN, rect.getFill());
+    }
+
     private Node createTestRect() {
         final Rectangle rect = new Rectangle() {
             @Override protected NGNode impl_createPeer() {
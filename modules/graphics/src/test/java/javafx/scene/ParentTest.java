@@ -29,6 +29,7 @@ import com.sun.javafx.pgstub.StubToolkit;
 import com.sun.javafx.sg.prism.NGGroup;
 import com.sun.javafx.tk.Toolkit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import javafx.scene.shape.Rectangle;
 import javafx.stage.Stage;
 import org.junit.After;
@@ -674,6 +675,28 @@ public class ParentTest {
         assertSame(scene, child.getChildren().get(3).getScene());
     }
 
+    @Test
+    public void prefHeightForWidthIsCachedUntilLayoutIsRequested() {
+        final AtomicInteger computed = new AtomicInteger();
+        final Parent parent = new MockParent(new Rectangle(100, 50)) {
+            @Override protected double computePrefHeight(double width) {
+                computed.incrementAndGet();
+                return width / 2;
+            }
+        };
+
+        assertEquals(50, parent.prefHeight(100), 1e-100);
+        assertEquals(50, parent.prefHeight(100), 1e-100);
+        assertEquals(1, computed.get());
+
+        assertEquals(100, parent.prefHeight(200), 1e-100);
+        assertEquals(2, computed.get());
+
+        parent.requestLayout();
+        assertEquals(100, parent.prefHeight(200), 1e-100);
+        assertEquals(3, computed.get());
+    }
+
     public static class MockParent extends Parent {
         public MockParent(Node... children) {
             getChildren().addAll(children);
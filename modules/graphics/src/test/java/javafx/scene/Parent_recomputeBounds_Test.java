@@ -576,6 +576,55 @@ public class Parent_recomputeBounds_Test {
         return new BoundingBox(minx, miny, maxx - minx, maxy - miny);
     }
 
+    @Test
+    public void shouldTrackBoundsOfManyChildren() {
+        final Group g = new Group();
+        final int count = 2 * Parent.BOUNDS_TREE_THRESHOLD;
+        final Rectangle[] rects = new Rectangle[count];
+        for (int i = 0; i < count; i++) {
+            rects[i] = new Rectangle(i * 10, 100, 5, 5);
+        }
+        g.getChildren().addAll(rects);
+        final Rectangle first = rects[0];
+        final Rectangle last = rects[count - 1];
+
+        assertBounds(g, 0, 100, (count - 1) * 10 + 5, 105);
+
+        // edge nodes moving inwards and outwards
+        first.setX(20);
+        last.setY(50);
+        assertBounds(g, 10, 50, (count - 1) * 10 + 5, 105);
+        rects[count / 2].setY(200);
+        assertBounds(g, 10, 50, (count - 1) * 10 + 5, 205);
+        rects[count / 2].setY(100);
+        last.setY(100);
+        assertBounds(g, 10, 100, (count - 1) * 10 + 5, 105);
+
+        // hiding, showing and removing edge nodes
+        last.setVisible(false);
+        assertBounds(g, 10, 100, (count - 2) * 10 + 5, 105);
+        last.setVisible(true);
+        assertBounds(g, 10, 100, (count - 1) * 10 + 5, 105);
+        g.getChildren().remove(last);
+        assertBounds(g, 10, 100, (count - 2) * 10 + 5, 105);
+        rects[1].setX(6000);
+        assertBounds(g, 20, 100, 6005, 105);
+
+        // back below the threshold
+        g.getChildren().remove(10, count - 1);
+        assertBounds(g, 20, 100, 6005, 105);
+        rects[1].setX(30);
+        assertBounds(g, 20, 100, 95, 105);
+    }
+
+    private static void assertBounds(Node node, double minX, double minY, double maxX, double maxY) {
+        final Bounds b = node.getBoundsInParent();
+        assertEquals(minX, b.getMinX(), 0.0001);
+        assertEquals(minY, b.getMinY(), 0.0001);
+        assertEquals(maxX, b.getMaxX(), 0.0001);
+        assertEquals(maxY, b.getMaxY(), 0.0001);
+    }
+
     private static Point2D rotatePoint(final double x, final double y,
                                        final double angle) {
         final double rada = Math.toRadians(angle);
@@ -29,6 +29,7 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
+import javafx.scene.layout.Pane;
 import javafx.scene.shape.Circle;
 import javafx.scene.shape.Rectangle;
 
@@ -226,5 +227,92 @@ public class PickAndContainsTest {
         assertFalse(r1.contains(pickX, pickY));
         assertFalse(r2.contains(pickX, pickY));
     }
-}
 
+    @Test
+    public void testScenePickingWithPickIndex() {
+        final boolean pickIndexEnabled = Parent.pickIndexEnabled;
+        Parent.pickIndexEnabled = true;
+        try {
+            Group root = new Group();
+            Rectangle background = new Rectangle(0, 0, 1000, 1000);
+            root.getChildren().add(background);
+            Rectangle[] rects = new Rectangle[400];
+            for (int i = 0; i < rects.length; i++) {
+                rects[i] = new Rectangle((i % 20) * 50, (i / 20) * 50, 40, 40);
+            }
+            root.getChildren().addAll(rects);
+            Scene scene = new Scene(root);
+
+            assertSame(rects[0], scene.test_pick(10, 10));
+            assertSame(rects[21], scene.test_pick(60, 60));
+            assertSame(background, scene.test_pick(45, 45));
+
+            // bounds change
+            rects[21].setTranslateX(5);
+            assertSame(rects[21], scene.test_pick(92, 60));
+            assertSame(rects[21], scene.test_pick(57, 60));
+            assertSame(background, scene.test_pick(52, 60));
+
+            // overlapping children are picked in reverse z-order
+            rects[22].setTranslateX(-30);
+            assertSame(rects[22], scene.test_pick(80, 60));
+            rects[22].setVisible(false);
+            assertSame(rects[21], scene.test_pick(80, 60));
+            rects[22].setVisible(true);
+            rects[21].toFront();
+            assertSame(rects[21], scene.test_pick(80, 60));
+
+            // the index gives the same results as testing every child
+            for (int i = 0; i < 100; i++) {
+                rects[i * 4].setTranslateY(i % 7 * 5);
+            }
+            for (int x = 0; x < 1000; x += 7) {
+                for (int y = 0; y < 1000; y += 7) {
+                    Parent.pickIndexEnabled = true;
+                    final Node indexed = scene.test_pick(x, y);
+                    Parent.pickIndexEnabled = false;
+                    assertSame(scene.test_pick(x, y), indexed);
+                }
+            }
+        } finally {
+            Parent.pickIndexEnabled = pickIndexEnabled;
+        }
+    }
+
+    @Test
+    public void testRegionPickingWithPickIndex() {
+        final boolean pickIndexEnabled = Parent.pickIndexEnabled;
+        try {
+            Pane root = new Pane();
+            root.resize(1000, 1000);
+            Rectangle[] rects = new Rectangle[400];
+            for (int i = 0; i < rects.length; i++) {
+                rects[i] = new Rectangle((i % 20) * 50, (i / 20) * 50, 40, 40);
+            }
+            root.getChildren().addAll(rects);
+            Scene scene = new Scene(root);
+
+            Parent.pickIndexEnabled = true;
+            assertSame(rects[0], scene.test_pick(10, 10));
+            assertSame(rects[21], scene.test_pick(60, 60));
+            // the region itself is picked where no child is hit
+            assertSame(root, scene.test_pick(45, 45));
+            assertTrue(((Parent) root).test_hasPickIndex());
+
+            rects[21].setTranslateX(5);
+            assertSame(rects[21], scene.test_pick(92, 60));
+            assertSame(root, scene.test_pick(52, 60));
+
+            for (int x = 0; x < 1000; x += 7) {
+                for (int y = 0; y < 1000; y += 7) {
+                    Parent.pickIndexEnabled = true;
+                    final Node indexed = scene.test_pick(x, y);
+                    Parent.pickIndexEnabled = false;
+                    assertSame(scene.test_pick(x, y), indexed);
+                }
+            }
+        } finally {
+            Parent.pickIndexEnabled = pickIndexEnabled;
+        }
+    }
+}
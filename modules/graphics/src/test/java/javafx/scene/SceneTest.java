@@ -28,6 +28,9 @@ package javafx.scene;
 import javafx.beans.value.ChangeListener;
 import javafx.beans.value.ObservableValue;
 import javafx.concurrent.Task;
+import javafx.css.CssMetaData;
+import javafx.css.Styleable;
+import javafx.scene.layout.Region;
 import javafx.scene.layout.StackPane;
 import javafx.scene.layout.TilePane;
 import javafx.scene.layout.VBox;
@@ -51,7 +54,11 @@ import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static junit.framework.Assert.assertEquals;
 import static junit.framework.Assert.assertNotNull;
@@ -683,6 +690,141 @@ public class SceneTest {
         scene.setCamera(camera);
     }
 
+    @Test
+    public void testPrepareAppliesCssAndLayoutOffThread() throws Exception {
+        final Scene scene = new Scene(new Group(), 300, 200);
+        scene.getStylesheets().add(
+                SceneTest.class.getResource("SceneTest_prepare.css").toExternalForm());
+        final Region child = new Region();
+        child.getStyleClass().add("prepared");
+        final StackPane pane = new StackPane(child);
+
+        final List<String> stylesheets = new ArrayList<>(scene.getStylesheets());
+        final String userAgentStylesheet = scene.getUserAgentStylesheet();
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        final Thread thread = new Thread(() -> {
+            try {
+                Scene.prepare(pane, stylesheets, userAgentStylesheet);
+            } catch (Throwable t) {
+                failure.set(t);
+            }
+        });
+        thread.start();
+        thread.join();
+
+        assertNull(failure.get());
+        assertNull(pane.getScene());
+        assertNull(pane.getParent());
+        assertFalse(pane.getStyleClass().contains("root"));
+        assertEquals(40, child.getPrefWidth(), 0);
+        assertEquals(40, child.getWidth(), 0);
+        assertEquals(30, pane.getHeight(), 0);
+
+        ((Group) scene.getRoot()).getChildren().add(pane);
+        scene.getRoot().applyCss();
+        assertEquals(40, child.getPrefWidth(), 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testPrepareAttachedNodeThrows() {
+        final StackPane pane = new StackPane();
+        new Scene(new Group(pane));
+        Scene.prepare(pane, Collections.<String>emptyList(), null);
+    }
+
+    private static class CssCountingRegion extends Region {
+        int matched;
+        int styled;
+
+        // only called to match selectors against this node
+        @Override public String getTypeSelector() {
+            matched++;
+            return super.getTypeSelector();
+        }
+
+        // only called to create a style helper or calculate styles
+        @Override public List<CssMetaData<? extends Styleable, ?>> getCssMetaData() {
+            styled++;
+            return super.getCssMetaData();
+        }
+    }
+
+    private Scene createPrepareScene(String... stylesheets) {
+        final Scene scene = new Scene(new Group(), 300, 200);
+        for (String stylesheet : stylesheets) {
+            scene.getStylesheets().add(
+                    SceneTest.class.getResource(stylesheet).toExternalForm());
+        }
+        return scene;
+    }
+
+    @Test
+    public void testPreparedRootKeepsCssStateWhenSetAsRoot() {
+        final Scene scene = createPrepareScene("SceneTest_prepare.css");
+        final CssCountingRegion child = new CssCountingRegion();
+        child.getStyleClass().add("prepared");
+        final StackPane pane = new StackPane(child);
+
+        Scene.prepare(pane, new ArrayList<>(scene.getStylesheets()), scene.getUserAgentStylesheet());
+        assertTrue(child.matched > 0);
+        assertEquals(40, child.getPrefWidth(), 0);
+
+        stage.setScene(scene);
+        Toolkit.getToolkit().firePulse();
+
+        // a pulse styles whatever is dirty; the prepared tree must not be
+        child.matched = child.styled = 0;
+        scene.setRoot(pane);
+        Toolkit.getToolkit().firePulse();
+
+        assertEquals(0, child.matched);
+        assertEquals(0, child.styled);
+        assertEquals(40, child.getPrefWidth(), 0);
+        assertEquals(1, Collections.frequency(pane.getStyleClass(), "root"));
+
+        // the kept state is live: a later change is styled as usual
+        child.getStyleClass().add("wide");
+        Toolkit.getToolkit().firePulse();
+        assertTrue(child.matched > 0);
+        assertEquals(50, child.getPrefWidth(), 0);
+    }
+
+    @Test
+    public void testPreparedRootReappliesCssForOtherStylesheets() {
+        final Scene scene = createPrepareScene("SceneTest_prepare.css");
+        final CssCountingRegion child = new CssCountingRegion();
+        child.getStyleClass().addAll("prepared", "wide");
+        final StackPane pane = new StackPane(child);
+
+        Scene.prepare(pane, Collections.<String>emptyList(), null);
+        assertEquals(Region.USE_COMPUTED_SIZE, child.getPrefWidth(), 0);
+
+        child.matched = child.styled = 0;
+        scene.setRoot(pane);
+        scene.getRoot().applyCss();
+
+        assertTrue(child.matched > 0);
+        assertEquals(50, child.getPrefWidth(), 0);
+    }
+
+    @Test
+    public void testPreparedRootReappliesCssWhenModified() {
+        final Scene scene = createPrepareScene("SceneTest_prepare.css");
+        final CssCountingRegion child = new CssCountingRegion();
+        child.getStyleClass().add("prepared");
+        final StackPane pane = new StackPane(child);
+
+        Scene.prepare(pane, new ArrayList<>(scene.getStylesheets()), scene.getUserAgentStylesheet());
+        child.getStyleClass().add("wide");
+
+        child.matched = child.styled = 0;
+        scene.setRoot(pane);
+        scene.getRoot().applyCss();
+
+        assertTrue(child.matched > 0);
+        assertEquals(50, child.getPrefWidth(), 0);
+    }
+
     @Test
     public void testCameraUpdatesPG() {
         Scene scene = new Scene(new Group(), 300, 200);